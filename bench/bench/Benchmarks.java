@@ -0,0 +1,31 @@
+package bench;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ponto de entrada do {@code benchmarks.jar}. Repassa os argumentos para o JMH e, se nenhum formato de
+ * resultado for informado, grava os resultados em JSON ({@code jmh-result.json}) para que possam ser
+ * comparados entre execuções.
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add(0, "-rf");
+            options.add(1, "json");
+            if (!options.contains("-rff")) {
+                options.add(2, "-rff");
+                options.add(3, "jmh-result.json");
+            }
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,62 @@
+package bench;
+
+import dom.LifeEngine;
+import dom.Rule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara uma geração de cada motor de simulação com o mesmo tamanho, layout, regra e população inicial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+    @Param({ "grid", "bits", "hashlife", "sparse" })
+    public String engine;
+
+    @Param({ "100", "500", "2000" })
+    public int size;
+
+    @Param({ "3" })
+    public int layout;
+
+    @Param({ "rnd", "gosper" })
+    public String population;
+
+    @Param({ "1" })
+    public int threads;
+
+    @Param({ "B3/S23" })
+    public String rule;
+
+    private LifeEngine grid;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        grid = Populations.create(engine, size, population);
+        grid.setParallelism(threads);
+        grid.setRule(Rule.parse(rule));
+    }
+
+    @Benchmark
+    public LifeEngine updateGrid() {
+        grid.updateGrid(layout);
+        return grid;
+    }
+}
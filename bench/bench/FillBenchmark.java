@@ -0,0 +1,69 @@
+package bench;
+
+import dom.BitGrid;
+import dom.Grid;
+import dom.LifeEngine;
+import dom.SparseGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a geração de uma população aleatória com semente ({@code seed} e {@code density}) por motor,
+ * tamanho, densidade e número de threads. O motor é criado uma vez por iteração e preenchido de novo a
+ * cada chamada.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FillBenchmark {
+    @Param({ "grid", "bits", "sparse" })
+    public String engine;
+
+    @Param({ "500", "2000" })
+    public int size;
+
+    @Param({ "0.5", "0.3" })
+    public double density;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private LifeEngine grid;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        grid = switch (engine) {
+            case "bits" -> new BitGrid(size, size);
+            case "sparse" -> new SparseGrid(size, size);
+            default -> new Grid(size, size);
+        };
+        grid.setParallelism(threads);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        grid.setParallelism(1);
+    }
+
+    @Benchmark
+    public LifeEngine fill() {
+        grid.generateRandomPopulation(Populations.SEED, density);
+        return grid;
+    }
+}
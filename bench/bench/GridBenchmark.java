@@ -0,0 +1,64 @@
+package bench;
+
+import dom.Grid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede os caminhos críticos do motor original, {@link Grid}: uma geração completa
+ * ({@link Grid#updateGrid(int)}) e a contagem de vizinhos de todas as células
+ * ({@link Grid#getNeighbors(int, int, int)}). A grade é recriada a cada iteração para que todas meçam
+ * populações parecidas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+    @Param({ "100", "500", "1000" })
+    public int size;
+
+    @Param({ "1", "2", "3", "4", "5" })
+    public int layout;
+
+    @Param({ "rnd", "gosper" })
+    public String population;
+
+    private Grid grid;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        grid = (Grid) Populations.create("grid", size, population);
+    }
+
+    @Benchmark
+    public Grid updateGrid() {
+        grid.updateGrid(layout);
+        return grid;
+    }
+
+    @Benchmark
+    public int getNeighbors() {
+        int total = 0;
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                total += grid.getNeighbors(x, y, layout);
+            }
+        }
+        return total;
+    }
+}
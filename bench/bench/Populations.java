@@ -0,0 +1,68 @@
+package bench;
+
+import dom.BitGrid;
+import dom.Grid;
+import dom.HashLife;
+import dom.LifeEngine;
+import dom.SparseGrid;
+
+/**
+ * População inicial comum a todos os benchmarks: uma sopa aleatória ({@code "rnd"}, 50% de células vivas,
+ * sempre com a mesma semente, para que as medições possam ser repetidas) ou um padrão fixo ({@code "gosper"}, o canhão de planadores de Gosper centralizado), que mantém uma
+ * densidade baixa e estável.
+ */
+public final class Populations {
+    /**
+     * Semente da sopa aleatória.
+     */
+    public static final long SEED = 1;
+
+    /**
+     * Canhão de planadores de Gosper (36x9), no formato do parâmetro {@code p}.
+     */
+    public static final String GOSPER = "000000000000000000000000100000000000#"
+            + "000000000000000000000010100000000000#"
+            + "000000000000110000001100000000000011#"
+            + "000000000001000100001100000000000011#"
+            + "110000000010000010001100000000000000#"
+            + "110000000010001011000010100000000000#"
+            + "000000000010000010000000100000000000#"
+            + "000000000001000100000000000000000000#"
+            + "000000000000110000000000000000000000";
+
+    private Populations() {
+    }
+
+    /**
+     * Cria um motor quadrado com a população informada.
+     *
+     * @param engine     o nome do motor, como no parâmetro {@code e}.
+     * @param size       o número de linhas e de colunas.
+     * @param population {@code "rnd"} ou {@code "gosper"}.
+     * @return o motor pronto para a primeira geração.
+     */
+    public static LifeEngine create(String engine, int size, String population) {
+        LifeEngine grid = switch (engine) {
+            case "bits" -> new BitGrid(size, size);
+            case "hashlife" -> new HashLife(size, size, 256);
+            case "sparse" -> new SparseGrid(size, size);
+            default -> new Grid(size, size);
+        };
+        fill(grid, population);
+        return grid;
+    }
+
+    /**
+     * Carrega a população informada em um motor vazio.
+     *
+     * @param grid       o motor.
+     * @param population {@code "rnd"} ou {@code "gosper"}.
+     */
+    public static void fill(LifeEngine grid, String population) {
+        if (population.equals("rnd")) {
+            grid.generateRandomPopulation(SEED, 0.5);
+        } else {
+            grid.initializeGrid(GOSPER);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package render;
+
+import bench.Populations;
+import dom.LifeEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o desenho do {@link SwingRenderer} fora da tela, em um {@link BufferedImage}, sem abrir janelas.
+ * <ul>
+ * <li>{@code paint}: um {@code paintComponent} completo do frame atual.</li>
+ * <li>{@code nextFrame}: o caminho de uma geração nova até a tela (avançar o motor, fotografar, publicar,
+ * comparar com o frame exibido e redesenhar).</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param({ "100", "500", "2000", "8000" })
+    public int size;
+
+    @Param({ "cells", "raster" })
+    public String renderer;
+
+    @Param({ "rnd", "gosper" })
+    public String population;
+
+    @Param({ "true", "false" })
+    public boolean gridlines;
+
+    private LifeEngine grid;
+    private FrameExchange frames;
+    private SwingRenderer panel;
+    private BufferedImage target;
+    private Graphics2D graphics;
+    private long generation;
+
+    @Setup
+    public void setUp() {
+        grid = Populations.create("bits", size, population);
+        frames = new FrameExchange(size, size);
+        panel = new SwingRenderer(frames, renderer.equals("raster"), gridlines);
+        panel.setSize(panel.getPreferredSize());
+        target = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+        graphics = target.createGraphics();
+        publish();
+        panel.refresh();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paint() {
+        panel.paint(graphics);
+        return target;
+    }
+
+    @Benchmark
+    public BufferedImage nextFrame() {
+        grid.updateGrid(3);
+        publish();
+        panel.refresh();
+        panel.paint(graphics);
+        return target;
+    }
+
+    private void publish() {
+        grid.snapshot(frames.back(), 0, 0);
+        frames.back().setGeneration(generation++);
+        frames.publish();
+    }
+}
@@ -1,7 +1,10 @@
 package app;
 
 import config.GameOfLifeConfig;
+import util.BatchRunner;
 import util.GameOfLifeRunner;
+import util.HeadlessRunner;
+import util.ReplayRunner;
 
 /**
  * A classe {@code GameOfLife} é a aplicação principal do jogo Game of Life. Ela processa os parâmetros
@@ -23,7 +26,10 @@ public class GameOfLife {
      * O método processa os parâmetros fornecidos na linha de comando no formato chave=valor e os passa
      * para a classe {@code GameOfLifeConfig} para configurar o jogo. Após a configuração, o método cria
      * uma instância de {@code GameOfLifeRunner} e chama o método {@code run()} para iniciar a execução
-     * da simulação.
+     * da simulação. Com {@code mode=headless}, a simulação roda sem interface gráfica pela classe
+     * {@code HeadlessRunner}, e o AWT nunca é carregado. Com {@code replay}, uma gravação é revista pela
+     * classe {@code ReplayRunner}, sem simular, e com {@code mode=batch} uma varredura de simulações
+     * independentes é executada pela classe {@code BatchRunner}, também sem AWT.
      * </p>
      *
      * @param args os parâmetros de linha de comando no formato chave=valor para configurar o jogo,
@@ -31,6 +37,25 @@ public class GameOfLife {
      */
     public static void main(String[] args) {
         GameOfLifeConfig config = new GameOfLifeConfig(args);
+        if (!config.getReplayPath().isEmpty()) {
+            if (config.getMode().equals("headless")) {
+                System.setProperty("java.awt.headless", "true");
+            }
+            new ReplayRunner(config).run();
+            return;
+        }
+        if (config.getMode().equals("headless")) {
+            System.setProperty("java.awt.headless", "true");
+            new HeadlessRunner(config).run();
+            return;
+        }
+        if (config.getMode().equals("batch")) {
+            System.setProperty("java.awt.headless", "true");
+            if (!new BatchRunner(config).run()) {
+                System.exit(1);
+            }
+            return;
+        }
         GameOfLifeRunner runner = new GameOfLifeRunner(config);
         runner.run();
     }
@@ -1,8 +1,15 @@
 package config;
 
+import dom.Checkpoint;
 import dom.Grid;
+import dom.PatternLoader;
+import dom.Rule;
 import util.Check;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -29,7 +36,42 @@ public class GameOfLifeConfig {
     private int generations = 0;
     private int speed = 1000;
     private int layout = 3;
+    private String engine = "grid";
+    private String boundary = "dead";
+    private Rule rule = Rule.CONWAY;
+    private int threads = 1;
+    private int interval = 1;
+    private int memoryLimit = 256;
+    private int universeWidth = 0;
+    private int universeHeight = 0;
+    private String renderer = "cells";
+    private boolean gridlines = true;
+    private String mode = "gui";
+    private String output = "text";
+    private int generationsPerSecond = 0;
+    private boolean unlimited = false;
+    private int fps = 60;
+    private int lookAhead = 16;
+    private int cyclePeriod = 0;
+    private boolean cycleStop = false;
+    private boolean metrics = false;
+    private int metricsInterval = 0;
+    private String savePath = "";
+    private int saveInterval = 0;
+    private Checkpoint checkpoint;
+    private String patternFile = "";
+    private String recordPath = "";
+    private int keyframeInterval = 100;
+    private String replayPath = "";
+    private long replayFrom = -1;
+    private int[] sweepWidths, sweepHeights;
+    private long[] sweepLayouts, sweepSeeds, sweepGenerations;
+    private String csvPath = "";
     private StringBuilder population = new StringBuilder();
+    private long seed;
+    private boolean seeded = false;
+    private boolean ruleGiven = false;
+    private double density = 0.5;
     Random rand = new Random();
 
     /**
@@ -69,23 +111,23 @@ public class GameOfLifeConfig {
                 // Processar parâmetros via linha de comando
                 switch (key) {
                     case "w":
-                        // Allow width between 10 and 500
-                        width = check.validateRange(value, 10, 500);
+                        // Allow width between 10 and 10000 (the viewport pans and zooms over grids larger than the window)
+                        width = check.validateRange(value, 10, 10000);
                         if (check.isPresentValue(width)) {
                             System.out.println("width = " + width);
                             missingParams.remove("width");
                         } else {
-                            System.err.println("width = invalid | please type a value between 10 and 500.");
+                            System.err.println("width = invalid | please type a value between 10 and 10000.");
                         }
                         break;
                     case "h":
-                        // Allow height between 10 and 500
-                        height = check.validateRange(value, 10, 500);
+                        // Allow height between 10 and 10000 (the viewport pans and zooms over grids larger than the window)
+                        height = check.validateRange(value, 10, 10000);
                         if (check.isPresentValue(height)) {
                             System.out.println("height = " + height);
                             missingParams.remove("height");
                         } else {
-                            System.err.println("height = invalid | please type a value between 10 and 500.");
+                            System.err.println("height = invalid | please type a value between 10 and 10000.");
                         }
                         break;
                     case "g":
@@ -116,6 +158,316 @@ public class GameOfLifeConfig {
                             System.err.println("neighborhood = invalid | please type a number between 1 and 5.");
                         }
                         break;
+                    case "e":
+                        String selected = check.validateOption(value, "grid", "bits", "vector", "hashlife", "sparse", "mapped");
+                        if (selected != null) {
+                            engine = selected;
+                            System.out.println("engine = " + engine);
+                        } else {
+                            System.err.println("engine = invalid | please type one of: grid, bits, vector, hashlife, sparse, mapped.");
+                        }
+                        break;
+                    case "b":
+                        String edge = check.validateOption(value, "dead", "torus");
+                        if (edge != null) {
+                            boundary = edge;
+                            System.out.println("boundary = " + boundary);
+                        } else {
+                            System.err.println("boundary = invalid | please type dead or torus.");
+                        }
+                        break;
+                    case "rule":
+                        try {
+                            rule = Rule.parse(value);
+                            ruleGiven = true;
+                            System.out.println("rule = " + rule);
+                        } catch (IllegalArgumentException e) {
+                            System.err.println("rule = invalid | please type a rule in B/S notation, like B3/S23 or B36/S23.");
+                        }
+                        break;
+                    case "t":
+                        int parsedThreads = check.validateRange(value, 1, 256);
+                        if (parsedThreads > 0) {
+                            threads = parsedThreads;
+                            System.out.println("threads = " + threads);
+                        } else {
+                            System.err.println("threads = invalid | please type a number between 1 and 256.");
+                        }
+                        break;
+                    case "i":
+                        int parsedInterval = check.validateRange(value, 1, Integer.MAX_VALUE);
+                        if (parsedInterval > 0) {
+                            interval = parsedInterval;
+                            System.out.println("interval = every " + interval + " generation(s)");
+                        } else {
+                            System.err.println("interval = invalid | please type a positive number.");
+                        }
+                        break;
+                    case "m":
+                        int parsedMemory = check.validateRange(value, 16, 65536);
+                        if (parsedMemory > 0) {
+                            memoryLimit = parsedMemory;
+                            System.out.println("memory limit = " + memoryLimit + " MB");
+                        } else {
+                            System.err.println("memory limit = invalid | please type a number between 16 and 65536 (MB).");
+                        }
+                        break;
+                    case "uw":
+                        int parsedUniverseWidth = check.validateRange(value, 10, 1_000_000);
+                        if (parsedUniverseWidth > 0) {
+                            universeWidth = parsedUniverseWidth;
+                            System.out.println("universe width = " + universeWidth);
+                        } else {
+                            System.err.println("universe width = invalid | please type a value between 10 and 1000000.");
+                        }
+                        break;
+                    case "uh":
+                        int parsedUniverseHeight = check.validateRange(value, 10, 1_000_000);
+                        if (parsedUniverseHeight > 0) {
+                            universeHeight = parsedUniverseHeight;
+                            System.out.println("universe height = " + universeHeight);
+                        } else {
+                            System.err.println("universe height = invalid | please type a value between 10 and 1000000.");
+                        }
+                        break;
+                    case "r":
+                        String selectedRenderer = check.validateOption(value, "cells", "raster");
+                        if (selectedRenderer != null) {
+                            renderer = selectedRenderer;
+                            System.out.println("renderer = " + renderer);
+                        } else {
+                            System.err.println("renderer = invalid | please type one of: cells, raster.");
+                        }
+                        break;
+                    case "gl":
+                        String selectedGridlines = check.validateOption(value, "on", "off");
+                        if (selectedGridlines != null) {
+                            gridlines = selectedGridlines.equals("on");
+                            System.out.println("gridlines = " + selectedGridlines);
+                        } else {
+                            System.err.println("gridlines = invalid | please type on or off.");
+                        }
+                        break;
+                    case "mode":
+                        String selectedMode = check.validateOption(value, "gui", "headless", "batch");
+                        if (selectedMode != null) {
+                            mode = selectedMode;
+                            System.out.println("mode = " + mode);
+                        } else {
+                            System.err.println("mode = invalid | please type gui, headless or batch.");
+                        }
+                        break;
+                    case "out":
+                        String selectedOutput = check.validateOption(value, "text", "json");
+                        if (selectedOutput != null) {
+                            output = selectedOutput;
+                            System.out.println("output = " + output);
+                        } else {
+                            System.err.println("output = invalid | please type text or json.");
+                        }
+                        break;
+                    case "gps":
+                        if (value.equalsIgnoreCase("max")) {
+                            unlimited = true;
+                            System.out.println("generations per second = unlimited");
+                            break;
+                        }
+                        int parsedRate = check.validateRange(value, 1, 1_000_000);
+                        if (parsedRate > 0) {
+                            generationsPerSecond = parsedRate;
+                            unlimited = false;
+                            System.out.println("generations per second = " + generationsPerSecond);
+                        } else {
+                            System.err.println("gps = invalid | please type a number between 1 and 1000000, or max.");
+                        }
+                        break;
+                    case "fps":
+                        int parsedFps = check.validateRange(value, 1, 240);
+                        if (parsedFps > 0) {
+                            fps = parsedFps;
+                            System.out.println("fps = " + fps);
+                        } else {
+                            System.err.println("fps = invalid | please type a number between 1 and 240.");
+                        }
+                        break;
+                    case "ahead":
+                        int parsedAhead = check.validateRange(value, 1, 1024);
+                        if (parsedAhead > 0) {
+                            lookAhead = parsedAhead;
+                            System.out.println("look-ahead = " + lookAhead + " frame(s)");
+                        } else {
+                            System.err.println("ahead = invalid | please type a number of frames between 1 and 1024.");
+                        }
+                        break;
+                    case "cycle":
+                        int parsedPeriod = check.validateRange(value, 1, 10000);
+                        if (parsedPeriod > 0) {
+                            cyclePeriod = parsedPeriod;
+                            System.out.println("cycle detection = up to period " + cyclePeriod);
+                        } else {
+                            System.err.println("cycle = invalid | please type a period between 1 and 10000.");
+                        }
+                        break;
+                    case "cstop":
+                        String selectedStop = check.validateOption(value, "on", "off");
+                        if (selectedStop != null) {
+                            cycleStop = selectedStop.equals("on");
+                            System.out.println("stop on cycle = " + selectedStop);
+                        } else {
+                            System.err.println("cstop = invalid | please type on or off.");
+                        }
+                        break;
+                    case "metrics":
+                        String selectedMetrics = check.validateOption(value, "on", "off");
+                        if (selectedMetrics != null) {
+                            metrics = selectedMetrics.equals("on");
+                            System.out.println("metrics = " + selectedMetrics);
+                        } else {
+                            System.err.println("metrics = invalid | please type on or off.");
+                        }
+                        break;
+                    case "mi":
+                        int parsedMetricsInterval = check.validateRange(value, 1, 3600);
+                        if (parsedMetricsInterval > 0) {
+                            metricsInterval = parsedMetricsInterval;
+                            System.out.println("metrics log = every " + metricsInterval + " s");
+                        } else {
+                            System.err.println("metrics log = invalid | please type a number between 1 and 3600 (s).");
+                        }
+                        break;
+                    case "f":
+                        if (Files.isReadable(Path.of(value))) {
+                            patternFile = value;
+                            System.out.println("pattern file = " + patternFile);
+                            missingParams.remove("population");
+                        } else {
+                            System.err.println("f = invalid | please type the path of a readable RLE or Life 1.06 file.");
+                        }
+                        break;
+                    case "save":
+                        savePath = value;
+                        System.out.println("checkpoint file = " + savePath);
+                        break;
+                    case "si":
+                        int parsedSaveInterval = check.validateRange(value, 1, Integer.MAX_VALUE);
+                        if (parsedSaveInterval > 0) {
+                            saveInterval = parsedSaveInterval;
+                            System.out.println("checkpoint interval = every " + saveInterval + " generation(s)");
+                        } else {
+                            System.err.println("si = invalid | please type a positive number of generations.");
+                        }
+                        break;
+                    case "restore":
+                        try {
+                            checkpoint = Checkpoint.read(Path.of(value));
+                            System.out.println("restore = " + value + " (generation " + checkpoint.getGeneration()
+                                    + ", " + checkpoint.getPopulation() + " cells)");
+                        } catch (IOException | RuntimeException e) {
+                            System.err.println("restore = invalid | could not read the checkpoint: " + e.getMessage());
+                        }
+                        break;
+                    case "record":
+                        recordPath = value;
+                        System.out.println("recording file = " + recordPath);
+                        break;
+                    case "ki":
+                        int parsedKeyframes = check.validateRange(value, 1, 1_000_000);
+                        if (parsedKeyframes > 0) {
+                            keyframeInterval = parsedKeyframes;
+                            System.out.println("keyframe interval = every " + keyframeInterval + " generation(s)");
+                        } else {
+                            System.err.println("ki = invalid | please type a number between 1 and 1000000.");
+                        }
+                        break;
+                    case "replay":
+                        if (Files.isReadable(Path.of(value))) {
+                            replayPath = value;
+                            System.out.println("replay = " + replayPath);
+                            missingParams.remove("width");
+                            missingParams.remove("height");
+                            missingParams.remove("layout");
+                            missingParams.remove("population");
+                        } else {
+                            System.err.println("replay = invalid | please type the path of a readable recording.");
+                        }
+                        break;
+                    case "from":
+                        int parsedFrom = check.generations(value);
+                        if (parsedFrom >= 0) {
+                            replayFrom = parsedFrom;
+                            System.out.println("replay from generation " + replayFrom);
+                        } else {
+                            System.err.println("from = invalid | please type a generation number.");
+                        }
+                        break;
+                    case "sizes":
+                        String[] sizes = value.split(",");
+                        int[] widths = new int[sizes.length], heights = new int[sizes.length];
+                        boolean validSizes = true;
+                        for (int k = 0; k < sizes.length; k++) {
+                            String[] dims = sizes[k].trim().toLowerCase().split("x", 2);
+                            widths[k] = check.validateRange(dims[0], 10, 10000);
+                            heights[k] = dims.length == 2 ? check.validateRange(dims[1], 10, 10000) : widths[k];
+                            validSizes &= widths[k] > 0 && heights[k] > 0;
+                        }
+                        if (validSizes) {
+                            sweepWidths = widths;
+                            sweepHeights = heights;
+                            System.out.println("sweep sizes = " + value);
+                        } else {
+                            System.err.println("sizes = invalid | please type sizes as WxH or N (10 to 10000), separated by commas.");
+                        }
+                        break;
+                    case "layouts":
+                        long[] parsedLayouts = check.validateList(value, 1, 5);
+                        if (parsedLayouts != null) {
+                            sweepLayouts = parsedLayouts;
+                            System.out.println("sweep layouts = " + value);
+                        } else {
+                            System.err.println("layouts = invalid | please type layouts between 1 and 5, like 1,3 or 1-5.");
+                        }
+                        break;
+                    case "seeds":
+                        long[] parsedSeeds = check.validateList(value, Long.MIN_VALUE, Long.MAX_VALUE);
+                        if (parsedSeeds != null) {
+                            sweepSeeds = parsedSeeds;
+                            System.out.println("sweep seeds = " + value + " (" + sweepSeeds.length + " seeds)");
+                        } else {
+                            System.err.println("seeds = invalid | please type seeds like 1,2,3 or 1-1000.");
+                        }
+                        break;
+                    case "gens":
+                        long[] parsedGenerations = check.validateList(value, 1, Integer.MAX_VALUE);
+                        if (parsedGenerations != null) {
+                            sweepGenerations = parsedGenerations;
+                            System.out.println("sweep generations = " + value);
+                        } else {
+                            System.err.println("gens = invalid | please type positive generation counts, like 500,1000.");
+                        }
+                        break;
+                    case "csv":
+                        csvPath = value;
+                        System.out.println("csv file = " + csvPath);
+                        break;
+                    case "seed":
+                        long[] parsedSeed = check.validateList(value, Long.MIN_VALUE, Long.MAX_VALUE);
+                        if (parsedSeed != null && parsedSeed.length == 1) {
+                            seed = parsedSeed[0];
+                            seeded = true;
+                            System.out.println("seed = " + seed);
+                        } else {
+                            System.err.println("seed = invalid | please type a single integer, like 42.");
+                        }
+                        break;
+                    case "density":
+                        double parsedDensity = check.density(value);
+                        if (parsedDensity > 0) {
+                            density = parsedDensity;
+                            System.out.println("density = " + density);
+                        } else {
+                            System.err.println("density = invalid | please type a fraction above 0 and up to 1, like 0.3.");
+                        }
+                        break;
                     case "p":
                         if (value.equalsIgnoreCase("rnd")) {
                             population.append("rnd");
@@ -137,10 +489,53 @@ public class GameOfLifeConfig {
         }
         System.out.println();
 
+        // O checkpoint define as dimensões, o layout, a borda, a regra e a população, mesmo que outros valores tenham sido passados
+        if (checkpoint != null) {
+            if (!checkpoint.getRule().equals(rule)) {
+                System.out.println("rule = " + checkpoint.getRule() + " (from the checkpoint)");
+            }
+            rule = checkpoint.getRule();
+            width = checkpoint.getColumns();
+            height = checkpoint.getLines();
+            layout = checkpoint.getLayout();
+            boundary = checkpoint.getBoundary();
+            if (checkpoint.getUniverseLines() > 0) {
+                universeWidth = checkpoint.getUniverseColumns();
+                universeHeight = checkpoint.getUniverseLines();
+            }
+            population.setLength(0);
+            patternFile = "";
+            missingParams.remove("width");
+            missingParams.remove("height");
+            missingParams.remove("layout");
+            missingParams.remove("population");
+        }
+
+        // Sem rule=, o padrão é simulado com a regra declarada no seu cabeçalho RLE
+        if (!patternFile.isEmpty()) {
+            applyPatternRule();
+        }
+
+        // Só as grades com bordas fixas podem ligar as bordas opostas
+        if (boundary.equals("torus") && !engine.equals("grid") && !engine.equals("bits") && !engine.equals("vector")) {
+            System.err.println("boundary = torus is only available with e=grid, e=bits or e=vector, using dead edges.");
+            boundary = "dead";
+        }
+
+        // Nascer sem vizinhos (B0) acenderia um universo infinito de uma vez
+        if (rule.isBornAlone() && (engine.equals("sparse") || engine.equals("hashlife"))) {
+            System.err.println("rule = " + rule + " needs a bounded universe (B0), using " + Rule.CONWAY + ".");
+            rule = Rule.CONWAY;
+        }
+
         // Verifica se o usuário passou "rnd"
         String s = population.toString();
+        if (!seeded) {
+            seed = rand.nextLong();
+        }
         if (s.equalsIgnoreCase("rnd")) {
-            System.out.println("Randomized population selected.");
+            System.out.println("Randomized population selected, seed = " + seed + ", density = " + density
+                    + (seeded ? "" : " (pass seed=" + seed + " to repeat it)"));
             missingParams.remove("population");
         }
 
@@ -158,6 +553,41 @@ public class GameOfLifeConfig {
 
     }
 
+    /**
+     * Lê a regra declarada no cabeçalho RLE do arquivo de padrão. Se nenhuma regra foi passada com
+     * {@code rule=}, a regra do cabeçalho passa a valer; se foi passada uma regra diferente, ela é mantida e
+     * um aviso é impresso. Um arquivo que não pode ser lido é ignorado aqui: a carga do padrão informa o
+     * erro e encerra a execução.
+     */
+    private void applyPatternRule() {
+        String declared;
+        try {
+            declared = PatternLoader.readRule(Path.of(patternFile));
+        } catch (IOException | InvalidPathException e) {
+            return;
+        }
+        if (declared.isEmpty()) {
+            return;
+        }
+        Rule patternRule;
+        try {
+            patternRule = Rule.parse(declared);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: the pattern declares rule = " + declared + ", which is not a B/S rule, "
+                    + "using rule = " + rule + ".");
+            return;
+        }
+        if (!ruleGiven) {
+            if (!patternRule.equals(rule)) {
+                System.out.println("rule = " + patternRule + " (from the pattern)");
+            }
+            rule = patternRule;
+        } else if (!patternRule.equals(rule)) {
+            System.err.println("Warning: the pattern declares rule = " + patternRule + ", running it with rule = "
+                    + rule + " as given.");
+        }
+    }
+
     /**
      * Exibe os valores padrão dos parâmetros que não foram informados pelo usuário.
      * <p>
@@ -182,10 +612,10 @@ public class GameOfLifeConfig {
             int layout) {
         Check check = new Check();
         System.out.println("Default values: ");
-        if (missingParams.contains("width") && check.validateRange(String.valueOf(width), 10, 500) != 0) {
+        if (missingParams.contains("width") && check.validateRange(String.valueOf(width), 10, 10000) != 0) {
             System.out.println(" - width = " + width);
         }
-        if (missingParams.contains("height") && check.validateRange(String.valueOf(height), 10, 500) != 0) {
+        if (missingParams.contains("height") && check.validateRange(String.valueOf(height), 10, 10000) != 0) {
             System.out.println(" - height = " + height);
         }
         if (missingParams.contains("generations") && check.generations(String.valueOf(generations)) != -1) {
@@ -225,7 +655,9 @@ public class GameOfLifeConfig {
     }
 
     /**
-     * Retorna o número de gerações a serem simuladas.
+     * Retorna o número de gerações a serem simuladas. Em uma execução restaurada de
+     * um checkpoint, é a geração em que a simulação termina, contando as gerações
+     * já simuladas antes do checkpoint.
      *
      * @return O número de gerações. O valor padrão é 0 se não for especificado.
      */
@@ -253,6 +685,210 @@ public class GameOfLifeConfig {
         return layout;
     }
 
+    /**
+     * Retorna o motor de simulação selecionado: {@code "grid"} (uma célula por
+     * objeto), {@code "bits"} (bitboards compactados), {@code "vector"} (os
+     * bitboards calculados com a Vector API do JDK), {@code "hashlife"}
+     * (quadtree memorizada, sem bordas), {@code "sparse"} (conjunto esparso de
+     * células vivas, sem bordas) ou {@code "mapped"} (bitboards em um arquivo
+     * mapeado em memória, para universos maiores que o heap).
+     *
+     * @return O nome do motor. O valor padrão é "grid" se não for especificado.
+     */
+    public String getEngine() {
+        return engine;
+    }
+
+    /**
+     * Retorna o número de threads usadas para calcular cada geração.
+     *
+     * @return O número de threads. O valor padrão é 1 se não for especificado.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Retorna de quantas em quantas gerações a grid é exibida. O motor avança
+     * esse número de gerações entre duas exibições; o HashLife faz isso em saltos
+     * de potências de 2.
+     *
+     * @return O intervalo de exibição. O valor padrão é 1 se não for especificado.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Retorna o limite de memória, em megabytes, da tabela de nós do HashLife e
+     * dos segmentos mapeados ao mesmo tempo pelo motor {@code "mapped"}.
+     *
+     * @return O limite de memória. O valor padrão é 256 MB se não for
+     *         especificado.
+     */
+    public int getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    /**
+     * Retorna a largura do universo do motor {@code "mapped"}. A grid
+     * ({@code w} x {@code h}) passa a ser apenas a janela de exibição.
+     *
+     * @return A largura do universo. O valor padrão é a largura da grid.
+     */
+    public int getUniverseWidth() {
+        return Math.max(universeWidth, width);
+    }
+
+    /**
+     * Retorna a altura do universo do motor {@code "mapped"}.
+     *
+     * @return A altura do universo. O valor padrão é a altura da grid.
+     */
+    public int getUniverseHeight() {
+        return Math.max(universeHeight, height);
+    }
+
+    /**
+     * Retorna a regra de nascimento e sobrevivência, informada em notação B/S.
+     *
+     * @return A regra. O valor padrão é a de Conway (B3/S23) se não for especificada.
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Retorna a borda da grade: {@code "dead"} (tudo fora da grade conta como
+     * morto) ou {@code "torus"} (as bordas opostas são vizinhas). O toro só existe
+     * com os motores {@code grid}, {@code bits} e {@code vector}.
+     *
+     * @return A borda da grade. O valor padrão é "dead" se não for especificado.
+     */
+    public String getBoundary() {
+        return boundary;
+    }
+
+    /**
+     * Retorna o modo de desenho: {@code "cells"} (um retângulo por célula) ou
+     * {@code "raster"} (a grade inteira como uma única imagem escalada).
+     *
+     * @return O modo de desenho. O valor padrão é "cells" se não for especificado.
+     */
+    public String getRenderer() {
+        return renderer;
+    }
+
+    /**
+     * Indica se as linhas da grade devem ser desenhadas.
+     *
+     * @return true se as linhas devem ser desenhadas. O valor padrão é true.
+     */
+    public boolean isGridlines() {
+        return gridlines;
+    }
+
+    /**
+     * Retorna o modo de execução: {@code "gui"} (janela Swing),
+     * {@code "headless"} (sem interface gráfica, medindo a velocidade do motor)
+     * ou {@code "batch"} (várias simulações independentes, sem interface gráfica).
+     *
+     * @return O modo de execução. O valor padrão é "gui" se não for especificado.
+     */
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Retorna o formato do relatório do modo headless: {@code "text"} ou
+     * {@code "json"}.
+     *
+     * @return O formato do relatório. O valor padrão é "text" se não for
+     *         especificado.
+     */
+    public String getOutput() {
+        return output;
+    }
+
+    /**
+     * Retorna a taxa alvo da simulação, em gerações por segundo. Quando
+     * {@code gps} não é informado, a taxa vem da velocidade ({@code 1000 / s}).
+     *
+     * @return As gerações por segundo, ou 0 para rodar sem limite
+     *         ({@code gps=max}).
+     */
+    public double getGenerationsPerSecond() {
+        if (unlimited) {
+            return 0;
+        }
+        if (generationsPerSecond > 0) {
+            return generationsPerSecond;
+        }
+        return speed > 0 ? 1000.0 / speed : 0;
+    }
+
+    /**
+     * Retorna quantos frames exibidos a simulação pode calcular à frente da
+     * tela. Com a fila cheia, ou com o jogo pausado, a simulação espera.
+     *
+     * @return O número de frames. O valor padrão é 16 se não for especificado.
+     */
+    public int getLookAhead() {
+        return lookAhead;
+    }
+
+    /**
+     * Retorna a taxa de atualização da tela, em quadros por segundo. A tela é
+     * atualizada nessa taxa independentemente da simulação; gerações calculadas
+     * entre dois quadros não são exibidas.
+     *
+     * @return Os quadros por segundo. O valor padrão é 60.
+     */
+    public int getFps() {
+        return fps;
+    }
+
+    /**
+     * Retorna o maior período de ciclo procurado pela detecção de estados
+     * estáveis e osciladores.
+     *
+     * @return O período máximo, ou 0 se a detecção estiver desligada. O valor
+     *         padrão é 0.
+     */
+    public int getCyclePeriod() {
+        return cyclePeriod;
+    }
+
+    /**
+     * Indica se a simulação deve terminar quando um ciclo for detectado.
+     *
+     * @return true para terminar ao detectar um ciclo. O valor padrão é false.
+     */
+    public boolean isCycleStop() {
+        return cycleStop;
+    }
+
+    /**
+     * Indica se as métricas da simulação (latência dos passos e do desenho,
+     * população, nascimentos, mortes e frames descartados) devem ser registradas
+     * e publicadas via JMX.
+     *
+     * @return true se as métricas estiverem ligadas. O valor padrão é false.
+     */
+    public boolean isMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Retorna de quantos em quantos segundos uma linha com o resumo das métricas
+     * é impressa. Informar o período liga as métricas.
+     *
+     * @return O período em segundos, ou 0 para não imprimir. O valor padrão é 0.
+     */
+    public int getMetricsInterval() {
+        return metricsInterval;
+    }
+
     /**
      * Retorna o padrão de população inicial como uma string.
      *
@@ -262,4 +898,172 @@ public class GameOfLifeConfig {
     public String getPopulation() {
         return population.toString();
     }
+
+    /**
+     * Retorna o arquivo RLE ou Life 1.06 com o padrão inicial. Quando informado,
+     * substitui o padrão passado em {@code p}.
+     *
+     * @return O caminho do arquivo, ou uma string vazia se não houver. O valor
+     *         padrão é vazio.
+     */
+    public String getPatternFile() {
+        return patternFile;
+    }
+
+    /**
+     * Retorna o arquivo onde os checkpoints da simulação são gravados.
+     *
+     * @return O caminho do arquivo, ou uma string vazia para não gravar. O valor padrão é vazio.
+     */
+    public String getSavePath() {
+        return savePath;
+    }
+
+    /**
+     * Retorna de quantas em quantas gerações um checkpoint é gravado. Com um arquivo de checkpoint
+     * informado, um checkpoint também é gravado no final da execução.
+     *
+     * @return O intervalo em gerações, ou 0 para gravar só no final. O valor padrão é 0.
+     */
+    public int getSaveInterval() {
+        return saveInterval;
+    }
+
+    /**
+     * Retorna o checkpoint a partir do qual a simulação continua.
+     *
+     * @return O checkpoint lido, ou null para começar do padrão inicial.
+     */
+    public Checkpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Retorna a geração em que a simulação começa: a geração do checkpoint restaurado, ou 0.
+     *
+     * @return A geração inicial.
+     */
+    public long getStartGeneration() {
+        return checkpoint != null ? checkpoint.getGeneration() : 0;
+    }
+
+    /**
+     * Retorna o arquivo onde cada geração da simulação é gravada, para ser
+     * revista depois com {@code replay}.
+     *
+     * @return O caminho do arquivo, ou uma string vazia para não gravar. O valor
+     *         padrão é vazio.
+     */
+    public String getRecordPath() {
+        return recordPath;
+    }
+
+    /**
+     * Retorna a cada quantas gerações a gravação guarda um quadro-chave completo;
+     * nas demais, só as células que mudaram.
+     *
+     * @return O intervalo entre quadros-chave. O valor padrão é 100.
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * Retorna a gravação a ser revista. Quando informada, nada é simulado.
+     *
+     * @return O caminho da gravação, ou uma string vazia para simular. O valor
+     *         padrão é vazio.
+     */
+    public String getReplayPath() {
+        return replayPath;
+    }
+
+    /**
+     * Retorna a geração em que a revisão de uma gravação começa.
+     *
+     * @return A geração inicial, ou -1 para começar da primeira geração gravada.
+     */
+    public long getReplayFrom() {
+        return replayFrom;
+    }
+
+    /**
+     * Retorna as larguras das grades do modo batch, na mesma ordem de
+     * {@link #getSweepHeights()}.
+     *
+     * @return As larguras. O valor padrão é a largura {@code w}.
+     */
+    public int[] getSweepWidths() {
+        return sweepWidths != null ? sweepWidths : new int[] { width };
+    }
+
+    /**
+     * Retorna as alturas das grades do modo batch, na mesma ordem de
+     * {@link #getSweepWidths()}.
+     *
+     * @return As alturas. O valor padrão é a altura {@code h}.
+     */
+    public int[] getSweepHeights() {
+        return sweepHeights != null ? sweepHeights : new int[] { height };
+    }
+
+    /**
+     * Retorna os layouts de vizinhança do modo batch.
+     *
+     * @return Os layouts. O valor padrão é o layout {@code n}.
+     */
+    public long[] getSweepLayouts() {
+        return sweepLayouts != null ? sweepLayouts : new long[] { layout };
+    }
+
+    /**
+     * Retorna as sementes das populações aleatórias do modo batch; cada semente
+     * gera sempre a mesma população.
+     *
+     * @return As sementes. O valor padrão é apenas a semente 1.
+     */
+    public long[] getSweepSeeds() {
+        return sweepSeeds != null ? sweepSeeds : new long[] { 1 };
+    }
+
+    /**
+     * Retorna a semente da população aleatória ({@code p=rnd}). A mesma semente
+     * e a mesma densidade geram sempre a mesma população, com qualquer número de
+     * threads.
+     *
+     * @return A semente. O valor padrão é uma semente sorteada, informada no
+     *         console.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Retorna a chance de cada célula iniciar viva nas populações aleatórias,
+     * inclusive nas do modo batch.
+     *
+     * @return A densidade, acima de 0 e até 1. O valor padrão é 0.5.
+     */
+    public double getDensity() {
+        return density;
+    }
+
+    /**
+     * Retorna os números de gerações do modo batch.
+     *
+     * @return Os números de gerações. O valor padrão é o valor de {@code g}.
+     */
+    public long[] getSweepGenerations() {
+        return sweepGenerations != null ? sweepGenerations : new long[] { generations };
+    }
+
+    /**
+     * Retorna o arquivo onde o modo batch grava uma linha CSV por simulação.
+     *
+     * @return O caminho do arquivo, ou uma string vazia para não gravar. O valor
+     *         padrão é vazio.
+     */
+    public String getCsvPath() {
+        return csvPath;
+    }
 }
@@ -0,0 +1,688 @@
+package dom;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Motor de simulação que guarda a grade inteira em bitboards {@code long[]}, uma célula por bit.
+ * <p>
+ * Cada linha ocupa {@code words} palavras de 64 bits (o bit {@code j} da palavra {@code w} é a coluna
+ * {@code w * 64 + j}), cercadas por uma palavra fantasma de cada lado e por uma linha fantasma acima e
+ * abaixo da grade, de modo que o laço principal não precisa testar limites. Com bordas mortas, essa
+ * moldura fica sempre zerada: tudo que está fora da grade conta como morto, exatamente como em {@link Grid}.
+ * No toro, a cada geração as bordas fantasmas recebem as células da borda oposta antes do cálculo e são
+ * zeradas de novo depois dele; a coluna à direita da última fica no primeiro bit livre da última palavra
+ * (ou na palavra fantasma, se a largura for múltipla de 64).
+ * </p>
+ * <p>
+ * A contagem de vizinhos é feita em paralelo para as 64 células de uma palavra (SWAR): os oito planos
+ * deslocados da vizinhança são somados com somadores completos bit a bit, produzindo a contagem em
+ * quatro planos de bits ({@code ones}, {@code twos}, {@code fours}, {@code eights}). Os planos que não
+ * fazem parte do layout escolhido são anulados por máscaras, então o mesmo laço atende os cinco layouts.
+ * O próximo estado sai desses planos por {@link Rule#apply(long, long, long, long, long)}, também sem
+ * desvios, para qualquer regra B/S.
+ * </p>
+ * <p>
+ * A grade também é dividida em blocos de 64x64 células com uma marca de alteração por bloco. A cada
+ * geração só são recalculados os blocos que mudaram na geração anterior e os seus vizinhos, de modo que
+ * o custo acompanha a atividade do tabuleiro e não a sua área.
+ * </p>
+ */
+public class BitGrid implements LifeEngine, StateTracking {
+    /**
+     * Máscaras por layout, na ordem NW, N, NE, W, E, SW, S, SE (N = linha anterior, W = coluna anterior),
+     * derivadas dos mesmos {@link NeighborhoodKernel} usados por {@link Grid}.
+     */
+    private static final long[][] LAYOUT_MASKS = new long[6][];
+
+    static {
+        int[][] planes = { { -1, -1 }, { -1, 0 }, { -1, 1 }, { 0, -1 }, { 0, 1 }, { 1, -1 }, { 1, 0 }, { 1, 1 } };
+        for (int layout = 0; layout < LAYOUT_MASKS.length; layout++) {
+            NeighborhoodKernel kernel = NeighborhoodKernel.forLayout(layout);
+            LAYOUT_MASKS[layout] = new long[planes.length];
+            for (int k = 0; k < planes.length; k++) {
+                LAYOUT_MASKS[layout][k] = kernel.includes(planes[k][0], planes[k][1]) ? -1L : 0L;
+            }
+        }
+    }
+
+    /**
+     * Retorna as máscaras dos oito planos de vizinhança do layout, na ordem NW, N, NE, W, E, SW, S, SE.
+     * Layouts inválidos recebem máscaras vazias.
+     */
+    static long[] layoutMasks(int layout) {
+        return LAYOUT_MASKS[layout >= 1 && layout < LAYOUT_MASKS.length ? layout : 0];
+    }
+
+    /**
+     * Blocos de atividade têm 64 linhas por uma palavra (64 colunas).
+     */
+    static final int TILE_SHIFT = 6;
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+    // Marca o hash como inválido; ao contrário de -1, nunca é igual a generation - 1
+    private static final long NOT_HASHED = Long.MIN_VALUE;
+
+    private final int line, column;
+    private final boolean torus;
+    private final int tileRows;
+    private final long lastMask;
+    private ForkJoinPool pool;
+    private RowBands bands;
+    private long[] changed;
+    private int lastActiveTiles;
+    private long births, deaths;
+    private long population;
+    private long generation;
+    private long stateHash;
+    private long hashedGeneration = NOT_HASHED;
+
+    // Estado de uma geração, visível no pacote para os passos de motores derivados (VectorGrid)
+    final int words;
+    final int stride;
+    final long[] wordMask;
+    final boolean[] active;
+    final long[] tileRowBirths;
+    final long[] tileRowDeaths;
+    long[] current;
+    long[] next;
+    long[] changedNext;
+    long[] masks;
+    Rule rule = Rule.CONWAY;
+
+    /**
+     * Constrói uma nova grade compactada com as dimensões especificadas e bordas mortas, com todas as
+     * células mortas.
+     *
+     * @param line   Número de linhas da grade.
+     * @param column Número de colunas da grade.
+     */
+    public BitGrid(int line, int column) {
+        this(line, column, false);
+    }
+
+    /**
+     * Constrói uma nova grade compactada com as dimensões e a borda especificadas, com todas as células
+     * mortas.
+     *
+     * @param line   Número de linhas da grade.
+     * @param column Número de colunas da grade.
+     * @param torus  true para ligar as bordas opostas (toro), false para bordas mortas.
+     */
+    public BitGrid(int line, int column, boolean torus) {
+        this.line = line;
+        this.column = column;
+        this.torus = torus;
+        this.words = (column + 63) >>> 6;
+        this.stride = words + 2;
+        this.lastMask = (column & 63) == 0 ? -1L : (1L << (column & 63)) - 1;
+        this.current = new long[(line + 2) * stride];
+        this.next = new long[(line + 2) * stride];
+        this.tileRows = (line + TILE_SIZE - 1) >>> TILE_SHIFT;
+        this.wordMask = new long[words];
+        Arrays.fill(wordMask, -1L);
+        wordMask[words - 1] = lastMask;
+        this.changed = new long[tileRows * words];
+        this.changedNext = new long[tileRows * words];
+        this.active = new boolean[tileRows * words];
+        this.tileRowBirths = new long[tileRows];
+        this.tileRowDeaths = new long[tileRows];
+        Arrays.fill(changed, -1L);
+        setParallelism(1);
+    }
+
+    /**
+     * Define quantas threads são usadas por {@link #updateGrid(int)}. Com mais de uma thread, as linhas
+     * são divididas em faixas de blocos executadas em um {@link ForkJoinPool}. Como as faixas só leem o
+     * buffer da geração atual e só escrevem no buffer da próxima, as bordas entre faixas são sempre
+     * consistentes.
+     *
+     * @param threads O número de threads (1 ou mais).
+     */
+    public void setParallelism(int threads) {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        bands = new RowBands(pool, tileRows, this::stepTileRows);
+    }
+
+    /**
+     * Define a regra de nascimento e sobrevivência das próximas gerações.
+     *
+     * @param rule A regra.
+     */
+    public void setRule(Rule rule) {
+        this.rule = rule;
+    }
+
+    /**
+     * Retorna a regra de nascimento e sobrevivência das próximas gerações.
+     *
+     * @return A regra.
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Inicializa a grade com um padrão fornecido como uma string, centralizado na grade, com as mesmas
+     * regras de {@link Grid#initializeGrid(String)}.
+     *
+     * @param pattern String representando o padrão inicial da grade.
+     */
+    public void initializeGrid(String pattern) {
+        String[] rows = pattern.split("#");
+
+        if (rows.length > line || rows[0].length() > column) {
+            System.out.println("Error: The pattern is larger than the grid size.");
+            return;
+        }
+
+        int startRow = Math.max(0, (line - rows.length) / 2);
+        int startCol = Math.max(0, (column - rows[0].length()) / 2);
+
+        for (int i = 0; i < rows.length; i++) {
+            String row = rows[i];
+            for (int j = 0; j < row.length(); j++) {
+                setAlive(startRow + i, startCol + j, row.charAt(j) == '1');
+            }
+        }
+    }
+
+    /**
+     * Gera uma população inicial aleatória que depende só da semente e da densidade ({@link RandomFill}).
+     * As palavras sorteadas são copiadas direto para o buffer da geração atual, com as faixas de linhas
+     * divididas entre as threads de {@link #setParallelism(int)}.
+     *
+     * @param seed    A semente.
+     * @param density A chance de cada célula iniciar viva, de 0 a 1.
+     */
+    public void generateRandomPopulation(long seed, double density) {
+        new RandomFill(seed, density).fill(line, column, pool,
+                (r, row) -> System.arraycopy(row, 0, current, (r + 1) * stride + 1, words));
+        Arrays.fill(changed, -1L);
+        population = -1;
+        hashedGeneration = NOT_HASHED;
+    }
+
+    /**
+     * Avança a grade uma geração com a regra definida por {@link #setRule(Rule)}, usando o layout de
+     * vizinhança especificado.
+     * O resultado é escrito no buffer secundário, que depois troca de lugar com o atual. Apenas os blocos
+     * que mudaram na geração anterior, e seus vizinhos, são recalculados.
+     *
+     * @param layout O tipo de layout de vizinhança (1 a 5).
+     */
+    public void updateGrid(int layout) {
+        if (layout < 1 || layout >= LAYOUT_MASKS.length) {
+            layout = 0;
+        }
+        masks = LAYOUT_MASKS[layout];
+        lastActiveTiles = markActiveTiles();
+        if (torus) {
+            fillHalo();
+            bands.run();
+            clearHalo();
+        } else {
+            bands.run();
+        }
+
+        long born = 0, died = 0;
+        for (int tr = 0; tr < tileRows; tr++) {
+            born += tileRowBirths[tr];
+            died += tileRowDeaths[tr];
+        }
+        births += born;
+        deaths += died;
+        if (population >= 0) {
+            population += born - died;
+        }
+        generation++;
+
+        long[] swap = current;
+        current = next;
+        next = swap;
+        long[] swapChanged = changed;
+        changed = changedNext;
+        changedNext = swapChanged;
+    }
+
+    /**
+     * Calcula a próxima geração das faixas de blocos no intervalo {@code [from, to)}, lendo de
+     * {@code current} e escrevendo em {@code next}. Blocos inativos são pulados: o buffer {@code next}
+     * ainda guarda a geração anterior, que para eles é idêntica à atual.
+     */
+    private void stepTileRows(int from, int to) {
+        for (int tr = from; tr < to; tr++) {
+            tileRowBirths[tr] = 0;
+            tileRowDeaths[tr] = 0;
+        }
+        int lastRow = Math.min(line, to << TILE_SHIFT);
+        for (int r = from << TILE_SHIFT; r < lastRow; r++) {
+            stepRow(r);
+        }
+    }
+
+    /**
+     * Calcula a próxima geração das palavras ativas da linha {@code r}. Motores derivados podem
+     * sobrescrever o método para calcular várias palavras por vez, desde que escrevam o mesmo resultado
+     * em {@code next} e acumulem as mesmas marcas de alteração, nascimentos e mortes.
+     *
+     * @param r A linha da grade.
+     */
+    void stepRow(int r) {
+        stepWords(r, 0, words);
+    }
+
+    /**
+     * Calcula, uma palavra por vez, a próxima geração das palavras ativas no intervalo
+     * {@code [fromWord, toWord)} da linha {@code r}, acumulando as marcas de alteração dos blocos e os
+     * nascimentos e as mortes da faixa de blocos da linha.
+     *
+     * @param r        A linha da grade.
+     * @param fromWord A primeira palavra do intervalo.
+     * @param toWord   A palavra seguinte à última do intervalo.
+     */
+    final void stepWords(int r, int fromWord, int toWord) {
+        final long mNW = masks[0], mN = masks[1], mNE = masks[2], mW = masks[3];
+        final long mE = masks[4], mSW = masks[5], mS = masks[6], mSE = masks[7];
+        final long[] cur = current;
+        final long[] nxt = next;
+        final boolean[] run = active;
+        final long[] dirtyNext = changedNext;
+        final long[] columnMask = wordMask;
+        final Rule step = rule;
+
+        int tileBase = (r >>> TILE_SHIFT) * words;
+        long born = 0, died = 0;
+        int base = (r + 1) * stride + 1;
+        for (int tc = fromWord; tc < toWord; tc++) {
+            if (!run[tileBase + tc]) {
+                continue;
+            }
+            int i = base + tc;
+            int up = i - stride;
+            int down = i + stride;
+            long a = cur[up];
+            long b = cur[i];
+            long c = cur[down];
+
+            long nw = ((a << 1) | (cur[up - 1] >>> 63)) & mNW;
+            long n = a & mN;
+            long ne = ((a >>> 1) | (cur[up + 1] << 63)) & mNE;
+            long w = ((b << 1) | (cur[i - 1] >>> 63)) & mW;
+            long e = ((b >>> 1) | (cur[i + 1] << 63)) & mE;
+            long sw = ((c << 1) | (cur[down - 1] >>> 63)) & mSW;
+            long s = c & mS;
+            long se = ((c >>> 1) | (cur[down + 1] << 63)) & mSE;
+
+            // Soma dos oito planos com somadores completos (carry-save)
+            long s1 = nw ^ n ^ ne;
+            long c1 = (nw & n) | (ne & (nw ^ n));
+            long s2 = w ^ e ^ sw;
+            long c2 = (w & e) | (sw & (w ^ e));
+            long s3 = s ^ se;
+            long c3 = s & se;
+            long ones = s1 ^ s2 ^ s3;
+            long c4 = (s1 & s2) | (s3 & (s1 ^ s2));
+            long t = c1 ^ c2 ^ c3;
+            long c5 = (c1 & c2) | (c3 & (c1 ^ c2));
+            long twos = t ^ c4;
+            long c6 = t & c4;
+            long fours = c5 ^ c6;
+            long eights = c5 & c6;
+
+            long result = step.apply(b, ones, twos, fours, eights) & columnMask[tc];
+            nxt[i] = result;
+            // No toro, o primeiro bit livre de b guarda a coluna 0; a máscara o descarta
+            long diff = result ^ (b & columnMask[tc]);
+            dirtyNext[tileBase + tc] |= diff;
+            born += Long.bitCount(diff & result);
+            died += Long.bitCount(diff & b);
+        }
+        tileRowBirths[r >>> TILE_SHIFT] += born;
+        tileRowDeaths[r >>> TILE_SHIFT] += died;
+    }
+
+    /**
+     * Copia para as bordas fantasmas de {@code current} as células da borda oposta: em cada linha, a
+     * última coluna vai para o bit 63 da palavra à esquerda e a primeira coluna para a posição logo
+     * depois da última; depois, as linhas fantasmas recebem cópias completas da última e da primeira
+     * linha, o que leva junto os cantos.
+     */
+    private void fillHalo() {
+        final long[] cur = current;
+        int eastWord = 1 + (column >>> 6);
+        int eastBit = column & 63;
+        int westWord = 1 + ((column - 1) >>> 6);
+        int westBit = (column - 1) & 63;
+        for (int r = 1; r <= line; r++) {
+            int start = r * stride;
+            cur[start] = ((cur[start + westWord] >>> westBit) & 1L) << 63;
+            cur[start + eastWord] |= (cur[start + 1] & 1L) << eastBit;
+        }
+        System.arraycopy(cur, line * stride, cur, 0, stride);
+        System.arraycopy(cur, stride, cur, (line + 1) * stride, stride);
+    }
+
+    /**
+     * Zera de novo as bordas fantasmas de {@code current}, para que fora de {@link #updateGrid(int)} o
+     * buffer só guarde as células da grade.
+     */
+    private void clearHalo() {
+        final long[] cur = current;
+        for (int r = 1; r <= line; r++) {
+            int start = r * stride;
+            cur[start] = 0;
+            cur[start + words] &= lastMask;
+            cur[start + words + 1] = 0;
+        }
+        Arrays.fill(cur, 0, stride, 0L);
+        Arrays.fill(cur, (line + 1) * stride, (line + 2) * stride, 0L);
+    }
+
+    /**
+     * Decide quais blocos serão recalculados nesta geração e limpa as marcas de alteração da próxima.
+     *
+     * @return O número de blocos ativos.
+     */
+    private int markActiveTiles() {
+        int count = 0;
+        for (int tr = 0; tr < tileRows; tr++) {
+            for (int tc = 0; tc < words; tc++) {
+                int tile = tr * words + tc;
+                active[tile] = isActive(changed, tr, tc);
+                changedNext[tile] = 0;
+                if (active[tile]) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Um bloco precisa ser recalculado se ele ou algum dos oito blocos vizinhos mudou na última geração.
+     * No toro, os blocos da borda oposta também são vizinhos.
+     */
+    private boolean isActive(long[] dirty, int tr, int tc) {
+        if (torus) {
+            for (int dr = -1; dr <= 1; dr++) {
+                int row = Math.floorMod(tr + dr, tileRows) * words;
+                for (int dc = -1; dc <= 1; dc++) {
+                    if (dirty[row + Math.floorMod(tc + dc, words)] != 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+        int r0 = Math.max(0, tr - 1), r1 = Math.min(tileRows - 1, tr + 1);
+        int c0 = Math.max(0, tc - 1), c1 = Math.min(words - 1, tc + 1);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                if (dirty[r * words + c] != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retorna se as bordas opostas da grade estão ligadas (toro).
+     *
+     * @return true no toro, false com bordas mortas.
+     */
+    @Override
+    public boolean isTorus() {
+        return torus;
+    }
+
+    /**
+     * Retorna quantos blocos de 64x64 células foram recalculados na última geração. Blocos estáveis,
+     * cercados por blocos estáveis, não custam nada.
+     *
+     * @return O número de blocos ativos na última geração.
+     */
+    public int getActiveTiles() {
+        return lastActiveTiles;
+    }
+
+    /**
+     * Retorna o número total de blocos de 64x64 células da grade.
+     *
+     * @return O número de blocos.
+     */
+    public int getTileCount() {
+        return tileRows * words;
+    }
+
+    /**
+     * Marca o bloco que contém a célula como alterado, para que ele e seus vizinhos sejam recalculados.
+     */
+    private void touch(int x, int y) {
+        changed[(x >>> TILE_SHIFT) * words + (y >>> 6)] = -1L;
+    }
+
+    /**
+     * Verifica se a célula na posição especificada está viva. Posições fora da grade são consideradas
+     * mortas.
+     *
+     * @param x A coordenada da linha.
+     * @param y A coordenada da coluna.
+     * @return true se a célula estiver viva, false caso contrário.
+     */
+    public boolean isAlive(int x, int y) {
+        if (x < 0 || x >= line || y < 0 || y >= column) {
+            return false;
+        }
+        return (current[(x + 1) * stride + 1 + (y >>> 6)] & (1L << y)) != 0;
+    }
+
+    /**
+     * Copia a região para o frame 64 células por vez, deslocando as palavras de cada linha quando a
+     * origem não está alinhada a uma palavra.
+     *
+     * @param frame     O frame a ser preenchido.
+     * @param originRow A linha da grade correspondente à linha 0 do frame.
+     * @param originCol A coluna da grade correspondente à coluna 0 do frame.
+     */
+    public void snapshot(Frame frame, int originRow, int originCol) {
+        frame.reset(originRow, originCol);
+        int shift = Math.floorMod(originCol, 64);
+        int firstWord = Math.floorDiv(originCol, 64);
+        for (int i = 0; i < frame.getLine(); i++) {
+            int r = originRow + i;
+            if (r < 0 || r >= line) {
+                continue;
+            }
+            int base = (r + 1) * stride + 1;
+            for (int w = 0; w < frame.getWords(); w++) {
+                int q = firstWord + w;
+                long low = wordAt(base, q);
+                long value = shift == 0 ? low : (low >>> shift) | (wordAt(base, q + 1) << (64 - shift));
+                frame.setWord(i, w, value);
+            }
+        }
+    }
+
+    private long wordAt(int base, int w) {
+        return w >= 0 && w < words ? current[base + w] : 0L;
+    }
+
+    /**
+     * Define o estado atual da célula na posição especificada.
+     *
+     * @param x     A coordenada da linha.
+     * @param y     A coordenada da coluna.
+     * @param alive true para viva, false para morta.
+     */
+    public void setAlive(int x, int y, boolean alive) {
+        Objects.checkIndex(x, line);
+        Objects.checkIndex(y, column);
+        int i = (x + 1) * stride + 1 + (y >>> 6);
+        touch(x, y);
+        population = -1;
+        hashedGeneration = NOT_HASHED;
+        if (alive) {
+            current[i] |= 1L << y;
+        } else {
+            current[i] &= ~(1L << y);
+        }
+    }
+
+    /**
+     * Retorna o número de células vivas na geração atual. A contagem completa só é feita depois de
+     * alterações diretas na grade; a cada geração ela é atualizada com os nascimentos e as mortes.
+     *
+     * @return A população atual.
+     */
+    public long getPopulation() {
+        if (population < 0) {
+            long count = 0;
+            for (long word : current) {
+                count += Long.bitCount(word);
+            }
+            population = count;
+        }
+        return population;
+    }
+
+    /**
+     * Retorna o hash de estado da geração atual. O hash não é calculado durante a geração: quando ele foi
+     * pedido na geração anterior, só as palavras dos blocos que mudaram são comparadas com o buffer
+     * secundário, que guarda exatamente a geração anterior; caso contrário, a grade inteira é percorrida.
+     *
+     * @return O hash do estado atual.
+     */
+    @Override
+    public long getStateHash() {
+        if (hashedGeneration == generation) {
+            return stateHash;
+        }
+        if (hashedGeneration == generation - 1) {
+            for (int tr = 0; tr < tileRows; tr++) {
+                int lastRow = Math.min(line, (tr + 1) << TILE_SHIFT);
+                for (int tc = 0; tc < words; tc++) {
+                    if (changed[tr * words + tc] == 0) {
+                        continue;
+                    }
+                    for (int r = tr << TILE_SHIFT; r < lastRow; r++) {
+                        int i = (r + 1) * stride + 1 + tc;
+                        if (current[i] != next[i]) {
+                            stateHash ^= StateHash.word(i, next[i]) ^ StateHash.word(i, current[i]);
+                        }
+                    }
+                }
+            }
+        } else {
+            long hash = 0;
+            for (int i = 0; i < current.length; i++) {
+                hash ^= StateHash.word(i, current[i]);
+            }
+            stateHash = hash;
+        }
+        hashedGeneration = generation;
+        return stateHash;
+    }
+
+    /**
+     * Retorna uma cópia exata do estado atual, incluindo as bordas fantasmas, que são sempre vazias.
+     *
+     * @return Uma cópia do estado atual.
+     */
+    @Override
+    public long[] copyState() {
+        return current.clone();
+    }
+
+    /**
+     * Entrega as coordenadas de todas as células vivas, extraindo os bits de cada palavra não vazia, em
+     * ordem de linha.
+     *
+     * @param sink Quem recebe os lotes.
+     * @throws IOException se {@code sink} falhar.
+     */
+    public void liveCells(CellSink sink) throws IOException {
+        liveCells(current, sink);
+    }
+
+    /**
+     * Congela a geração atual com uma cópia das palavras da grade; as células são extraídas da cópia só
+     * quando forem listadas.
+     *
+     * @return As células da geração atual.
+     */
+    @Override
+    public CellSource freezeCells() {
+        long[] state = current.clone();
+        return sink -> liveCells(state, sink);
+    }
+
+    private void liveCells(long[] state, CellSink sink) throws IOException {
+        CellBatch batch = new CellBatch(sink);
+        for (int r = 0; r < line; r++) {
+            int base = (r + 1) * stride + 1;
+            for (int w = 0; w < words; w++) {
+                long word = state[base + w];
+                while (word != 0) {
+                    batch.add(SparseGrid.pack(r, (w << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+        batch.flush();
+    }
+
+    /**
+     * Retorna o total de células que nasceram desde a criação da grade.
+     *
+     * @return O total de nascimentos.
+     */
+    public long getBirths() {
+        return births;
+    }
+
+    /**
+     * Retorna o total de células que morreram desde a criação da grade.
+     *
+     * @return O total de mortes.
+     */
+    public long getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * Exibe a grade no console, representando as células vivas com "1"
+     * e as células mortas com "0".
+     */
+    public void printGrid() {
+        for (int x = 0; x < line; x++) {
+            for (int y = 0; y < column; y++) {
+                System.out.print(isAlive(x, y) ? "1 " : "0 ");
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Retorna o número de linhas da grade.
+     *
+     * @return O número de linhas.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Retorna o número de colunas da grade.
+     *
+     * @return O número de colunas.
+     */
+    public int getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,49 @@
+package dom;
+
+import java.io.IOException;
+
+/**
+ * Junta células compactadas ({@link SparseGrid#pack(int, int)}) em lotes de tamanho fixo e entrega cada
+ * lote cheio a um {@link LifeEngine.CellSink}. Usado pelos motores em
+ * {@link LifeEngine#liveCells(LifeEngine.CellSink)}, para que a listagem das células vivas use memória
+ * constante, qualquer que seja a população.
+ */
+final class CellBatch {
+    /**
+     * Número de células de cada lote.
+     */
+    static final int SIZE = 1 << 16;
+
+    private final long[] cells = new long[SIZE];
+    private final LifeEngine.CellSink sink;
+    private int count;
+
+    CellBatch(LifeEngine.CellSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Acrescenta uma célula, entregando o lote se ele ficar cheio.
+     *
+     * @param cell A célula compactada.
+     * @throws IOException se o destinatário falhar.
+     */
+    void add(long cell) throws IOException {
+        cells[count++] = cell;
+        if (count == SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Entrega as células acumuladas, se houver alguma.
+     *
+     * @throws IOException se o destinatário falhar.
+     */
+    void flush() throws IOException {
+        if (count > 0) {
+            sink.cells(cells, count);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package dom;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Fotografia do estado de uma simulação, gravada em um arquivo binário compacto para que uma execução
+ * longa possa continuar depois em outro processo.
+ * <p>
+ * O arquivo guarda as dimensões da janela e do universo, o layout de vizinhança, a borda (morta ou
+ * toro), a regra em notação B/S, o número da geração e as células vivas. As células são recebidas do motor em lotes ({@link LifeEngine#liveCells}) e cada lote
+ * é gravado em um bloco próprio, em um de dois formatos, o que ficar menor:
+ * </p>
+ * <ul>
+ * <li>{@code RUNS}: sequências horizontais de células vivas, como (linha, coluna, comprimento), bom para
+ * populações esparsas em universos grandes;</li>
+ * <li>{@code BITS}: o retângulo que contém todas as células vivas do lote, uma célula por bit, bom para
+ * populações densas.</li>
+ * </ul>
+ * <p>
+ * Nem a gravação nem a leitura guardam todas as células na memória, então universos maiores que o heap
+ * ({@link MappedGrid}) também podem ser gravados e restaurados. {@link #capture(LifeEngine, int, long, Path)}
+ * deve ser chamado pela thread da simulação entre duas gerações, mas só congela as células
+ * ({@link LifeEngine#freezeCells()}), uma cópia barata do estado do motor. Todo o resto, a codificação dos
+ * blocos, a gravação com NIO e a sincronização com o disco ({@link #commit()}), pode ser feito em outra
+ * thread, sem parar a simulação; os blocos são gravados em um arquivo temporário, que só substitui o
+ * destino quando está completo, então um checkpoint anterior nunca fica pela metade.
+ * </p>
+ */
+public final class Checkpoint {
+    private static final int MAGIC = 0x474F4C53; // "GOLS"
+    private static final int VERSION = 1;
+    private static final int MAX_RULE_BYTES = 64;
+    private static final int HEADER_BYTES = 48;
+    private static final int POPULATION_OFFSET = HEADER_BYTES - Long.BYTES;
+    private static final byte RUNS = 0;
+    private static final byte BITS = 1;
+    private static final byte END = 2;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int BATCH_CELLS = 1 << 16;
+
+    private final Path file;
+    private final Path target;
+    private final int lines, columns;
+    private final int universeLines, universeColumns;
+    private final int layout;
+    private final String boundary;
+    private final Rule rule;
+    private final int dataOffset;
+    private final long generation;
+    private final LifeEngine.CellSource cells;
+    private long population;
+
+    private Checkpoint(Path file, Path target, int lines, int columns, int universeLines,
+            int universeColumns, int layout, String boundary, Rule rule, int dataOffset, long generation,
+            LifeEngine.CellSource cells, long population) {
+        this.file = file;
+        this.target = target;
+        this.lines = lines;
+        this.columns = columns;
+        this.universeLines = universeLines;
+        this.universeColumns = universeColumns;
+        this.layout = layout;
+        this.boundary = boundary;
+        this.rule = rule;
+        this.dataOffset = dataOffset;
+        this.generation = generation;
+        this.cells = cells;
+        this.population = population;
+    }
+
+    /**
+     * Congela o estado atual do motor para ser gravado em {@code path} por {@link #commit()}. Deve ser
+     * chamado pela thread da simulação e custa só a cópia barata de {@link LifeEngine#freezeCells()}; nada
+     * é gravado ainda.
+     *
+     * @param engine     O motor da simulação.
+     * @param layout     O layout de vizinhança em uso.
+     * @param generation A geração atual.
+     * @param path       O arquivo de destino.
+     * @return O checkpoint, pronto para ser gravado em qualquer thread.
+     */
+    public static Checkpoint capture(LifeEngine engine, int layout, long generation, Path path) {
+        int universeLines = 0, universeColumns = 0;
+        if (engine instanceof MappedGrid mapped) {
+            universeLines = mapped.getUniverseLines();
+            universeColumns = mapped.getUniverseColumns();
+        }
+        int dataOffset = HEADER_BYTES + Short.BYTES + engine.getRule().toString().length();
+        return new Checkpoint(null, path.toAbsolutePath(), engine.getLine(), engine.getColumn(),
+                universeLines, universeColumns, layout, engine.isTorus() ? "torus" : "dead", engine.getRule(),
+                dataOffset, generation, engine.freezeCells(), 0);
+    }
+
+    /**
+     * Grava um lote de células como um bloco {@code RUNS} ou {@code BITS}. O lote é ordenado no próprio
+     * vetor.
+     */
+    private static void writeBlock(FileChannel channel, ByteBuffer buffer, long[] cells, int count)
+            throws IOException {
+        // Ordena por linha e, dentro da linha, por coluna com sinal
+        for (int i = 0; i < count; i++) {
+            cells[i] ^= 0x80000000L;
+        }
+        Arrays.sort(cells, 0, count);
+
+        int runs = 0;
+        long minRow = Long.MAX_VALUE, maxRow = Long.MIN_VALUE, minCol = Long.MAX_VALUE, maxCol = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || cells[i] != cells[i - 1] + 1 || row(cells[i]) != row(cells[i - 1])) {
+                runs++;
+            }
+            minRow = Math.min(minRow, row(cells[i]));
+            maxRow = Math.max(maxRow, row(cells[i]));
+            minCol = Math.min(minCol, column(cells[i]));
+            maxCol = Math.max(maxCol, column(cells[i]));
+        }
+        long runBytes = 4 + 12L * runs;
+        long bitRows = maxRow - minRow + 1, bitWords = (maxCol - minCol + 64) >>> 6;
+        long bitBytes = count == 0 || bitRows > Integer.MAX_VALUE || bitWords > Integer.MAX_VALUE
+                ? Long.MAX_VALUE
+                : 16 + bitRows * bitWords * Long.BYTES;
+
+        if (runBytes <= bitBytes) {
+            ensure(channel, buffer, 5);
+            buffer.put(RUNS).putInt(runs);
+            for (int i = 0; i < count;) {
+                int start = i++;
+                while (i < count && cells[i] == cells[i - 1] + 1 && row(cells[i]) == row(cells[start])) {
+                    i++;
+                }
+                ensure(channel, buffer, 12);
+                buffer.putInt((int) row(cells[start])).putInt((int) column(cells[start])).putInt(i - start);
+            }
+        } else {
+            int rows = (int) bitRows;
+            int words = (int) bitWords;
+            ensure(channel, buffer, 17);
+            buffer.put(BITS).putInt((int) minRow).putInt((int) minCol).putInt(rows).putInt(words);
+            // As células estão ordenadas, então cada palavra é montada e gravada uma única vez
+            int i = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int w = 0; w < words; w++) {
+                    long word = 0;
+                    long wordStart = minCol + ((long) w << 6);
+                    while (i < count && row(cells[i]) == minRow + r && column(cells[i]) < wordStart + 64) {
+                        word |= 1L << (column(cells[i]) - wordStart);
+                        i++;
+                    }
+                    ensure(channel, buffer, Long.BYTES);
+                    buffer.putLong(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Grava as células congeladas por {@link #capture(LifeEngine, int, long, Path)} em um arquivo temporário
+     * ao lado do destino, em blocos, sincroniza-o com o disco e o move para o destino, substituindo o
+     * checkpoint anterior. Pode ser chamado em qualquer thread, uma única vez.
+     *
+     * @return O tamanho do arquivo gravado, em bytes.
+     * @throws IOException se a gravação falhar.
+     */
+    public long commit() throws IOException {
+        try (LifeEngine.CellSource source = cells) {
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+                // A população só é conhecida no final e é gravada por cima do zero
+                buffer.putInt(MAGIC).putInt(VERSION);
+                buffer.putInt(lines).putInt(columns);
+                buffer.putInt(universeLines).putInt(universeColumns);
+                buffer.putInt(layout).putInt(boundary.equals("torus") ? 1 : 0).putLong(generation).putLong(0);
+                byte[] notation = rule.toString().getBytes(StandardCharsets.US_ASCII);
+                buffer.putShort((short) notation.length).put(notation);
+                long[] count = new long[1];
+                source.liveCells((batch, size) -> {
+                    writeBlock(channel, buffer, batch, size);
+                    count[0] += size;
+                });
+                ensure(channel, buffer, 1);
+                buffer.put(END);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                ByteBuffer total = ByteBuffer.allocate(Long.BYTES).putLong(count[0]).flip();
+                while (total.hasRemaining()) {
+                    channel.write(total, POPULATION_OFFSET + total.position());
+                }
+                channel.force(false);
+                population = count[0];
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Files.size(target);
+        }
+    }
+
+    /**
+     * Lê o cabeçalho de um checkpoint gravado por {@link #capture(LifeEngine, int, long, Path)}. As células
+     * só são lidas por {@link #restore(LifeEngine)}.
+     *
+     * @param path O arquivo do checkpoint.
+     * @return O checkpoint lido.
+     * @throws IOException se o arquivo não puder ser lido ou não for um checkpoint válido.
+     */
+    public static Checkpoint read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + Short.BYTES + MAX_RULE_BYTES);
+            buffer.flip();
+            fill(channel, buffer, 2 * Integer.BYTES);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a Game of Life checkpoint: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version + ": " + path);
+            }
+            fill(channel, buffer, HEADER_BYTES - 2 * Integer.BYTES);
+            int lines = buffer.getInt(), columns = buffer.getInt();
+            int universeLines = buffer.getInt(), universeColumns = buffer.getInt();
+            int layout = buffer.getInt();
+            int torus = buffer.getInt();
+            if (torus != 0 && torus != 1) {
+                throw new IOException("Invalid checkpoint boundary " + torus + ": " + path);
+            }
+            String boundary = torus == 1 ? "torus" : "dead";
+            long generation = buffer.getLong();
+            long population = buffer.getLong();
+            if (population < 0) {
+                throw new IOException("Invalid checkpoint population " + population + ": " + path);
+            }
+            // A regra vem logo depois do cabeçalho de tamanho fixo
+            fill(channel, buffer, Short.BYTES);
+            int length = buffer.getShort();
+            if (length <= 0 || length > MAX_RULE_BYTES) {
+                throw new IOException("Invalid checkpoint rule length " + length + ": " + path);
+            }
+            fill(channel, buffer, length);
+            byte[] notation = new byte[length];
+            buffer.get(notation);
+            Rule rule;
+            try {
+                rule = Rule.parse(new String(notation, StandardCharsets.US_ASCII));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid checkpoint rule: " + path, e);
+            }
+            int dataOffset = HEADER_BYTES + Short.BYTES + length;
+            return new Checkpoint(path, null, lines, columns, universeLines, universeColumns, layout,
+                    boundary, rule, dataOffset, generation, null, population);
+        }
+    }
+
+    /**
+     * Carrega as células vivas do checkpoint em um motor vazio, lendo o arquivo bloco por bloco e
+     * entregando as células em lotes ({@link LifeEngine#setAliveAll(long[], int)}). Células fora dos
+     * limites de um motor com bordas são descartadas.
+     *
+     * @param engine O motor a ser preenchido.
+     * @return O número de células descartadas.
+     * @throws IOException se o arquivo não puder ser lido ou estiver corrompido.
+     */
+    public long restore(LifeEngine engine) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            buffer.flip();
+            fill(channel, buffer, dataOffset);
+            buffer.position(dataOffset);
+            Loader loader = new Loader(engine);
+
+            while (true) {
+                fill(channel, buffer, 1);
+                byte encoding = buffer.get();
+                if (encoding == END) {
+                    break;
+                } else if (encoding == RUNS) {
+                    fill(channel, buffer, 4);
+                    int runs = buffer.getInt();
+                    for (int r = 0; r < runs; r++) {
+                        fill(channel, buffer, 12);
+                        int row = buffer.getInt(), column = buffer.getInt(), length = buffer.getInt();
+                        if (length <= 0 || length > population - loader.total) {
+                            throw new IOException("Corrupted checkpoint: " + file);
+                        }
+                        for (int k = 0; k < length; k++) {
+                            loader.add(row, column + k);
+                        }
+                    }
+                } else if (encoding == BITS) {
+                    fill(channel, buffer, 16);
+                    int originRow = buffer.getInt(), originCol = buffer.getInt();
+                    int rows = buffer.getInt(), words = buffer.getInt();
+                    for (int r = 0; r < rows; r++) {
+                        for (int w = 0; w < words; w++) {
+                            fill(channel, buffer, Long.BYTES);
+                            long word = buffer.getLong();
+                            if (Long.bitCount(word) > population - loader.total) {
+                                throw new IOException("Corrupted checkpoint: " + file);
+                            }
+                            while (word != 0) {
+                                loader.add(originRow + r, originCol + (w << 6) + Long.numberOfTrailingZeros(word));
+                                word &= word - 1;
+                            }
+                        }
+                    }
+                } else {
+                    throw new IOException("Unknown checkpoint encoding " + encoding + ": " + file);
+                }
+            }
+            loader.flush();
+            if (loader.total != population) {
+                throw new IOException("Corrupted checkpoint: " + file);
+            }
+            return loader.dropped;
+        }
+    }
+
+    /**
+     * Junta as células lidas em lotes para o motor, descartando as que ficam fora de um motor com bordas.
+     */
+    private static final class Loader {
+        private final LifeEngine engine;
+        private final boolean bounded;
+        private final long[] batch = new long[BATCH_CELLS];
+        private int batched;
+        long total, dropped;
+
+        Loader(LifeEngine engine) {
+            this.engine = engine;
+            this.bounded = engine.isBounded();
+        }
+
+        void add(int x, int y) {
+            total++;
+            if (bounded && (x < 0 || x >= engine.getUniverseLines()
+                    || y < 0 || y >= engine.getUniverseColumns())) {
+                dropped++;
+                return;
+            }
+            batch[batched++] = SparseGrid.pack(x, y);
+            if (batched == BATCH_CELLS) {
+                flush();
+            }
+        }
+
+        void flush() {
+            engine.setAliveAll(batch, batched);
+            batched = 0;
+        }
+    }
+
+    private static long row(long sortedCell) {
+        return sortedCell >> 32;
+    }
+
+    private static long column(long sortedCell) {
+        return (int) (sortedCell ^ 0x80000000L);
+    }
+
+    private static void ensure(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    private static void fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Truncated checkpoint");
+                }
+            }
+            buffer.flip();
+        }
+    }
+
+    /**
+     * Retorna o número de linhas da janela gravada.
+     *
+     * @return O número de linhas.
+     */
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * Retorna o número de colunas da janela gravada.
+     *
+     * @return O número de colunas.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Retorna o número de linhas do universo mapeado gravado, ou 0 se o motor não tinha um universo
+     * separado da janela.
+     *
+     * @return O número de linhas do universo.
+     */
+    public int getUniverseLines() {
+        return universeLines;
+    }
+
+    /**
+     * Retorna o número de colunas do universo mapeado gravado, ou 0 se o motor não tinha um universo
+     * separado da janela.
+     *
+     * @return O número de colunas do universo.
+     */
+    public int getUniverseColumns() {
+        return universeColumns;
+    }
+
+    /**
+     * Retorna o layout de vizinhança em uso quando o checkpoint foi gravado.
+     *
+     * @return O layout (1 a 5).
+     */
+    public int getLayout() {
+        return layout;
+    }
+
+    /**
+     * Retorna a borda do motor quando o checkpoint foi gravado.
+     *
+     * @return {@code "dead"} ou {@code "torus"}.
+     */
+    public String getBoundary() {
+        return boundary;
+    }
+
+    /**
+     * Retorna a regra em uso quando o checkpoint foi gravado.
+     *
+     * @return A regra.
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Retorna a geração gravada.
+     *
+     * @return O número da geração.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Retorna o número de células vivas gravadas. Em um checkpoint capturado, só é conhecido depois de
+     * {@link #commit()}.
+     *
+     * @return A população.
+     */
+    public long getPopulation() {
+        return population;
+    }
+}
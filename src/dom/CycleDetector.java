@@ -0,0 +1,122 @@
+package dom;
+
+import java.util.Arrays;
+
+/**
+ * Detecta quando a simulação entra em um estado estável (período 1) ou em um oscilador de período até
+ * {@code maxPeriod}, a partir do hash de estado mantido pelo motor ({@link StateTracking#getStateHash()}).
+ * <p>
+ * O detector guarda os hashes das últimas {@code maxPeriod} gerações em um buffer circular. Quando o hash
+ * atual já apareceu {@code p} gerações atrás, o estado exato da geração atual é copiado e, depois de mais
+ * {@code p} gerações, comparado com o estado de então. Só essa comparação exata confirma o ciclo, então
+ * colisões de hash nunca produzem uma detecção falsa. O início do ciclo ({@link #getOnset()}) é a geração
+ * de {@code p} gerações atrás que teve o primeiro hash repetido.
+ * </p>
+ * <p>
+ * {@link #record(long)} precisa ser chamado depois de cada geração, sem saltos.
+ * </p>
+ */
+public final class CycleDetector {
+    private final StateTracking engine;
+    private final long[] hashes;
+    private final long[] generations;
+    private int head;
+    private int count;
+
+    private long[] candidateState;
+    private long candidateHash;
+    private long candidateGeneration;
+    private int candidatePeriod;
+    private long candidateOnset;
+
+    private int period;
+    private long detectedAt;
+    private long onset;
+
+    /**
+     * Cria um detector para os ciclos do motor, de período até o valor informado.
+     *
+     * @param engine    O motor, que mantém o hash de estado.
+     * @param maxPeriod O maior período procurado (1 detecta apenas estados estáveis).
+     */
+    public CycleDetector(StateTracking engine, int maxPeriod) {
+        this.engine = engine;
+        this.hashes = new long[maxPeriod];
+        this.generations = new long[maxPeriod];
+    }
+
+    /**
+     * Registra o estado do motor na geração informada.
+     *
+     * @param generation A geração atual.
+     * @return true se um ciclo foi confirmado nesta chamada.
+     */
+    public boolean record(long generation) {
+        if (period > 0) {
+            return false;
+        }
+        long hash = engine.getStateHash();
+
+        if (candidateState != null) {
+            if (generation - candidateGeneration >= candidatePeriod) {
+                if (hash == candidateHash && Arrays.equals(engine.copyState(), candidateState)) {
+                    period = candidatePeriod;
+                    detectedAt = candidateGeneration;
+                    onset = candidateOnset;
+                    candidateState = null;
+                    return true;
+                }
+                // Colisão de hash: descarta o candidato e volta a procurar
+                candidateState = null;
+            }
+        } else {
+            // Do mais recente para o mais antigo, para encontrar o menor período
+            for (int k = 1; k <= count; k++) {
+                int slot = Math.floorMod(head - k, hashes.length);
+                if (hashes[slot] == hash) {
+                    candidateState = engine.copyState();
+                    candidateHash = hash;
+                    candidateGeneration = generation;
+                    candidateOnset = generations[slot];
+                    candidatePeriod = (int) (generation - candidateOnset);
+                    break;
+                }
+            }
+        }
+
+        hashes[head] = hash;
+        generations[head] = generation;
+        head = (head + 1) % hashes.length;
+        count = Math.min(count + 1, hashes.length);
+        return false;
+    }
+
+    /**
+     * Retorna o período do ciclo confirmado.
+     *
+     * @return O período (1 para um estado estável), ou 0 se nenhum ciclo foi confirmado.
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Retorna a geração cujo estado exato foi copiado e confirmado {@link #getPeriod()} gerações depois. É
+     * a primeira repetição observada, {@code getOnset() + getPeriod()}, e não o início do ciclo.
+     *
+     * @return A geração em que a repetição foi observada.
+     */
+    public long getDetectedAt() {
+        return detectedAt;
+    }
+
+    /**
+     * Retorna a primeira geração do estado que se repete: a partir dela, o estado volta a cada
+     * {@link #getPeriod()} gerações. Para um estado estável, é a primeira geração em que nada muda.
+     *
+     * @return A geração em que o ciclo começa, ou 0 se nenhum ciclo foi confirmado.
+     */
+    public long getOnset() {
+        return onset;
+    }
+}
@@ -0,0 +1,178 @@
+package dom;
+
+import java.util.Arrays;
+
+/**
+ * Fotografia compacta de uma região da grade em uma geração, com uma célula por bit.
+ * <p>
+ * Um frame é preenchido pela thread da simulação através de
+ * {@link LifeEngine#snapshot(Frame, int, int)} e, depois de publicado, passa a ser somente leitura até ser
+ * devolvido para reaproveitamento. Dessa forma a thread de desenho nunca vê uma geração pela metade, e
+ * nenhum frame novo precisa ser alocado a cada geração.
+ * </p>
+ */
+public final class Frame {
+    private final int line, column;
+    private final int words;
+    private final long lastMask;
+    private final long[] bits;
+    private int originRow, originCol;
+    private long generation;
+
+    /**
+     * Cria um frame vazio com as dimensões informadas.
+     *
+     * @param line   Número de linhas da região.
+     * @param column Número de colunas da região.
+     */
+    public Frame(int line, int column) {
+        this.line = line;
+        this.column = column;
+        this.words = (column + 63) >>> 6;
+        this.lastMask = (column & 63) == 0 ? -1L : (1L << (column & 63)) - 1;
+        this.bits = new long[line * words];
+    }
+
+    /**
+     * Limpa todas as células e registra a origem da região no universo.
+     *
+     * @param originRow A linha do universo correspondente à linha 0 do frame.
+     * @param originCol A coluna do universo correspondente à coluna 0 do frame.
+     */
+    public void reset(int originRow, int originCol) {
+        Arrays.fill(bits, 0L);
+        this.originRow = originRow;
+        this.originCol = originCol;
+    }
+
+    /**
+     * Verifica se a célula do frame está viva.
+     *
+     * @param i A linha dentro do frame.
+     * @param j A coluna dentro do frame.
+     * @return true se a célula estiver viva, false caso contrário.
+     */
+    public boolean isAlive(int i, int j) {
+        return (bits[i * words + (j >>> 6)] & (1L << j)) != 0;
+    }
+
+    /**
+     * Marca a célula do frame como viva.
+     *
+     * @param i A linha dentro do frame.
+     * @param j A coluna dentro do frame.
+     */
+    public void setAlive(int i, int j) {
+        bits[i * words + (j >>> 6)] |= 1L << j;
+    }
+
+    /**
+     * Define uma palavra de 64 células de uma linha do frame. Bits além da última coluna são descartados.
+     *
+     * @param i     A linha dentro do frame.
+     * @param w     O índice da palavra na linha.
+     * @param value As 64 células, com a coluna {@code w * 64} no bit menos significativo.
+     */
+    public void setWord(int i, int w, long value) {
+        bits[i * words + w] = w == words - 1 ? value & lastMask : value;
+    }
+
+    /**
+     * Retorna uma palavra de 64 células de uma linha do frame.
+     *
+     * @param i A linha dentro do frame.
+     * @param w O índice da palavra na linha.
+     * @return As 64 células, com a coluna {@code w * 64} no bit menos significativo.
+     */
+    public long getWord(int i, int w) {
+        return bits[i * words + w];
+    }
+
+    /**
+     * Copia as células, a origem e a geração de outro frame com as mesmas dimensões.
+     *
+     * @param other O frame de origem.
+     */
+    public void copyFrom(Frame other) {
+        System.arraycopy(other.bits, 0, bits, 0, bits.length);
+        this.originRow = other.originRow;
+        this.originCol = other.originCol;
+        this.generation = other.generation;
+    }
+
+    /**
+     * Retorna o número de células vivas no frame.
+     *
+     * @return A população da região.
+     */
+    public long getPopulation() {
+        long population = 0;
+        for (long word : bits) {
+            population += Long.bitCount(word);
+        }
+        return population;
+    }
+
+    /**
+     * Retorna o número de linhas do frame.
+     *
+     * @return O número de linhas.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Retorna o número de colunas do frame.
+     *
+     * @return O número de colunas.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Retorna o número de palavras de 64 bits por linha.
+     *
+     * @return As palavras por linha.
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * Retorna a linha do universo correspondente à linha 0 do frame.
+     *
+     * @return A linha de origem.
+     */
+    public int getOriginRow() {
+        return originRow;
+    }
+
+    /**
+     * Retorna a coluna do universo correspondente à coluna 0 do frame.
+     *
+     * @return A coluna de origem.
+     */
+    public int getOriginCol() {
+        return originCol;
+    }
+
+    /**
+     * Retorna a geração fotografada neste frame.
+     *
+     * @return O número da geração.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Define a geração fotografada neste frame.
+     *
+     * @param generation O número da geração.
+     */
+    public void setGeneration(long generation) {
+        this.generation = generation;
+    }
+}
@@ -1,19 +1,43 @@
 package dom;
 
-import java.util.Random;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Representa uma grade para o jogo Game of Life. A grade é composta por células
  * vivas ou mortas,
  * permitindo inicializar, atualizar e exibir o estado das células de acordo com
  * as regras do jogo.
+ * <p>
+ * A matriz tem uma linha e uma coluna fantasmas de cada lado, então a célula
+ * {@code (x, y)} fica em {@code grid[x + 1][y + 1]} e todos os vizinhos de
+ * qualquer célula existem: a contagem nunca testa limites. Com bordas mortas,
+ * as células fantasmas ficam sempre mortas; no toro, elas são atualizadas uma
+ * vez por geração com as células da borda oposta.
+ * </p>
  */
-public class Grid {
+public class Grid implements LifeEngine, StateTracking {
     private int line, column;
+    private final boolean torus;
     private Cell[][] grid;
+    private boolean haloStale;
+    private ForkJoinPool pool;
+    private RowBands nextStates;
+    private RowBands updateStates;
+    private NeighborhoodKernel kernel;
+    private Rule rule = Rule.CONWAY;
+    private final long[] rowBirths;
+    private final long[] rowDeaths;
+    private long births, deaths;
+    // Mantida a cada geração; -1 enquanto precisa ser recontada
+    private long population;
+    private final long[] rowHash;
+    private long stateHash;
+    private boolean hashValid = true;
 
     /**
-     * Constrói uma nova instância de Grid com as dimensões especificadas.
+     * Constrói uma nova instância de Grid com as dimensões especificadas e bordas
+     * mortas.
      * <p>
      * A matriz de células é inicializada com o tamanho fornecido e todas as células
      * são criadas inicialmente no estado morto.
@@ -23,15 +47,67 @@ public class Grid {
      * @param column Número de colunas da grade.
      */
     public Grid(int line, int column) {
+        this(line, column, false);
+    }
+
+    /**
+     * Constrói uma nova instância de Grid com as dimensões e a borda especificadas.
+     *
+     * @param line   Número de linhas da grade.
+     * @param column Número de colunas da grade.
+     * @param torus  true para ligar as bordas opostas (toro), false para bordas
+     *               mortas.
+     */
+    public Grid(int line, int column, boolean torus) {
         this.line = line;
         this.column = column;
-        this.grid = new Cell[line][column];
+        this.torus = torus;
+        this.grid = new Cell[line + 2][column + 2];
+        this.rowBirths = new long[line];
+        this.rowDeaths = new long[line];
+        this.rowHash = new long[line];
 
-        for (int i = 0; i < line; i++) {
-            for (int j = 0; j < column; j++) {
+        for (int i = 0; i < line + 2; i++) {
+            for (int j = 0; j < column + 2; j++) {
                 grid[i][j] = new Cell(false);
             }
         }
+        setParallelism(1);
+    }
+
+    /**
+     * Define quantas threads são usadas por {@link #updateGrid(int)}. Com mais de
+     * uma thread, as linhas são divididas em faixas executadas em um
+     * {@link ForkJoinPool}; as duas etapas da geração continuam separadas, então
+     * todas as faixas leem a mesma geração anterior.
+     *
+     * @param threads O número de threads (1 ou mais).
+     */
+    public void setParallelism(int threads) {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        nextStates = new RowBands(pool, line, this::computeNextStates);
+        updateStates = new RowBands(pool, line, this::updateStates);
+    }
+
+    /**
+     * Define a regra de nascimento e sobrevivência das próximas gerações.
+     *
+     * @param rule A regra.
+     */
+    public void setRule(Rule rule) {
+        this.rule = rule;
+    }
+
+    /**
+     * Retorna a regra de nascimento e sobrevivência das próximas gerações.
+     *
+     * @return A regra.
+     */
+    public Rule getRule() {
+        return rule;
     }
 
     /**
@@ -55,27 +131,35 @@ public class Grid {
         int startCol = Math.max(0, (column - rows[0].length()) / 2);
 
         for (int i = 0; i < rows.length; i++) {
-            char[] cells = rows[i].toCharArray();
-            for (int j = 0; j < cells.length; j++) {
-                grid[startRow + i][startCol + j] = new Cell(cells[j] == '1');
+            String row = rows[i];
+            for (int j = 0; j < row.length(); j++) {
+                grid[startRow + i + 1][startCol + j + 1].setAlive(row.charAt(j) == '1');
             }
         }
+        hashValid = false;
+        population = -1;
+        haloStale = torus;
     }
 
     /**
-     * Gera uma população inicial aleatória na grade.
-     * Cada célula tem 50% de chance de iniciar viva.
+     * Gera uma população inicial aleatória que depende só da semente e da densidade
+     * ({@link RandomFill}). As faixas de linhas são sorteadas nas threads de
+     * {@link #setParallelism(int)}, e o estado de cada célula existente é
+     * atualizado, sem criar objetos novos.
+     *
+     * @param seed    A semente.
+     * @param density A chance de cada célula iniciar viva, de 0 a 1.
      */
-    public void generateRandomPopulation() {
-        Random random = new Random();
-        for (int i = 0; i < line; i++) {
+    public void generateRandomPopulation(long seed, double density) {
+        new RandomFill(seed, density).fill(line, column, pool, (i, words) -> {
+            Cell[] row = grid[i + 1];
             for (int j = 0; j < column; j++) {
-                // nextBoolean() retorna true ou false com equal probability
-                boolean isAlive = random.nextBoolean();
-                // Cria a célula diretamente com o estado sorteado
-                grid[i][j] = new Cell(isAlive);
+                row[j + 1].setAlive((words[j >>> 6] & (1L << j)) != 0);
             }
-        }
+        });
+        hashValid = false;
+        population = -1;
+        haloStale = torus;
     }
 
     /**
@@ -90,46 +174,39 @@ public class Grid {
      * @return O número de vizinhos vivos da célula especificada.
      */
     public int getNeighbors(int x, int y, int layout) {
-        int[] dx, dy;
-        int neighbors = 0;
+        refreshHalo();
+        return NeighborhoodKernel.forLayout(layout).count(grid, x + 1, y + 1);
+    }
 
-        switch (layout) {
-            case 1 -> {
-                dx = new int[] { 0, 0, -1, 1 };
-                dy = new int[] { -1, 1, 0, 0 };
-            }
-            case 2 -> {
-                dx = new int[] { 0, 0, -1, 1, 1, -1 };
-                dy = new int[] { -1, 1, 0, 0, -1, 1 };
-            }
-            case 3 -> {
-                dx = new int[] { -1, -1, -1, 0, 0, 1, 1, 1 };
-                dy = new int[] { -1, 0, 1, -1, 1, -1, 0, 1 };
-            }
-            case 4 -> {
-                dx = new int[] { -1, -1, 1, 1 };
-                dy = new int[] { -1, 1, -1, 1 };
-            }
-            case 5 -> {
-                dx = new int[] { -1, -1, 1, 1, -1, 1 };
-                dy = new int[] { -1, 1, -1, 1, 0, 0 };
-            }
-            default -> {
-                return 0;
-            }
-        }
+    /**
+     * Retorna se as bordas opostas da grade estão ligadas (toro).
+     *
+     * @return true no toro, false com bordas mortas.
+     */
+    @Override
+    public boolean isTorus() {
+        return torus;
+    }
 
-        for (int i = 0; i < dx.length; i++) {
-            int nx = x + dx[i];
-            int ny = y + dy[i];
-            if (nx >= 0 && nx < line && ny >= 0 && ny < column) {
-                if (grid[nx][ny].isAlive()) {
-                    neighbors++;
-                }
-            }
+    /**
+     * No toro, copia para as células fantasmas o estado das células da borda
+     * oposta, se alguma célula mudou desde a última cópia. As colunas são copiadas
+     * primeiro, para que as linhas fantasmas levem também os cantos.
+     */
+    private void refreshHalo() {
+        if (!haloStale) {
+            return;
         }
-
-        return neighbors;
+        for (int x = 1; x <= line; x++) {
+            Cell[] row = grid[x];
+            row[0].setAlive(row[column].isAlive());
+            row[column + 1].setAlive(row[1].isAlive());
+        }
+        for (int y = 0; y < column + 2; y++) {
+            grid[0][y].setAlive(grid[line][y].isAlive());
+            grid[line + 1][y].setAlive(grid[1][y].isAlive());
+        }
+        haloStale = false;
     }
 
     /**
@@ -150,10 +227,10 @@ public class Grid {
     }
 
     /**
-     * Atualiza o estado da grade conforme as regras do jogo Game of Life,
-     * utilizando o layout de vizinhança especificado.
+     * Atualiza o estado da grade conforme a regra definida por
+     * {@link #setRule(Rule)}, utilizando o layout de vizinhança especificado.
      * <p>
-     * As regras aplicadas são:
+     * Com a regra padrão (Conway, B3/S23), as regras aplicadas são:
      * <ul>
      * <li>Qualquer célula viva com menos de 2 vizinhos vivos morre (solidão).</li>
      * <li>Qualquer célula viva com 2 ou 3 vizinhos vivos sobrevive.</li>
@@ -175,32 +252,76 @@ public class Grid {
      *               </ul>
      */
     public void updateGrid(int layout) {
+        kernel = NeighborhoodKernel.forLayout(layout);
+        refreshHalo();
+
+        nextStates.run();
+
+        // Atualiza o estado das células para a próxima geração
+        updateStates.run();
+
+        long stepBirths = 0, stepDeaths = 0;
         for (int x = 0; x < line; x++) {
-            for (int y = 0; y < column; y++) {
-                int neighbors = getNeighbors(x, y, layout);
-                boolean isAlive = grid[x][y].isAlive();
-
-                if (isAlive && (neighbors < 2 || neighbors > 3)) {
-                    // Regra 1 e Regra 3: Solidão ou Superpopulação
-                    grid[x][y].setNextState(false);
-                } else if (isAlive && (neighbors == 2 || neighbors == 3)) {
-                    // Regra 2: Sobrevive
-                    grid[x][y].setNextState(true);
-                } else if (!isAlive && neighbors == 3) {
-                    // Regra 4: Reprodução
-                    grid[x][y].setNextState(true);
-                } else {
-                    // Permanece morta
-                    grid[x][y].setNextState(false);
-                }
+            stepBirths += rowBirths[x];
+            stepDeaths += rowDeaths[x];
+            stateHash ^= rowHash[x];
+        }
+        births += stepBirths;
+        deaths += stepDeaths;
+        if (population >= 0) {
+            population += stepBirths - stepDeaths;
+        }
+        haloStale = torus;
+    }
+
+    /**
+     * Calcula o próximo estado das células das linhas no intervalo
+     * {@code [from, to)}, sem alterar o estado atual de nenhuma célula.
+     *
+     * @param from A primeira linha do intervalo.
+     * @param to   A linha seguinte à última do intervalo.
+     */
+    private void computeNextStates(int from, int to) {
+        final Rule next = rule;
+        // As células fantasmas garantem que todos os vizinhos existem, inclusive na borda
+        for (int x = from + 1; x <= to; x++) {
+            Cell[] row = grid[x];
+            for (int y = 1; y <= column; y++) {
+                Cell cell = row[y];
+                // A tabela da regra substitui a cadeia de condições: nenhum desvio por célula
+                cell.setNextState(next.next(cell.isAlive(), kernel.count(grid, x, y)));
             }
         }
+    }
 
-        // Atualiza o estado das células para a próxima geração
-        for (int x = 0; x < line; x++) {
+    /**
+     * Copia o próximo estado para o estado atual nas linhas do intervalo
+     * {@code [from, to)}, contando os nascimentos e as mortes de cada linha e
+     * acumulando as chaves das células que mudaram para o hash de estado.
+     *
+     * @param from A primeira linha do intervalo.
+     * @param to   A linha seguinte à última do intervalo.
+     */
+    private void updateStates(int from, int to) {
+        for (int x = from; x < to; x++) {
+            long born = 0, died = 0, hash = 0;
+            Cell[] row = grid[x + 1];
             for (int y = 0; y < column; y++) {
-                grid[x][y].updateState();
+                Cell cell = row[y + 1];
+                boolean wasAlive = cell.isAlive();
+                cell.updateState();
+                if (wasAlive != cell.isAlive()) {
+                    hash ^= StateHash.cell(x, y);
+                    if (wasAlive) {
+                        died++;
+                    } else {
+                        born++;
+                    }
+                }
             }
+            rowBirths[x] = born;
+            rowDeaths[x] = died;
+            rowHash[x] = hash;
         }
     }
 
@@ -211,7 +332,7 @@ public class Grid {
     public void printGrid() {
         for (int x = 0; x < line; x++) {
             for (int y = 0; y < column; y++) {
-                System.out.print(grid[x][y].isAlive() ? "1 " : "0 ");
+                System.out.print(grid[x + 1][y + 1].isAlive() ? "1 " : "0 ");
             }
             System.out.println();
         }
@@ -243,7 +364,156 @@ public class Grid {
      * @return A célula na posição (x, y).
      */
     public Cell getCell(int x, int y) {
-        return grid[x][y];
+        return grid[x + 1][y + 1];
+    }
+
+    /**
+     * Congela a geração atual compactando as células em palavras de 64 bits, uma
+     * passada pela grade sem gravar nada; as coordenadas só são extraídas das
+     * palavras quando as células forem listadas.
+     *
+     * @return As células da geração atual.
+     */
+    @Override
+    public CellSource freezeCells() {
+        int rows = line;
+        int words = (column + 63) >>> 6;
+        long[] state = new long[rows * words];
+        for (int x = 0; x < rows; x++) {
+            for (int y = 0; y < column; y++) {
+                if (grid[x + 1][y + 1].isAlive()) {
+                    state[x * words + (y >>> 6)] |= 1L << y;
+                }
+            }
+        }
+        return sink -> {
+            CellBatch batch = new CellBatch(sink);
+            for (int x = 0; x < rows; x++) {
+                for (int w = 0; w < words; w++) {
+                    long word = state[x * words + w];
+                    while (word != 0) {
+                        batch.add(SparseGrid.pack(x, (w << 6) + Long.numberOfTrailingZeros(word)));
+                        word &= word - 1;
+                    }
+                }
+            }
+            batch.flush();
+        };
+    }
+
+    /**
+     * Verifica se a célula na posição especificada está viva. Posições fora da
+     * grade são consideradas mortas.
+     *
+     * @param x A coordenada da linha.
+     * @param y A coordenada da coluna.
+     * @return true se a célula estiver viva, false caso contrário.
+     */
+    public boolean isAlive(int x, int y) {
+        return x >= 0 && x < line && y >= 0 && y < column && grid[x + 1][y + 1].isAlive();
+    }
+
+    /**
+     * Define o estado atual da célula na posição especificada.
+     *
+     * @param x     A coordenada da linha.
+     * @param y     A coordenada da coluna.
+     * @param alive true para viva, false para morta.
+     */
+    public void setAlive(int x, int y, boolean alive) {
+        Objects.checkIndex(x, line);
+        Objects.checkIndex(y, column);
+        Cell cell = grid[x + 1][y + 1];
+        if (cell.isAlive() != alive) {
+            stateHash ^= StateHash.cell(x, y);
+            haloStale = torus;
+            if (population >= 0) {
+                population += alive ? 1 : -1;
+            }
+        }
+        cell.setAlive(alive);
+    }
+
+    /**
+     * Retorna o número de células vivas na geração atual. A contagem é mantida por
+     * {@link #updateGrid(int)} e {@link #setAlive(int, int, boolean)}; a grade só é
+     * percorrida depois de ser recarregada por inteiro.
+     *
+     * @return A população atual.
+     */
+    public long getPopulation() {
+        if (population < 0) {
+            long count = 0;
+            for (int x = 0; x < line; x++) {
+                for (int y = 0; y < column; y++) {
+                    if (grid[x + 1][y + 1].isAlive()) {
+                        count++;
+                    }
+                }
+            }
+            population = count;
+        }
+        return population;
+    }
+
+    /**
+     * Retorna o total de células que nasceram desde a criação da grade.
+     *
+     * @return O total de nascimentos.
+     */
+    public long getBirths() {
+        return births;
+    }
+
+    /**
+     * Retorna o total de células que morreram desde a criação da grade.
+     *
+     * @return O total de mortes.
+     */
+    public long getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * Retorna o hash de estado da geração atual, recalculado por completo apenas
+     * depois que a grade inteira é recarregada.
+     *
+     * @return O hash do estado atual.
+     */
+    @Override
+    public long getStateHash() {
+        if (!hashValid) {
+            long hash = 0;
+            for (int x = 0; x < line; x++) {
+                for (int y = 0; y < column; y++) {
+                    if (grid[x + 1][y + 1].isAlive()) {
+                        hash ^= StateHash.cell(x, y);
+                    }
+                }
+            }
+            stateHash = hash;
+            hashValid = true;
+        }
+        return stateHash;
+    }
+
+    /**
+     * Retorna uma cópia exata do estado atual, com uma célula por bit.
+     *
+     * @return Uma cópia do estado atual.
+     */
+    @Override
+    public long[] copyState() {
+        int words = (column + 63) >>> 6;
+        long[] state = new long[line * words];
+        for (int x = 0; x < line; x++) {
+            for (int y = 0; y < column; y++) {
+                if (grid[x + 1][y + 1].isAlive()) {
+                    state[x * words + (y >>> 6)] |= 1L << y;
+                }
+            }
+        }
+        return state;
     }
 
     public void setLine(int line) {
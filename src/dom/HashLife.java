@@ -0,0 +1,687 @@
+package dom;
+
+import java.io.IOException;
+
+/**
+ * Motor de simulação HashLife, indicado para execuções muito longas e padrões grandes.
+ * <p>
+ * O universo é uma quadtree cujos nós são canônicos: dois quadrantes com o mesmo conteúdo são sempre o
+ * mesmo objeto, guardado em uma tabela hash. Cada nó de nível {@code k} (um quadrado de {@code 2^k}
+ * células) memoriza o seu resultado, o quadrado central de nível {@code k - 1} avançado no tempo, de
+ * modo que regiões repetidas no espaço ou no tempo são calculadas uma única vez. Isso permite saltar
+ * {@code 2^j} gerações em um único passo com {@link #advance(int, long)}.
+ * </p>
+ * <p>
+ * Diferente de {@link Grid}, o universo não tem bordas: as dimensões informadas no construtor definem
+ * apenas a janela usada para carregar o padrão inicial e para exibir a grade. A tabela de nós respeita um
+ * limite de memória; ao ultrapassá-lo, os nós que não fazem mais parte do universo atual são descartados
+ * entre um passo e outro.
+ * </p>
+ */
+public class HashLife implements LifeEngine {
+    /**
+     * Estimativa do espaço ocupado por um nó na tabela, incluindo a entrada no vetor de buckets.
+     */
+    private static final int BYTES_PER_NODE = 64;
+    private static final int MAX_LEVEL = 62;
+
+    private static final Node DEAD = new Node(0, 0);
+    private static final Node ALIVE = new Node(1, 1);
+
+    private final int line, column;
+    private final long maxNodes;
+    private Node[] table = new Node[1 << 16];
+    private int size;
+    private int nextId = 2;
+    private int epoch;
+    private final Node[] empty = new Node[MAX_LEVEL + 1];
+    private Node root;
+
+    private int memoLayout = -1;
+    private byte[] baseTable;
+    private Rule rule = Rule.CONWAY;
+    private int stepLog;
+
+    /**
+     * Constrói um universo vazio, exibido por uma janela com as dimensões especificadas.
+     *
+     * @param line          Número de linhas da janela.
+     * @param column        Número de colunas da janela.
+     * @param memoryLimitMb Limite aproximado de memória da tabela de nós, em megabytes.
+     */
+    public HashLife(int line, int column, int memoryLimitMb) {
+        this.line = line;
+        this.column = column;
+        this.maxNodes = Math.max(1L << 16, (long) memoryLimitMb * 1024 * 1024 / BYTES_PER_NODE);
+        this.root = emptyNode(3);
+    }
+
+    /**
+     * Define a regra de nascimento e sobrevivência das próximas gerações. Os resultados memorizados
+     * dependem da regra e são descartados.
+     *
+     * @param rule A regra, sem nascimento com 0 vizinhos.
+     * @throws IllegalArgumentException se a regra tiver {@code B0}, que acenderia o universo infinito.
+     */
+    public void setRule(Rule rule) {
+        if (rule.isBornAlone()) {
+            throw new IllegalArgumentException("Rules with B0 need a bounded universe: " + rule);
+        }
+        if (!rule.equals(this.rule)) {
+            this.rule = rule;
+            memoLayout = -1;
+        }
+    }
+
+    /**
+     * Retorna a regra de nascimento e sobrevivência das próximas gerações.
+     *
+     * @return A regra.
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Inicializa o universo com um padrão fornecido como uma string, centralizado na janela, com as mesmas
+     * regras de {@link Grid#initializeGrid(String)}.
+     *
+     * @param pattern String representando o padrão inicial da grade.
+     */
+    public void initializeGrid(String pattern) {
+        String[] rows = pattern.split("#");
+
+        if (rows.length > line || rows[0].length() > column) {
+            System.out.println("Error: The pattern is larger than the grid size.");
+            return;
+        }
+
+        int startRow = Math.max(0, (line - rows.length) / 2);
+        int startCol = Math.max(0, (column - rows[0].length()) / 2);
+
+        for (int i = 0; i < rows.length; i++) {
+            String row = rows[i];
+            for (int j = 0; j < row.length(); j++) {
+                setAlive(startRow + i, startCol + j, row.charAt(j) == '1');
+            }
+        }
+    }
+
+    /**
+     * Avança o universo uma geração.
+     *
+     * @param layout O tipo de layout de vizinhança (1 a 5).
+     */
+    public void updateGrid(int layout) {
+        advance(layout, 1);
+    }
+
+    /**
+     * Avança o universo o número de gerações informado, decompondo-o em saltos de {@code 2^j} gerações.
+     * Cada salto custa aproximadamente o mesmo que uma única geração quando o padrão se repete.
+     *
+     * @param layout      O tipo de layout de vizinhança (1 a 5).
+     * @param generations O número de gerações a avançar.
+     */
+    public void advance(int layout, long generations) {
+        prepareLayout(layout);
+        for (int j = 0; generations != 0; j++, generations >>>= 1) {
+            if ((generations & 1) != 0) {
+                step(j);
+            }
+        }
+    }
+
+    /**
+     * Avança o universo {@code 2^j} gerações com um único cálculo sobre a raiz.
+     */
+    private void step(int j) {
+        if (size > maxNodes) {
+            collect();
+        }
+        while (root.level < j + 3 || root.population != centerOfCenter(root).population) {
+            expand();
+        }
+        stepLog = j;
+        root = successor(root);
+    }
+
+    /**
+     * Retorna o número de células vivas em todo o universo.
+     *
+     * @return A população atual.
+     */
+    public long getPopulation() {
+        return root.population;
+    }
+
+    /**
+     * Entrega as coordenadas de todas as células vivas, descendo apenas pelos nós com população. A
+     * população pode passar do limite de um vetor; só as coordenadas precisam caber em {@code int}.
+     *
+     * @param sink Quem recebe os lotes.
+     * @throws IOException                   se {@code sink} falhar.
+     * @throws UnsupportedOperationException se alguma célula viva estiver fora das coordenadas de
+     *                                       {@code int}.
+     */
+    public void liveCells(CellSink sink) throws IOException {
+        liveCells(root, sink);
+    }
+
+    /**
+     * Congela a geração atual guardando só a raiz: os nós nunca mudam depois de criados, então a árvore
+     * da geração continua inteira enquanto for referenciada, mesmo que a tabela a descarte.
+     *
+     * @return As células da geração atual.
+     */
+    @Override
+    public CellSource freezeCells() {
+        Node frozen = root;
+        return sink -> liveCells(frozen, sink);
+    }
+
+    private static void liveCells(Node root, CellSink sink) throws IOException {
+        CellBatch batch = new CellBatch(sink);
+        long half = 1L << (root.level - 1);
+        collect(root, -half, -half, batch);
+        batch.flush();
+    }
+
+    private static void collect(Node node, long x, long y, CellBatch batch) throws IOException {
+        if (node.population == 0) {
+            return;
+        }
+        if (node.level == 0) {
+            if (x < Integer.MIN_VALUE || x > Integer.MAX_VALUE || y < Integer.MIN_VALUE || y > Integer.MAX_VALUE) {
+                throw new UnsupportedOperationException("Live cell outside the int coordinate range");
+            }
+            batch.add(SparseGrid.pack((int) x, (int) y));
+            return;
+        }
+        long mid = 1L << (node.level - 1);
+        collect(node.nw, x, y, batch);
+        collect(node.ne, x, y + mid, batch);
+        collect(node.sw, x + mid, y, batch);
+        collect(node.se, x + mid, y + mid, batch);
+    }
+
+    /**
+     * Indica que o universo não tem bordas: ele cresce conforme o padrão se expande.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean isBounded() {
+        return false;
+    }
+
+    /**
+     * Retorna a quantidade de nós canônicos guardados na tabela.
+     *
+     * @return O número de nós em memória.
+     */
+    public int getNodeCount() {
+        return size;
+    }
+
+    /**
+     * Verifica se a célula na posição especificada está viva.
+     *
+     * @param x A coordenada da linha.
+     * @param y A coordenada da coluna.
+     * @return true se a célula estiver viva, false caso contrário.
+     */
+    public boolean isAlive(int x, int y) {
+        long half = 1L << (root.level - 1);
+        long ux = x + half;
+        long uy = y + half;
+        if (ux < 0 || uy < 0 || ux >= 2 * half || uy >= 2 * half) {
+            return false;
+        }
+        Node node = root;
+        while (node.level > 0 && node.population > 0) {
+            long mid = 1L << (node.level - 1);
+            if (ux < mid) {
+                node = uy < mid ? node.nw : node.ne;
+            } else {
+                node = uy < mid ? node.sw : node.se;
+                ux -= mid;
+            }
+            if (uy >= mid) {
+                uy -= mid;
+            }
+        }
+        return node == ALIVE;
+    }
+
+    /**
+     * Define o estado atual da célula na posição especificada, expandindo o universo se necessário.
+     *
+     * @param x     A coordenada da linha.
+     * @param y     A coordenada da coluna.
+     * @param alive true para viva, false para morta.
+     */
+    public void setAlive(int x, int y, boolean alive) {
+        // Cada alteração deixa para trás os nós do caminho antigo; cargas grandes precisam descartá-los
+        if (size > maxNodes) {
+            collect();
+        }
+        while (true) {
+            long half = 1L << (root.level - 1);
+            if (x >= -half && x < half && y >= -half && y < half) {
+                root = set(root, x + half, y + half, alive ? ALIVE : DEAD);
+                return;
+            }
+            expand();
+        }
+    }
+
+    /**
+     * Marca as células informadas como vivas construindo, de uma vez, a subárvore que as contém e unindo-a
+     * à raiz. Cada nó é criado uma única vez, em vez de um caminho inteiro por célula como em
+     * {@link #setAlive(int, int, boolean)}.
+     *
+     * @param cells As células a marcar; o vetor é reordenado.
+     * @param count Quantas posições do vetor são válidas.
+     */
+    public void setAliveAll(long[] cells, int count) {
+        if (count == 0) {
+            return;
+        }
+        if (size > maxNodes) {
+            collect();
+        }
+        long minX = Long.MAX_VALUE, maxX = Long.MIN_VALUE, minY = Long.MAX_VALUE, maxY = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, SparseGrid.row(cells[i]));
+            maxX = Math.max(maxX, SparseGrid.row(cells[i]));
+            minY = Math.min(minY, SparseGrid.column(cells[i]));
+            maxY = Math.max(maxY, SparseGrid.column(cells[i]));
+        }
+        long half = 1L << (root.level - 1);
+        while (minX < -half || maxX >= half || minY < -half || maxY >= half) {
+            expand();
+            half = 1L << (root.level - 1);
+        }
+        root = union(root, build(root.level, -half, -half, cells, 0, count));
+    }
+
+    /**
+     * Constrói o nó de nível {@code level} com canto em ({@code x}, {@code y}) que contém as células
+     * {@code cells[from..to)}, separando-as por quadrante no próprio vetor.
+     */
+    private Node build(int level, long x, long y, long[] cells, int from, int to) {
+        if (from == to) {
+            return emptyNode(level);
+        }
+        if (level == 0) {
+            return ALIVE;
+        }
+        long midX = x + (1L << (level - 1));
+        long midY = y + (1L << (level - 1));
+        int south = partition(cells, from, to, true, midX);
+        int northEast = partition(cells, from, south, false, midY);
+        int southEast = partition(cells, south, to, false, midY);
+        return join(build(level - 1, x, y, cells, from, northEast),
+                build(level - 1, x, midY, cells, northEast, south),
+                build(level - 1, midX, y, cells, south, southEast),
+                build(level - 1, midX, midY, cells, southEast, to));
+    }
+
+    /**
+     * Reordena {@code cells[from..to)} deixando antes as células com linha (ou coluna) menor que o limite
+     * e retorna a posição da primeira que não é.
+     */
+    private static int partition(long[] cells, int from, int to, boolean byRow, long limit) {
+        int i = from, j = to - 1;
+        while (i <= j) {
+            long cell = cells[i];
+            if ((byRow ? SparseGrid.row(cell) : SparseGrid.column(cell)) < limit) {
+                i++;
+            } else {
+                cells[i] = cells[j];
+                cells[j--] = cell;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Retorna o nó com as células vivas de qualquer um dos dois nós, do mesmo nível.
+     */
+    private Node union(Node a, Node b) {
+        if (a == b || b.population == 0) {
+            return a;
+        }
+        if (a.population == 0 || a.level == 0) {
+            return b;
+        }
+        return join(union(a.nw, b.nw), union(a.ne, b.ne), union(a.sw, b.sw), union(a.se, b.se));
+    }
+
+    private Node set(Node node, long x, long y, Node leaf) {
+        if (node.level == 0) {
+            return leaf;
+        }
+        long mid = 1L << (node.level - 1);
+        if (x < mid) {
+            return y < mid
+                    ? join(set(node.nw, x, y, leaf), node.ne, node.sw, node.se)
+                    : join(node.nw, set(node.ne, x, y - mid, leaf), node.sw, node.se);
+        }
+        return y < mid
+                ? join(node.nw, node.ne, set(node.sw, x - mid, y, leaf), node.se)
+                : join(node.nw, node.ne, node.sw, set(node.se, x - mid, y - mid, leaf));
+    }
+
+    /**
+     * Exibe a janela no console, representando as células vivas com "1"
+     * e as células mortas com "0".
+     */
+    public void printGrid() {
+        for (int x = 0; x < line; x++) {
+            for (int y = 0; y < column; y++) {
+                System.out.print(isAlive(x, y) ? "1 " : "0 ");
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Retorna o número de linhas da janela.
+     *
+     * @return O número de linhas.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Retorna o número de colunas da janela.
+     *
+     * @return O número de colunas.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Quadtree
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Dobra o tamanho da raiz, mantendo o conteúdo atual no centro.
+     */
+    private void expand() {
+        if (root.level >= MAX_LEVEL) {
+            throw new IllegalStateException("HashLife universe exceeded level " + MAX_LEVEL);
+        }
+        Node e = emptyNode(root.level - 1);
+        root = join(join(e, e, e, root.nw), join(e, e, root.ne, e),
+                join(e, root.sw, e, e), join(root.se, e, e, e));
+    }
+
+    private Node emptyNode(int level) {
+        Node node = empty[level];
+        if (node == null) {
+            node = level == 0 ? DEAD : join(emptyNode(level - 1), emptyNode(level - 1),
+                    emptyNode(level - 1), emptyNode(level - 1));
+            empty[level] = node;
+        }
+        return node;
+    }
+
+    /**
+     * Retorna o quadrado central, com metade do lado, de um nó de nível 2 ou mais.
+     */
+    private Node center(Node n) {
+        return join(n.nw.se, n.ne.sw, n.sw.ne, n.se.nw);
+    }
+
+    private Node centerOfCenter(Node n) {
+        return join(n.nw.se.se, n.ne.sw.sw, n.sw.ne.ne, n.se.nw.nw);
+    }
+
+    /**
+     * Retorna o nó canônico com os quatro quadrantes informados, criando-o se ainda não existir.
+     */
+    private Node join(Node nw, Node ne, Node sw, Node se) {
+        int hash = hash(nw.id, ne.id, sw.id, se.id);
+        int index = hash & (table.length - 1);
+        for (Node n = table[index]; n != null; n = n.next) {
+            if (n.nw == nw && n.ne == ne && n.sw == sw && n.se == se) {
+                return n;
+            }
+        }
+        Node node = new Node(nw, ne, sw, se, nextId++, hash);
+        insert(node);
+        return node;
+    }
+
+    private void insert(Node node) {
+        if (size >= table.length - (table.length >>> 2)) {
+            resize();
+        }
+        int index = node.hash & (table.length - 1);
+        node.next = table[index];
+        table[index] = node;
+        size++;
+    }
+
+    private void resize() {
+        Node[] old = table;
+        table = new Node[old.length << 1];
+        for (Node head : old) {
+            for (Node n = head; n != null;) {
+                Node following = n.next;
+                int index = n.hash & (table.length - 1);
+                n.next = table[index];
+                table[index] = n;
+                n = following;
+            }
+        }
+    }
+
+    private static int hash(int a, int b, int c, int d) {
+        int h = a * 0x9E3779B1;
+        h = (h ^ b) * 0x85EBCA6B;
+        h = (h ^ c) * 0xC2B2AE35;
+        h = (h ^ d) * 0x27D4EB2F;
+        return h ^ (h >>> 15);
+    }
+
+    /**
+     * Descarta da tabela todos os nós que não são alcançáveis a partir da raiz. Os resultados memorizados
+     * são mantidos apenas quando apontam para nós que também sobreviveram.
+     */
+    private void collect() {
+        Node[] old = table;
+        table = new Node[old.length];
+        size = 0;
+        epoch++;
+        java.util.Arrays.fill(empty, null);
+
+        mark(root);
+        for (Node head : table) {
+            for (Node n = head; n != null; n = n.next) {
+                if (n.result != null && n.result.mark != epoch) {
+                    n.result = null;
+                }
+            }
+        }
+    }
+
+    private void mark(Node node) {
+        if (node.level == 0 || node.mark == epoch) {
+            return;
+        }
+        node.mark = epoch;
+        mark(node.nw);
+        mark(node.ne);
+        mark(node.sw);
+        mark(node.se);
+        insert(node);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Evolução
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Prepara a tabela do caso base para o layout e descarta os resultados memorizados quando o layout
+     * ou a regra mudam, já que eles dependem da vizinhança e da regra usadas.
+     */
+    private void prepareLayout(int layout) {
+        if (layout == memoLayout) {
+            return;
+        }
+        memoLayout = layout;
+        baseTable = buildBaseTable(NeighborhoodKernel.forLayout(layout), rule);
+        for (Node head : table) {
+            for (Node n = head; n != null; n = n.next) {
+                n.result = null;
+            }
+        }
+    }
+
+    /**
+     * Pré-calcula, para cada um dos 65536 quadrados 4x4 possíveis, os quatro bits do quadrado central 2x2
+     * após uma geração. O bit {@code r * 4 + c} do índice é a célula da linha {@code r}, coluna {@code c}.
+     */
+    private static byte[] buildBaseTable(NeighborhoodKernel kernel, Rule rule) {
+        byte[] result = new byte[1 << 16];
+        for (int cells = 0; cells < result.length; cells++) {
+            int out = 0;
+            for (int k = 0; k < 4; k++) {
+                int r = 1 + (k >> 1);
+                int c = 1 + (k & 1);
+                int neighbors = 0;
+                for (int dr = -1; dr <= 1; dr++) {
+                    for (int dc = -1; dc <= 1; dc++) {
+                        if ((dr != 0 || dc != 0) && kernel.includes(dr, dc)
+                                && (cells & (1 << ((r + dr) * 4 + c + dc))) != 0) {
+                            neighbors++;
+                        }
+                    }
+                }
+                boolean alive = (cells & (1 << (r * 4 + c))) != 0;
+                if (rule.next(alive, neighbors)) {
+                    out |= 1 << k;
+                }
+            }
+            result[cells] = (byte) out;
+        }
+        return result;
+    }
+
+    /**
+     * Retorna o quadrado central de um nó de nível {@code k >= 2} avançado {@code 2^min(k - 2, stepLog)}
+     * gerações.
+     */
+    private Node successor(Node n) {
+        int effective = Math.min(n.level - 2, stepLog);
+        if (n.result != null && n.resultLog == effective) {
+            return n.result;
+        }
+
+        Node result;
+        if (n.population == 0) {
+            result = n.nw;
+        } else if (n.level == 2) {
+            result = baseCase(n);
+        } else {
+            Node n00 = n.nw;
+            Node n01 = join(n.nw.ne, n.ne.nw, n.nw.se, n.ne.sw);
+            Node n02 = n.ne;
+            Node n10 = join(n.nw.sw, n.nw.se, n.sw.nw, n.sw.ne);
+            Node n11 = join(n.nw.se, n.ne.sw, n.sw.ne, n.se.nw);
+            Node n12 = join(n.ne.sw, n.ne.se, n.se.nw, n.se.ne);
+            Node n20 = n.sw;
+            Node n21 = join(n.sw.ne, n.se.nw, n.sw.se, n.se.sw);
+            Node n22 = n.se;
+
+            if (effective == n.level - 2) {
+                // Velocidade máxima: duas metades de 2^(k-3) gerações cada
+                n00 = successor(n00);
+                n01 = successor(n01);
+                n02 = successor(n02);
+                n10 = successor(n10);
+                n11 = successor(n11);
+                n12 = successor(n12);
+                n20 = successor(n20);
+                n21 = successor(n21);
+                n22 = successor(n22);
+            } else {
+                // Passo menor: recorta os centros sem avançar e só avança na segunda etapa
+                n00 = center(n00);
+                n01 = center(n01);
+                n02 = center(n02);
+                n10 = center(n10);
+                n11 = center(n11);
+                n12 = center(n12);
+                n20 = center(n20);
+                n21 = center(n21);
+                n22 = center(n22);
+            }
+
+            result = join(successor(join(n00, n01, n10, n11)), successor(join(n01, n02, n11, n12)),
+                    successor(join(n10, n11, n20, n21)), successor(join(n11, n12, n21, n22)));
+        }
+
+        n.result = result;
+        n.resultLog = effective;
+        return result;
+    }
+
+    private Node baseCase(Node n) {
+        int cells = bit(n.nw.nw, 0) | bit(n.nw.ne, 1) | bit(n.ne.nw, 2) | bit(n.ne.ne, 3)
+                | bit(n.nw.sw, 4) | bit(n.nw.se, 5) | bit(n.ne.sw, 6) | bit(n.ne.se, 7)
+                | bit(n.sw.nw, 8) | bit(n.sw.ne, 9) | bit(n.se.nw, 10) | bit(n.se.ne, 11)
+                | bit(n.sw.sw, 12) | bit(n.sw.se, 13) | bit(n.se.sw, 14) | bit(n.se.se, 15);
+        int out = baseTable[cells];
+        return join(leaf(out, 0), leaf(out, 1), leaf(out, 2), leaf(out, 3));
+    }
+
+    private static int bit(Node leaf, int position) {
+        return leaf == ALIVE ? 1 << position : 0;
+    }
+
+    private static Node leaf(int bits, int position) {
+        return (bits & (1 << position)) != 0 ? ALIVE : DEAD;
+    }
+
+    /**
+     * Nó da quadtree. Nós de nível 0 são as duas folhas {@code ALIVE} e {@code DEAD}; os demais são
+     * sempre obtidos por {@link #join(Node, Node, Node, Node)} e, portanto, canônicos.
+     */
+    private static final class Node {
+        final Node nw, ne, sw, se;
+        final int level;
+        final long population;
+        final int id;
+        final int hash;
+        Node result;
+        int resultLog;
+        int mark;
+        Node next;
+
+        Node(int id, long population) {
+            this.nw = this.ne = this.sw = this.se = null;
+            this.level = 0;
+            this.population = population;
+            this.id = id;
+            this.hash = id;
+        }
+
+        Node(Node nw, Node ne, Node sw, Node se, int id, int hash) {
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            this.level = nw.level + 1;
+            this.population = nw.population + ne.population + sw.population + se.population;
+            this.id = id;
+            this.hash = hash;
+        }
+    }
+}
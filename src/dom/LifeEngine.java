@@ -0,0 +1,328 @@
+package dom;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Contrato comum dos motores de simulação do Game of Life. Um motor guarda o estado das células de uma
+ * grade e sabe avançar esse estado uma geração por vez, seguindo o layout de vizinhança escolhido.
+ * <p>
+ * O {@code GameOfLifeRunner} e o {@code SwingRenderer} conversam apenas com esta interface, de forma que
+ * a implementação original baseada em objetos ({@link Grid}) e as implementações otimizadas (como
+ * {@link BitGrid}) possam ser trocadas livremente pela configuração.
+ * </p>
+ */
+public interface LifeEngine {
+
+    /**
+     * Recebe as células vivas listadas por {@link #liveCells(CellSink)}, em lotes. O vetor é reaproveitado
+     * entre os lotes e o seu conteúdo pode ser alterado por quem o recebe.
+     */
+    @FunctionalInterface
+    interface CellSink {
+        void cells(long[] cells, int count) throws IOException;
+    }
+
+    /**
+     * Células vivas de uma geração congelada por {@link #freezeCells()}. Podem ser lidas por outra thread
+     * enquanto o motor continua avançando, e devem ser fechadas depois de lidas ou se não forem lidas.
+     */
+    @FunctionalInterface
+    interface CellSource extends AutoCloseable {
+        /**
+         * Entrega as células congeladas a {@code sink}, em lotes, como {@link LifeEngine#liveCells(CellSink)}.
+         * Só pode ser chamado uma vez.
+         *
+         * @param sink Quem recebe os lotes.
+         * @throws IOException se {@code sink} falhar ou as células não puderem ser lidas.
+         */
+        void liveCells(CellSink sink) throws IOException;
+
+        /**
+         * Libera a cópia das células. A implementação padrão não faz nada.
+         */
+        @Override
+        default void close() {
+        }
+    }
+
+    /**
+     * Inicializa a grade com um padrão fornecido como uma string, no mesmo formato aceito por
+     * {@link Grid#initializeGrid(String)} ('1' viva, '0' morta, linhas separadas por '#').
+     *
+     * @param pattern String representando o padrão inicial da grade.
+     */
+    void initializeGrid(String pattern);
+
+    /**
+     * Gera uma população inicial aleatória na grade, com uma semente sorteada. Cada célula tem 50% de
+     * chance de iniciar viva.
+     */
+    default void generateRandomPopulation() {
+        generateRandomPopulation(new SplittableRandom().nextLong(), 0.5);
+    }
+
+    /**
+     * Gera uma população inicial aleatória que depende só da semente e da densidade, e não do número de
+     * threads ({@link RandomFill}). A implementação padrão entrega as células vivas em lotes a
+     * {@link #setAliveAll(long[], int)}; os motores em bits escrevem as palavras sorteadas direto no seu
+     * armazenamento, em paralelo.
+     *
+     * @param seed    A semente.
+     * @param density A chance de cada célula iniciar viva, de 0 a 1.
+     */
+    default void generateRandomPopulation(long seed, double density) {
+        long[] batch = new long[Math.max(getColumn(), 1 << 16)];
+        int[] batched = new int[1];
+        new RandomFill(seed, density).fill(getLine(), getColumn(), null, (x, words) -> {
+            if (batched[0] + getColumn() > batch.length) {
+                setAliveAll(batch, batched[0]);
+                batched[0] = 0;
+            }
+            for (int w = 0; w < words.length; w++) {
+                for (long bits = words[w]; bits != 0; bits &= bits - 1) {
+                    batch[batched[0]++] = SparseGrid.pack(x, (w << 6) + Long.numberOfTrailingZeros(bits));
+                }
+            }
+        });
+        setAliveAll(batch, batched[0]);
+    }
+
+    /**
+     * Avança a grade uma geração, aplicando as regras do jogo com o layout de vizinhança especificado.
+     *
+     * @param layout O tipo de layout de vizinhança (1 a 5).
+     */
+    void updateGrid(int layout);
+
+    /**
+     * Avança a grade o número de gerações informado. A implementação padrão chama
+     * {@link #updateGrid(int)} uma vez por geração; motores capazes de saltar várias gerações de uma vez
+     * sobrescrevem este método.
+     *
+     * @param layout      O tipo de layout de vizinhança (1 a 5).
+     * @param generations O número de gerações a avançar.
+     */
+    default void advance(int layout, long generations) {
+        for (long i = 0; i < generations; i++) {
+            updateGrid(layout);
+        }
+    }
+
+    /**
+     * Define quantas threads o motor pode usar para calcular cada geração. O valor 1 mantém o cálculo na
+     * thread que chama {@link #updateGrid(int)}. Motores que não calculam em paralelo ignoram o valor.
+     *
+     * @param threads O número de threads (1 ou mais).
+     */
+    default void setParallelism(int threads) {
+    }
+
+    /**
+     * Define a regra de nascimento e sobrevivência usada nas próximas gerações. Todos os motores começam
+     * com a regra de Conway ({@link Rule#CONWAY}).
+     *
+     * @param rule A regra.
+     * @throws IllegalArgumentException se o motor não puder usar a regra, como uma regra com nascimento
+     *                                  sem vizinhos ({@code B0}) em um universo sem bordas.
+     */
+    void setRule(Rule rule);
+
+    /**
+     * Retorna a regra usada nas próximas gerações.
+     *
+     * @return A regra definida por {@link #setRule(Rule)}, ou {@link Rule#CONWAY}.
+     */
+    Rule getRule();
+
+    /**
+     * Verifica se a célula na posição informada está viva. Posições fora da grade são consideradas mortas.
+     *
+     * @param x A coordenada da linha.
+     * @param y A coordenada da coluna.
+     * @return true se a célula estiver viva, false caso contrário.
+     */
+    boolean isAlive(int x, int y);
+
+    /**
+     * Define o estado atual da célula na posição informada.
+     *
+     * @param x     A coordenada da linha.
+     * @param y     A coordenada da coluna.
+     * @param alive true para viva, false para morta.
+     */
+    void setAlive(int x, int y, boolean alive);
+
+    /**
+     * Copia para o frame a região do universo que começa na origem informada e tem as dimensões do
+     * frame. Posições fora da grade aparecem mortas. A implementação padrão consulta
+     * {@link #isAlive(int, int)} célula por célula; motores com representação compacta copiam palavras
+     * inteiras.
+     *
+     * @param frame     O frame a ser preenchido.
+     * @param originRow A linha do universo correspondente à linha 0 do frame.
+     * @param originCol A coluna do universo correspondente à coluna 0 do frame.
+     */
+    default void snapshot(Frame frame, int originRow, int originCol) {
+        frame.reset(originRow, originCol);
+        for (int i = 0; i < frame.getLine(); i++) {
+            for (int j = 0; j < frame.getColumn(); j++) {
+                if (isAlive(originRow + i, originCol + j)) {
+                    frame.setAlive(i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marca como vivas as células informadas, compactadas como em {@link #liveCells(CellSink)}. É usado para
+     * carregar padrões e checkpoints grandes; a implementação padrão chama
+     * {@link #setAlive(int, int, boolean)} para cada célula, e motores em que alterações isoladas custam
+     * caro sobrescrevem o método. O conteúdo do vetor pode ser reordenado.
+     *
+     * @param cells As células a marcar.
+     * @param count Quantas posições do vetor, a partir do início, são válidas.
+     */
+    default void setAliveAll(long[] cells, int count) {
+        for (int i = 0; i < count; i++) {
+            setAlive(SparseGrid.row(cells[i]), SparseGrid.column(cells[i]), true);
+        }
+    }
+
+    /**
+     * Entrega as coordenadas de todas as células vivas a {@code sink}, em lotes de tamanho fixo e em
+     * qualquer ordem, cada uma compactada em um {@code long} com a linha nos 32 bits altos e a coluna nos
+     * 32 bits baixos. É usado para gravar checkpoints ({@link Checkpoint}) e usa memória constante, então
+     * funciona com populações maiores que o heap. A implementação padrão percorre a grade com
+     * {@link #isAlive(int, int)}; motores sem bordas ou compactados sobrescrevem o método.
+     *
+     * @param sink Quem recebe os lotes.
+     * @throws IOException se {@code sink} falhar.
+     */
+    default void liveCells(CellSink sink) throws IOException {
+        CellBatch batch = new CellBatch(sink);
+        for (int x = 0; x < getLine(); x++) {
+            for (int y = 0; y < getColumn(); y++) {
+                if (isAlive(x, y)) {
+                    batch.add(SparseGrid.pack(x, y));
+                }
+            }
+        }
+        batch.flush();
+    }
+
+    /**
+     * Congela as células vivas da geração atual para que sejam listadas depois, em outra thread, sem parar
+     * a simulação. Deve ser chamado pela thread da simulação, entre duas gerações, e custa só uma cópia
+     * barata do estado. A implementação padrão copia as células listadas por {@link #liveCells(CellSink)};
+     * os motores sobrescrevem o método com uma cópia das suas próprias estruturas.
+     *
+     * @return As células da geração atual.
+     */
+    default CellSource freezeCells() {
+        List<long[]> batches = new ArrayList<>();
+        try {
+            liveCells((cells, count) -> batches.add(Arrays.copyOf(cells, count)));
+        } catch (IOException e) {
+            // O destinatário só copia os lotes e nunca falha
+            throw new UncheckedIOException(e);
+        }
+        return sink -> {
+            for (long[] cells : batches) {
+                sink.cells(cells, cells.length);
+            }
+        };
+    }
+
+    /**
+     * Retorna o número de células vivas na geração atual.
+     *
+     * @return A população atual.
+     */
+    long getPopulation();
+
+    /**
+     * Retorna o total de células que nasceram desde a criação do motor, somando todas as gerações
+     * calculadas. Mudanças feitas por {@link #setAlive(int, int, boolean)} ou pela carga da população
+     * inicial não contam. Motores que não acompanham nascimentos, como os que saltam várias gerações de
+     * uma vez, retornam -1.
+     *
+     * @return O total de nascimentos, ou -1 se o motor não os acompanha.
+     */
+    default long getBirths() {
+        return -1;
+    }
+
+    /**
+     * Retorna o total de células que morreram desde a criação do motor, com as mesmas regras de
+     * {@link #getBirths()}.
+     *
+     * @return O total de mortes, ou -1 se o motor não as acompanha.
+     */
+    default long getDeaths() {
+        return -1;
+    }
+
+    /**
+     * Exibe a grade no console, representando as células vivas com "1" e as células mortas com "0".
+     */
+    void printGrid();
+
+    /**
+     * Retorna o número de linhas da grade.
+     *
+     * @return O número de linhas.
+     */
+    int getLine();
+
+    /**
+     * Retorna o número de colunas da grade.
+     *
+     * @return O número de colunas.
+     */
+    int getColumn();
+
+    /**
+     * Indica se o universo do motor tem bordas. Motores com bordas só aceitam células entre 0 e
+     * {@link #getUniverseLines()} - 1 e entre 0 e {@link #getUniverseColumns()} - 1; os sem bordas aceitam
+     * qualquer coordenada {@code int}.
+     *
+     * @return true se o universo tiver bordas.
+     */
+    default boolean isBounded() {
+        return true;
+    }
+
+    /**
+     * Indica se as bordas opostas do universo estão ligadas (toro). Só os motores com bordas fixas na
+     * grade ({@link Grid}, {@link BitGrid}) podem ser toroidais; os demais têm bordas mortas ou não têm
+     * bordas.
+     *
+     * @return true no toro.
+     */
+    default boolean isTorus() {
+        return false;
+    }
+
+    /**
+     * Retorna o número de linhas do universo, que para a maioria dos motores com bordas é o da grade.
+     *
+     * @return O número de linhas do universo.
+     */
+    default int getUniverseLines() {
+        return getLine();
+    }
+
+    /**
+     * Retorna o número de colunas do universo, que para a maioria dos motores com bordas é o da grade.
+     *
+     * @return O número de colunas do universo.
+     */
+    default int getUniverseColumns() {
+        return getColumn();
+    }
+}
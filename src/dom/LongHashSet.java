@@ -0,0 +1,142 @@
+package dom;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de valores {@code long} com endereçamento aberto e sondagem linear, sem objetos por elemento.
+ * É usado pelo {@link SparseGrid} para guardar as coordenadas das células vivas compactadas em um único
+ * {@code long} (linha nos 32 bits altos, coluna nos 32 bits baixos).
+ * <p>
+ * O valor {@link #EMPTY} marca posições livres e, por isso, não pode ser guardado no conjunto.
+ * </p>
+ */
+final class LongHashSet {
+    static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int size;
+    private int mask;
+
+    LongHashSet() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Adiciona o valor ao conjunto.
+     *
+     * @param key O valor a adicionar.
+     * @return true se o valor ainda não estava no conjunto.
+     */
+    boolean add(long key) {
+        int i = index(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        if (++size > (keys.length >>> 1)) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se o valor está no conjunto.
+     *
+     * @param key O valor procurado.
+     * @return true se o valor estiver no conjunto.
+     */
+    boolean contains(long key) {
+        int i = index(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Remove o valor do conjunto, reposicionando os elementos seguintes do mesmo agrupamento.
+     *
+     * @param key O valor a remover.
+     * @return true se o valor estava no conjunto.
+     */
+    boolean remove(long key) {
+        int i = index(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                keys[i] = EMPTY;
+                size--;
+                for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                    long moved = keys[j];
+                    keys[j] = EMPTY;
+                    size--;
+                    add(moved);
+                }
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Esvazia o conjunto. A capacidade é reduzida quando está muito acima do tamanho atual, para que o
+     * custo de limpar e percorrer o conjunto continue proporcional à população.
+     */
+    void clear() {
+        if (keys.length > MIN_CAPACITY && size < (keys.length >>> 3)) {
+            allocate(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size) * 4)));
+        } else {
+            Arrays.fill(keys, EMPTY);
+        }
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Retorna a tabela interna para iteração; as posições com {@link #EMPTY} devem ser ignoradas. A tabela
+     * não pode ser alterada durante a iteração.
+     */
+    long[] table() {
+        return keys;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = keys;
+        allocate(capacity);
+        size = 0;
+        for (long key : old) {
+            if (key != EMPTY) {
+                add(key);
+            }
+        }
+    }
+
+    private int index(long key) {
+        return (int) (mix(key) & mask);
+    }
+
+    /**
+     * Espalha os bits da chave (finalizador do SplitMix64), evitando agrupamentos de coordenadas vizinhas.
+     */
+    static long mix(long key) {
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+        return key ^ (key >>> 31);
+    }
+}
@@ -0,0 +1,105 @@
+package dom;
+
+import java.util.Arrays;
+
+/**
+ * Mapa de {@code long} para {@code int} com endereçamento aberto, usado pelo {@link SparseGrid} para
+ * contar os vizinhos vivos de cada coordenada sem criar objetos. Só suporta inserção e limpeza total.
+ */
+final class LongIntMap {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    LongIntMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Soma 1 ao valor associado à chave, que começa em 0.
+     *
+     * @param key A chave.
+     */
+    void increment(long key) {
+        int i = (int) (LongHashSet.mix(key) & mask);
+        while (keys[i] != LongHashSet.EMPTY) {
+            if (keys[i] == key) {
+                values[i]++;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = 1;
+        if (++size > (keys.length >>> 1)) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Retorna o valor associado à chave, ou 0 se ela não estiver no mapa.
+     *
+     * @param key A chave.
+     * @return O valor associado.
+     */
+    int get(long key) {
+        int i = (int) (LongHashSet.mix(key) & mask);
+        while (keys[i] != LongHashSet.EMPTY) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Esvazia o mapa, reduzindo a capacidade quando ela está muito acima do tamanho atual.
+     */
+    void clear() {
+        if (keys.length > MIN_CAPACITY && size < (keys.length >>> 3)) {
+            allocate(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size) * 4)));
+        } else {
+            Arrays.fill(keys, LongHashSet.EMPTY);
+        }
+        size = 0;
+    }
+
+    /**
+     * Retorna a tabela de chaves para iteração; as posições com {@link LongHashSet#EMPTY} devem ser
+     * ignoradas. O valor de cada chave está na mesma posição de {@link #valueTable()}.
+     */
+    long[] keyTable() {
+        return keys;
+    }
+
+    int[] valueTable() {
+        return values;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, LongHashSet.EMPTY);
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != LongHashSet.EMPTY) {
+                int i = (int) (LongHashSet.mix(oldKeys[j]) & mask);
+                while (keys[i] != LongHashSet.EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
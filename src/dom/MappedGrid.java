@@ -0,0 +1,667 @@
+package dom;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Motor de simulação para universos muito maiores que o heap (100.000 x 100.000 células ou mais). As
+ * duas gerações ficam em um arquivo temporário mapeado em memória com {@link FileChannel#map}, em blocos
+ * de 64x64 células compactados em bits, com o mesmo formato de palavra de {@link BitGrid}.
+ * <p>
+ * O arquivo é dividido em segmentos de uma faixa de blocos (64 linhas do universo) por geração, e só um
+ * número limitado de segmentos fica mapeado ao mesmo tempo; os menos usados recentemente são descartados
+ * quando o limite de memória residente é atingido. Cada geração é calculada em uma única passada pelas
+ * faixas, bloco a bloco, lendo apenas a faixa atual e as duas vizinhas. Assim como em {@link BitGrid},
+ * só são recalculados os blocos que mudaram na geração anterior e seus vizinhos, então regiões vazias ou
+ * estáveis do universo não são nem lidas.
+ * </p>
+ * <p>
+ * As dimensões da janela definem apenas a região usada para carregar o padrão inicial e para exibição,
+ * a partir do canto superior esquerdo do universo; somente essa região é copiada para os frames. Tudo que
+ * está fora do universo conta como morto.
+ * </p>
+ * <p>
+ * O limite de memória residente é aproximado: a API de {@link FileChannel#map} não permite desfazer um
+ * mapeamento, então um segmento descartado continua mapeado até o coletor de lixo recolher o seu buffer.
+ * O limite vale para os segmentos em uso pela passada; o espaço de endereços e as páginas do arquivo em
+ * cache podem passar dele por algum tempo, mas como as páginas são do arquivo, o sistema pode
+ * reaproveitá-las sem swap.
+ * </p>
+ * <p>
+ * Uma geração congelada por {@link #freezeCells()} é lida direto do arquivo, faixa por faixa, pela thread
+ * que lista as células. Enquanto ela não terminou, cada faixa que a simulação vai sobrescrever e que ainda
+ * não foi lida é antes copiada para a memória (cópia na escrita); como as duas gerações ficam em metades
+ * separadas do arquivo, isso só acontece a partir da segunda geração depois do congelamento, e só nas
+ * faixas ativas.
+ * </p>
+ */
+public class MappedGrid implements LifeEngine {
+    private static final int TILE_SHIFT = 6;
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final long TILE_BYTES = TILE_SIZE * (long) Long.BYTES;
+    /**
+     * Menor número de segmentos mapeados: a passada usa quatro ao mesmo tempo (três faixas da geração
+     * atual e uma da próxima).
+     */
+    private static final int MIN_RESIDENT = 8;
+
+    private final int line, column;
+    private final int universeLines, universeColumns;
+    private final int tileRows, tileCols;
+    private final long lastMask;
+    private final long segmentBytes;
+    private final FileChannel channel;
+
+    // Segmentos mapeados, indexados por geração * tileRows + faixa, com substituição LRU
+    private final LongBuffer[] segments;
+    private final int[] slotOf;
+    private final int[] resident;
+    private final long[] lastUse;
+    private int residentCount;
+    private long tick;
+
+    private int generationBuffer;
+    private long[] changed, changedNext;
+    private Rule rule = Rule.CONWAY;
+    private boolean[] rowChanged, rowChangedNext;
+    private final long[] left = new long[TILE_SIZE + 2];
+    private final long[] center = new long[TILE_SIZE + 2];
+    private final long[] right = new long[TILE_SIZE + 2];
+    private long births, deaths, population;
+    // Gerações congeladas que ainda estão sendo listadas, acessadas só pela thread da simulação
+    private final List<Frozen> frozen = new ArrayList<>();
+
+    /**
+     * Cria um universo vazio guardado em um arquivo temporário mapeado em memória.
+     *
+     * @param line            Número de linhas da janela.
+     * @param column          Número de colunas da janela.
+     * @param universeLines   Número de linhas do universo.
+     * @param universeColumns Número de colunas do universo.
+     * @param residentMb      Memória mapeada ao mesmo tempo pelos segmentos em uso, em megabytes (limite
+     *                        aproximado; ver a descrição da classe).
+     */
+    public MappedGrid(int line, int column, int universeLines, int universeColumns, int residentMb) {
+        this.line = line;
+        this.column = column;
+        this.universeLines = universeLines;
+        this.universeColumns = universeColumns;
+        this.tileRows = (universeLines + TILE_SIZE - 1) >>> TILE_SHIFT;
+        this.tileCols = (universeColumns + TILE_SIZE - 1) >>> TILE_SHIFT;
+        this.lastMask = (universeColumns & 63) == 0 ? -1L : (1L << (universeColumns & 63)) - 1;
+        this.segmentBytes = tileCols * TILE_BYTES;
+
+        try {
+            Path file = Files.createTempFile("gol-", ".grid");
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // O arquivo é criado esparso e lido como zeros; depois de aberto, não precisa mais de nome
+            channel.write(ByteBuffer.allocate(1), 2 * segmentBytes * tileRows - 1);
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the grid file", e);
+        }
+
+        int capacity = (int) Math.min(2L * tileRows,
+                Math.max(MIN_RESIDENT, ((long) residentMb << 20) / segmentBytes));
+        this.segments = new LongBuffer[2 * tileRows];
+        this.slotOf = new int[2 * tileRows];
+        this.resident = new int[capacity];
+        this.lastUse = new long[capacity];
+
+        this.changed = new long[(tileRows * tileCols + 63) >>> 6];
+        this.changedNext = new long[changed.length];
+        this.rowChanged = new boolean[tileRows];
+        this.rowChangedNext = new boolean[tileRows];
+    }
+
+    /**
+     * Define a regra de nascimento e sobrevivência das próximas gerações. Com nascimento sem vizinhos
+     * ({@code B0}), regiões vazias também mudam, então todos os blocos são marcados para a próxima geração.
+     *
+     * @param rule A regra.
+     */
+    public void setRule(Rule rule) {
+        this.rule = rule;
+        if (rule.isBornAlone()) {
+            Arrays.fill(changed, -1L);
+            Arrays.fill(rowChanged, true);
+        }
+    }
+
+    /**
+     * Retorna a regra de nascimento e sobrevivência das próximas gerações.
+     *
+     * @return A regra.
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Inicializa o universo com um padrão fornecido como uma string, centralizado na janela, com as mesmas
+     * regras de {@link Grid#initializeGrid(String)}.
+     *
+     * @param pattern String representando o padrão inicial da grade.
+     */
+    public void initializeGrid(String pattern) {
+        String[] rows = pattern.split("#");
+
+        if (rows.length > line || rows[0].length() > column) {
+            System.out.println("Error: The pattern is larger than the grid size.");
+            return;
+        }
+
+        int startRow = Math.max(0, (line - rows.length) / 2);
+        int startCol = Math.max(0, (column - rows[0].length()) / 2);
+
+        for (int i = 0; i < rows.length; i++) {
+            String row = rows[i];
+            for (int j = 0; j < row.length(); j++) {
+                setAlive(startRow + i, startCol + j, row.charAt(j) == '1');
+            }
+        }
+    }
+
+    /**
+     * Gera uma população inicial aleatória em todo o universo, que depende só da semente e da densidade
+     * ({@link RandomFill}). As palavras sorteadas são escritas direto nos segmentos mapeados, faixa por
+     * faixa, na thread atual.
+     *
+     * @param seed    A semente.
+     * @param density A chance de cada célula iniciar viva, de 0 a 1.
+     */
+    public void generateRandomPopulation(long seed, double density) {
+        long[] count = new long[1];
+        new RandomFill(seed, density).fill(universeLines, universeColumns, null, (r, row) -> {
+            preserve(generationBuffer, r >>> TILE_SHIFT);
+            LongBuffer segment = segment(generationBuffer, r >>> TILE_SHIFT);
+            int offset = r & (TILE_SIZE - 1);
+            for (int tc = 0; tc < tileCols; tc++) {
+                segment.put(tc * TILE_SIZE + offset, row[tc]);
+                count[0] += Long.bitCount(row[tc]);
+            }
+        });
+        population = count[0];
+        Arrays.fill(changed, -1L);
+        Arrays.fill(rowChanged, true);
+    }
+
+    /**
+     * Avança o universo uma geração com a regra definida por {@link #setRule(Rule)}, usando o layout de
+     * vizinhança especificado.
+     * As faixas são percorridas em ordem; em cada uma, os blocos ativos são copiados com uma borda de uma
+     * célula para vetores locais e calculados com a mesma soma bit a bit (SWAR) de {@link BitGrid}.
+     *
+     * @param layout O tipo de layout de vizinhança (1 a 5).
+     */
+    public void updateGrid(int layout) {
+        long[] masks = BitGrid.layoutMasks(layout);
+        Rule step = rule;
+        int cur = generationBuffer;
+        int nxt = cur ^ 1;
+        Arrays.fill(changedNext, 0L);
+        Arrays.fill(rowChangedNext, false);
+
+        long born = 0, died = 0;
+        for (int tr = 0; tr < tileRows; tr++) {
+            if (!rowChanged[tr] && !(tr > 0 && rowChanged[tr - 1]) && !(tr + 1 < tileRows && rowChanged[tr + 1])) {
+                continue;
+            }
+            LongBuffer up = tr > 0 ? segment(cur, tr - 1) : null;
+            LongBuffer mid = segment(cur, tr);
+            LongBuffer down = tr + 1 < tileRows ? segment(cur, tr + 1) : null;
+            preserve(nxt, tr);
+            LongBuffer out = segment(nxt, tr);
+            int rows = Math.min(TILE_SIZE, universeLines - (tr << TILE_SHIFT));
+
+            for (int tc = 0; tc < tileCols; tc++) {
+                if (!isActive(tr, tc)) {
+                    continue;
+                }
+                loadTile(up, mid, down, tc);
+                long dirty = 0;
+                long columnMask = tc == tileCols - 1 ? lastMask : -1L;
+                int base = tc * TILE_SIZE;
+                for (int i = 0; i < rows; i++) {
+                    long b = center[i + 1];
+                    long result = nextWord(masks, step, left[i], center[i], right[i], left[i + 1], b, right[i + 1],
+                            left[i + 2], center[i + 2], right[i + 2]) & columnMask;
+                    out.put(base + i, result);
+                    long diff = result ^ b;
+                    dirty |= diff;
+                    born += Long.bitCount(diff & result);
+                    died += Long.bitCount(diff & b);
+                }
+                if (dirty != 0) {
+                    int tile = tr * tileCols + tc;
+                    changedNext[tile >>> 6] |= 1L << tile;
+                    rowChangedNext[tr] = true;
+                }
+            }
+        }
+
+        births += born;
+        deaths += died;
+        population += born - died;
+        generationBuffer = nxt;
+        long[] swapChanged = changed;
+        changed = changedNext;
+        changedNext = swapChanged;
+        boolean[] swapRows = rowChanged;
+        rowChanged = rowChangedNext;
+        rowChangedNext = swapRows;
+    }
+
+    /**
+     * Copia as 64 linhas do bloco, a linha de cima e a de baixo, e as palavras vizinhas à esquerda e à
+     * direita para os vetores locais. Posições fora do universo ficam zeradas.
+     */
+    private void loadTile(LongBuffer up, LongBuffer mid, LongBuffer down, int tc) {
+        int base = tc * TILE_SIZE;
+        boolean hasLeft = tc > 0;
+        boolean hasRight = tc + 1 < tileCols;
+        for (int i = 0; i < TILE_SIZE; i++) {
+            center[i + 1] = mid.get(base + i);
+            left[i + 1] = hasLeft ? mid.get(base - TILE_SIZE + i) : 0L;
+            right[i + 1] = hasRight ? mid.get(base + TILE_SIZE + i) : 0L;
+        }
+        int last = TILE_SIZE - 1;
+        center[0] = up != null ? up.get(base + last) : 0L;
+        left[0] = up != null && hasLeft ? up.get(base - TILE_SIZE + last) : 0L;
+        right[0] = up != null && hasRight ? up.get(base + TILE_SIZE + last) : 0L;
+        center[TILE_SIZE + 1] = down != null ? down.get(base) : 0L;
+        left[TILE_SIZE + 1] = down != null && hasLeft ? down.get(base - TILE_SIZE) : 0L;
+        right[TILE_SIZE + 1] = down != null && hasRight ? down.get(base + TILE_SIZE) : 0L;
+    }
+
+    /**
+     * Calcula a próxima geração das 64 células da palavra {@code b} a partir da palavra de cima
+     * ({@code a}), da de baixo ({@code c}) e das vizinhas à esquerda e à direita de cada uma.
+     */
+    private static long nextWord(long[] masks, Rule rule, long aLeft, long a, long aRight, long bLeft, long b,
+            long bRight, long cLeft, long c, long cRight) {
+        long nw = ((a << 1) | (aLeft >>> 63)) & masks[0];
+        long n = a & masks[1];
+        long ne = ((a >>> 1) | (aRight << 63)) & masks[2];
+        long w = ((b << 1) | (bLeft >>> 63)) & masks[3];
+        long e = ((b >>> 1) | (bRight << 63)) & masks[4];
+        long sw = ((c << 1) | (cLeft >>> 63)) & masks[5];
+        long s = c & masks[6];
+        long se = ((c >>> 1) | (cRight << 63)) & masks[7];
+
+        // Soma dos oito planos com somadores completos (carry-save)
+        long s1 = nw ^ n ^ ne;
+        long c1 = (nw & n) | (ne & (nw ^ n));
+        long s2 = w ^ e ^ sw;
+        long c2 = (w & e) | (sw & (w ^ e));
+        long s3 = s ^ se;
+        long c3 = s & se;
+        long ones = s1 ^ s2 ^ s3;
+        long c4 = (s1 & s2) | (s3 & (s1 ^ s2));
+        long t = c1 ^ c2 ^ c3;
+        long c5 = (c1 & c2) | (c3 & (c1 ^ c2));
+        long twos = t ^ c4;
+        long c6 = t & c4;
+        long fours = c5 ^ c6;
+        long eights = c5 & c6;
+
+        return rule.apply(b, ones, twos, fours, eights);
+    }
+
+    /**
+     * Um bloco precisa ser recalculado se ele ou algum dos oito blocos vizinhos mudou na última geração.
+     */
+    private boolean isActive(int tr, int tc) {
+        int r0 = Math.max(0, tr - 1), r1 = Math.min(tileRows - 1, tr + 1);
+        int c0 = Math.max(0, tc - 1), c1 = Math.min(tileCols - 1, tc + 1);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int tile = r * tileCols + c;
+                if ((changed[tile >>> 6] & (1L << tile)) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retorna o segmento (uma faixa de blocos) da geração informada, mapeando-o se necessário e descartando
+     * o segmento usado há mais tempo quando o limite de segmentos residentes foi atingido. O descarte só
+     * solta a referência: o mapeamento é desfeito quando o buffer for coletado.
+     */
+    private LongBuffer segment(int generation, int tileRow) {
+        int key = generation * tileRows + tileRow;
+        LongBuffer segment = segments[key];
+        if (segment != null) {
+            lastUse[slotOf[key]] = ++tick;
+            return segment;
+        }
+
+        int slot;
+        if (residentCount < resident.length) {
+            slot = residentCount++;
+        } else {
+            slot = 0;
+            for (int i = 1; i < resident.length; i++) {
+                if (lastUse[i] < lastUse[slot]) {
+                    slot = i;
+                }
+            }
+            segments[resident[slot]] = null;
+        }
+
+        try {
+            long offset = key * segmentBytes;
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, offset, segmentBytes)
+                    .order(ByteOrder.nativeOrder()).asLongBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map the grid file", e);
+        }
+        segments[key] = segment;
+        slotOf[key] = slot;
+        resident[slot] = key;
+        lastUse[slot] = ++tick;
+        return segment;
+    }
+
+    /**
+     * Verifica se a célula na posição especificada está viva. Posições fora do universo são consideradas
+     * mortas.
+     *
+     * @param x A coordenada da linha.
+     * @param y A coordenada da coluna.
+     * @return true se a célula estiver viva, false caso contrário.
+     */
+    public boolean isAlive(int x, int y) {
+        if (x < 0 || x >= universeLines || y < 0 || y >= universeColumns) {
+            return false;
+        }
+        long word = segment(generationBuffer, x >>> TILE_SHIFT).get((y >>> 6) * TILE_SIZE + (x & (TILE_SIZE - 1)));
+        return (word & (1L << y)) != 0;
+    }
+
+    /**
+     * Define o estado atual da célula na posição especificada.
+     *
+     * @param x     A coordenada da linha.
+     * @param y     A coordenada da coluna.
+     * @param alive true para viva, false para morta.
+     */
+    public void setAlive(int x, int y, boolean alive) {
+        Objects.checkIndex(x, universeLines);
+        Objects.checkIndex(y, universeColumns);
+        LongBuffer segment = segment(generationBuffer, x >>> TILE_SHIFT);
+        int index = (y >>> 6) * TILE_SIZE + (x & (TILE_SIZE - 1));
+        long word = segment.get(index);
+        long updated = alive ? word | (1L << y) : word & ~(1L << y);
+        if (updated != word) {
+            preserve(generationBuffer, x >>> TILE_SHIFT);
+            segment.put(index, updated);
+            population += alive ? 1 : -1;
+            int tile = (x >>> TILE_SHIFT) * tileCols + (y >>> 6);
+            changed[tile >>> 6] |= 1L << tile;
+            rowChanged[x >>> TILE_SHIFT] = true;
+        }
+    }
+
+    /**
+     * Copia a região para o frame 64 células por vez, lendo apenas as faixas que a região cobre.
+     *
+     * @param frame     O frame a ser preenchido.
+     * @param originRow A linha do universo correspondente à linha 0 do frame.
+     * @param originCol A coluna do universo correspondente à coluna 0 do frame.
+     */
+    public void snapshot(Frame frame, int originRow, int originCol) {
+        frame.reset(originRow, originCol);
+        int shift = Math.floorMod(originCol, 64);
+        int firstWord = Math.floorDiv(originCol, 64);
+        for (int i = 0; i < frame.getLine(); i++) {
+            int r = originRow + i;
+            if (r < 0 || r >= universeLines) {
+                continue;
+            }
+            LongBuffer segment = segment(generationBuffer, r >>> TILE_SHIFT);
+            int row = r & (TILE_SIZE - 1);
+            for (int w = 0; w < frame.getWords(); w++) {
+                int q = firstWord + w;
+                long low = wordAt(segment, row, q);
+                long value = shift == 0 ? low : (low >>> shift) | (wordAt(segment, row, q + 1) << (64 - shift));
+                frame.setWord(i, w, value);
+            }
+        }
+    }
+
+    private long wordAt(LongBuffer segment, int row, int tc) {
+        return tc >= 0 && tc < tileCols ? segment.get(tc * TILE_SIZE + row) : 0L;
+    }
+
+    /**
+     * Entrega as coordenadas de todas as células vivas do universo, faixa por faixa, em ordem de linha.
+     * Só a faixa atual precisa estar mapeada, então populações maiores que o heap também são listadas.
+     *
+     * @param sink Quem recebe os lotes.
+     * @throws IOException se {@code sink} falhar.
+     */
+    public void liveCells(CellSink sink) throws IOException {
+        CellBatch batch = new CellBatch(sink);
+        for (int tr = 0; tr < tileRows; tr++) {
+            addBand(segment(generationBuffer, tr), tr, batch);
+        }
+        batch.flush();
+    }
+
+    private void addBand(LongBuffer band, int tileRow, CellBatch batch) throws IOException {
+        for (int i = 0; i < TILE_SIZE; i++) {
+            for (int tc = 0; tc < tileCols; tc++) {
+                long word = band.get(tc * TILE_SIZE + i);
+                while (word != 0) {
+                    batch.add(SparseGrid.pack((tileRow << TILE_SHIFT) + i,
+                            (tc << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Congela a geração atual sem copiar nada: as faixas são lidas do arquivo quando as células forem
+     * listadas, e as que a simulação sobrescrever antes disso são copiadas para a memória no momento da
+     * escrita. A memória usada é limitada às faixas sobrescritas antes de serem lidas.
+     *
+     * @return As células da geração atual.
+     */
+    @Override
+    public CellSource freezeCells() {
+        Frozen cells = new Frozen(generationBuffer);
+        frozen.add(cells);
+        return cells;
+    }
+
+    /**
+     * Copia a faixa das gerações congeladas que ainda não a leram, antes que a simulação a sobrescreva.
+     */
+    private void preserve(int generation, int tileRow) {
+        if (frozen.isEmpty()) {
+            return;
+        }
+        frozen.removeIf(Frozen::isClosed);
+        for (Frozen cells : frozen) {
+            if (cells.generation == generation) {
+                cells.preserve(tileRow);
+            }
+        }
+    }
+
+    /**
+     * Uma geração congelada, lida faixa por faixa por outra thread. As faixas até {@code next} já foram
+     * lidas; as seguintes estão no arquivo ou, se a simulação ia sobrescrevê-las, em {@code saved}.
+     */
+    private final class Frozen implements CellSource {
+        private final int generation;
+        private final long[][] saved = new long[tileRows][];
+        private int next;
+        private volatile boolean closed;
+
+        Frozen(int generation) {
+            this.generation = generation;
+        }
+
+        /**
+         * Chamado pela thread da simulação antes de escrever na faixa.
+         */
+        synchronized void preserve(int tileRow) {
+            if (!closed && tileRow >= next && saved[tileRow] == null) {
+                long[] band = new long[tileCols * TILE_SIZE];
+                segment(generation, tileRow).get(0, band);
+                saved[tileRow] = band;
+            }
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void liveCells(CellSink sink) throws IOException {
+            try {
+                CellBatch batch = new CellBatch(sink);
+                ByteBuffer bytes = ByteBuffer.allocateDirect((int) segmentBytes).order(ByteOrder.nativeOrder());
+                LongBuffer words = bytes.asLongBuffer();
+                for (int tr = 0; tr < tileRows; tr++) {
+                    LongBuffer band;
+                    // A leitura da faixa no arquivo não pode cruzar com uma cópia feita pela simulação
+                    synchronized (this) {
+                        if (saved[tr] != null) {
+                            band = LongBuffer.wrap(saved[tr]);
+                            saved[tr] = null;
+                        } else {
+                            bytes.clear();
+                            long offset = (generation * (long) tileRows + tr) * segmentBytes;
+                            while (bytes.hasRemaining()) {
+                                if (channel.read(bytes, offset + bytes.position()) < 0) {
+                                    throw new EOFException("Truncated grid file");
+                                }
+                            }
+                            band = words;
+                        }
+                        next = tr + 1;
+                    }
+                    addBand(band, tr, batch);
+                }
+                batch.flush();
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            closed = true;
+            Arrays.fill(saved, null);
+        }
+    }
+
+    /**
+     * Retorna o número de células vivas em todo o universo, mantido a cada geração com os nascimentos e as
+     * mortes.
+     *
+     * @return A população atual.
+     */
+    public long getPopulation() {
+        return population;
+    }
+
+    /**
+     * Retorna o total de células que nasceram desde a criação do universo.
+     *
+     * @return O total de nascimentos.
+     */
+    public long getBirths() {
+        return births;
+    }
+
+    /**
+     * Retorna o total de células que morreram desde a criação do universo.
+     *
+     * @return O total de mortes.
+     */
+    public long getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * Retorna quantos segmentos estão em uso neste momento, sem contar os descartados que ainda não foram
+     * coletados.
+     *
+     * @return O número de segmentos residentes.
+     */
+    public int getResidentSegments() {
+        return residentCount;
+    }
+
+    /**
+     * Exibe a janela no console, representando as células vivas com "1"
+     * e as células mortas com "0".
+     */
+    public void printGrid() {
+        for (int x = 0; x < line; x++) {
+            for (int y = 0; y < column; y++) {
+                System.out.print(isAlive(x, y) ? "1 " : "0 ");
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Retorna o número de linhas da janela.
+     *
+     * @return O número de linhas.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Retorna o número de colunas da janela.
+     *
+     * @return O número de colunas.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Retorna o número de linhas do universo.
+     *
+     * @return O número de linhas.
+     */
+    public int getUniverseLines() {
+        return universeLines;
+    }
+
+    /**
+     * Retorna o número de colunas do universo.
+     *
+     * @return O número de colunas.
+     */
+    public int getUniverseColumns() {
+        return universeColumns;
+    }
+}
@@ -0,0 +1,111 @@
+package dom;
+
+/**
+ * Representa um layout de vizinhança já "compilado": os deslocamentos das células vizinhas são
+ * calculados uma única vez por layout e reaproveitados em todas as gerações, sem nenhum {@code switch}
+ * ou alocação durante a contagem.
+ * <p>
+ * A contagem, {@link #count(Cell[][], int, int)}, não testa limites: a matriz de {@link Grid} tem uma
+ * camada de células fantasmas em volta da grade, mortas ou espelhando a borda oposta (toro), então todos
+ * os vizinhos de qualquer célula existem.
+ * </p>
+ */
+public final class NeighborhoodKernel {
+    private static final NeighborhoodKernel[] KERNELS = {
+            new NeighborhoodKernel(new int[] {}, new int[] {}),
+            // 1 - Jala University
+            new NeighborhoodKernel(new int[] { 0, 0, -1, 1 }, new int[] { -1, 1, 0, 0 }),
+            // 2 - Programming 1
+            new NeighborhoodKernel(new int[] { 0, 0, -1, 1, 1, -1 }, new int[] { -1, 1, 0, 0, -1, 1 }),
+            // 3 - Moore
+            new NeighborhoodKernel(new int[] { -1, -1, -1, 0, 0, 1, 1, 1 }, new int[] { -1, 0, 1, -1, 1, -1, 0, 1 }),
+            // 4 - Reverse
+            new NeighborhoodKernel(new int[] { -1, -1, 1, 1 }, new int[] { -1, 1, -1, 1 }),
+            // 5 - Custom Jala University
+            new NeighborhoodKernel(new int[] { -1, -1, 1, 1, -1, 1 }, new int[] { -1, 1, -1, 1, 0, 0 }),
+    };
+
+    private final int[] dx;
+    private final int[] dy;
+
+    private NeighborhoodKernel(int[] dx, int[] dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    /**
+     * Retorna o kernel do layout de vizinhança informado. Layouts inválidos recebem um kernel vazio, que
+     * nunca encontra vizinhos.
+     *
+     * @param layout O código do layout (1 a 5).
+     * @return O kernel compartilhado do layout.
+     */
+    public static NeighborhoodKernel forLayout(int layout) {
+        return (layout >= 1 && layout < KERNELS.length) ? KERNELS[layout] : KERNELS[0];
+    }
+
+    /**
+     * Conta os vizinhos vivos de uma célula, sem testar limites. A célula precisa estar a pelo menos uma
+     * posição de distância de todas as bordas da matriz, o que vale para todas as células de uma matriz
+     * com células fantasmas.
+     *
+     * @param grid A matriz de células, com as células fantasmas.
+     * @param x    A linha da célula na matriz.
+     * @param y    A coluna da célula na matriz.
+     * @return O número de vizinhos vivos.
+     */
+    public int count(Cell[][] grid, int x, int y) {
+        int neighbors = 0;
+        for (int i = 0; i < dx.length; i++) {
+            if (grid[x + dx[i]][y + dy[i]].isAlive()) {
+                neighbors++;
+            }
+        }
+        return neighbors;
+    }
+
+    /**
+     * Retorna o número de vizinhos considerados por este layout.
+     *
+     * @return O número de deslocamentos do kernel.
+     */
+    public int size() {
+        return dx.length;
+    }
+
+    /**
+     * Retorna o deslocamento na linha do vizinho de índice {@code i}.
+     *
+     * @param i O índice do vizinho, entre 0 e {@link #size()} - 1.
+     * @return O deslocamento na linha (-1, 0 ou 1).
+     */
+    public int rowOffset(int i) {
+        return dx[i];
+    }
+
+    /**
+     * Retorna o deslocamento na coluna do vizinho de índice {@code i}.
+     *
+     * @param i O índice do vizinho, entre 0 e {@link #size()} - 1.
+     * @return O deslocamento na coluna (-1, 0 ou 1).
+     */
+    public int columnOffset(int i) {
+        return dy[i];
+    }
+
+    /**
+     * Verifica se o deslocamento informado faz parte deste layout.
+     *
+     * @param rowOffset    O deslocamento na linha (-1, 0 ou 1).
+     * @param columnOffset O deslocamento na coluna (-1, 0 ou 1).
+     * @return true se a célula nesse deslocamento for vizinha.
+     */
+    public boolean includes(int rowOffset, int columnOffset) {
+        for (int i = 0; i < dx.length; i++) {
+            if (dx[i] == rowOffset && dy[i] == columnOffset) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
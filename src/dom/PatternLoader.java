@@ -0,0 +1,402 @@
+package dom;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Carrega padrões de arquivos RLE (o formato do Golly e do LifeWiki) e Life 1.06 direto para um motor,
+ * lendo o arquivo em blocos de bytes, sem montar strings intermediárias nem objetos por célula, e
+ * entregando as células ao motor em lotes ({@link LifeEngine#setAliveAll(long[], int)}). Assim
+ * padrões de vários megabytes são carregados com memória constante, além da usada pelo próprio motor.
+ * <p>
+ * O padrão é centralizado na janela do motor quando cabe nela. Se não couber, é centralizado no universo
+ * dos motores com bordas maiores que a janela ({@link MappedGrid}) e, nos motores sem bordas, continua
+ * centralizado na janela, ultrapassando-a. Um padrão maior que o universo de um motor com bordas é
+ * rejeitado.
+ * </p>
+ * <ul>
+ * <li>RLE: a linha de cabeçalho {@code x = <largura>, y = <altura>[, rule = <regra>]} dá as dimensões, e
+ * o padrão é lido em uma única passada.</li>
+ * <li>Life 1.06: o arquivo começa com {@code #Life 1.06} e tem uma célula viva por linha, como
+ * {@code <coluna> <linha>}. Como não há cabeçalho com as dimensões, o arquivo é lido duas vezes: a
+ * primeira só encontra os limites do padrão.</li>
+ * </ul>
+ */
+public final class PatternLoader {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int MAX_HEADER = 4096;
+    private static final int BATCH_CELLS = 1 << 16;
+
+    private final String format;
+    private final long width, height;
+    private final String rule;
+    private long cells;
+    private long skipped;
+    private final long[] batch = new long[BATCH_CELLS];
+    private int batched;
+
+    private PatternLoader(String format, long width, long height, String rule) {
+        this.format = format;
+        this.width = width;
+        this.height = height;
+        this.rule = rule;
+    }
+
+    /**
+     * Carrega o padrão do arquivo no motor, que deve estar vazio.
+     *
+     * @param path   O arquivo RLE ou Life 1.06.
+     * @param engine O motor a ser preenchido.
+     * @return O resultado da carga (formato, dimensões e células carregadas).
+     * @throws IOException              se o arquivo não puder ser lido ou não estiver em um formato aceito.
+     * @throws IllegalArgumentException se o padrão for maior que o universo do motor.
+     */
+    public static PatternLoader load(Path path, LifeEngine engine) throws IOException {
+        try (Input in = new Input(path)) {
+            // Comentários iniciais: "#Life 1.06" identifica o formato; os demais (#N, #C, #O...) são ignorados
+            boolean life106 = false;
+            int c = in.skipBlank();
+            while (c == '#') {
+                String comment = in.readLine(MAX_HEADER);
+                life106 |= comment.trim().equalsIgnoreCase("Life 1.06");
+                c = in.skipBlank();
+            }
+            if (c == 'x' && !life106) {
+                String header = (char) c + in.readLine(MAX_HEADER);
+                return loadRle(in, header, engine, path);
+            }
+            if (life106 || c == '-' || (c >= '0' && c <= '9')) {
+                return loadLife106(path, engine);
+            }
+            throw new IOException("Unknown pattern format (expected RLE or Life 1.06): " + path);
+        }
+    }
+
+    /**
+     * Lê só o cabeçalho do arquivo, sem carregar o padrão, e retorna a regra declarada nele.
+     *
+     * @param path O arquivo RLE ou Life 1.06.
+     * @return A regra do cabeçalho RLE, ou uma string vazia se o arquivo não declarar nenhuma.
+     * @throws IOException se o arquivo não puder ser lido ou tiver um cabeçalho RLE inválido.
+     */
+    public static String readRule(Path path) throws IOException {
+        try (Input in = new Input(path)) {
+            int c = in.skipBlank();
+            while (c == '#') {
+                in.skipLine();
+                c = in.skipBlank();
+            }
+            // O Life 1.06 não tem cabeçalho: depois dos comentários já vêm as coordenadas
+            if (c != 'x') {
+                return "";
+            }
+            return parseHeader((char) c + in.readLine(MAX_HEADER), path).getRule();
+        }
+    }
+
+    private static PatternLoader loadRle(Input in, String header, LifeEngine engine, Path path)
+            throws IOException {
+        PatternLoader result = parseHeader(header, path);
+        long startRow = result.origin(engine, true);
+        long startCol = result.origin(engine, false);
+
+        long row = 0, col = 0, count = 0;
+        int c;
+        while ((c = in.read()) >= 0 && c != '!') {
+            if (c >= '0' && c <= '9') {
+                count = count * 10 + (c - '0');
+                if (count > Integer.MAX_VALUE) {
+                    throw new IOException("Invalid RLE run length: " + path);
+                }
+                continue;
+            }
+            long run = Math.max(count, 1);
+            if (c == 'b' || c == '.') {
+                col += run;
+            } else if (c == 'o' || (c >= 'A' && c <= 'X')) {
+                for (long k = 0; k < run; k++) {
+                    result.set(engine, startRow + row, startCol + col + k);
+                }
+                col += run;
+            } else if (c == '$') {
+                row += run;
+                col = 0;
+            } else if (c >= 'p' && c <= 'y') {
+                // Prefixo dos estados de regras com várias cores ("pA"): a contagem vale para o estado seguinte
+                continue;
+            } else if (c == '#') {
+                in.skipLine();
+            } else if (c > ' ') {
+                throw new IOException("Invalid RLE character '" + (char) c + "': " + path);
+            }
+            count = 0;
+        }
+        result.flush(engine);
+        return result;
+    }
+
+    private static PatternLoader parseHeader(String header, Path path) throws IOException {
+        long width = -1, height = -1;
+        String rule = "";
+        for (String field : header.split(",")) {
+            int eq = field.indexOf('=');
+            if (eq < 0) {
+                continue;
+            }
+            String key = field.substring(0, eq).trim();
+            String value = field.substring(eq + 1).trim();
+            try {
+                switch (key) {
+                    case "x" -> width = Long.parseLong(value);
+                    case "y" -> height = Long.parseLong(value);
+                    case "rule" -> rule = value;
+                    default -> {
+                    }
+                }
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid RLE header \"" + header.trim() + "\": " + path);
+            }
+        }
+        if (width < 0 || height < 0) {
+            throw new IOException("Invalid RLE header \"" + header.trim() + "\": " + path);
+        }
+        return new PatternLoader("RLE", width, height, rule);
+    }
+
+    private static PatternLoader loadLife106(Path path, LifeEngine engine) throws IOException {
+        long minX = Long.MAX_VALUE, minY = Long.MAX_VALUE, maxX = Long.MIN_VALUE, maxY = Long.MIN_VALUE;
+        try (Input in = new Input(path)) {
+            while (in.nextCell()) {
+                minX = Math.min(minX, in.x);
+                maxX = Math.max(maxX, in.x);
+                minY = Math.min(minY, in.y);
+                maxY = Math.max(maxY, in.y);
+            }
+        }
+        boolean empty = minX > maxX;
+        PatternLoader result = new PatternLoader("Life 1.06", empty ? 0 : maxX - minX + 1,
+                empty ? 0 : maxY - minY + 1, "");
+        long startRow = result.origin(engine, true);
+        long startCol = result.origin(engine, false);
+        try (Input in = new Input(path)) {
+            while (in.nextCell()) {
+                result.set(engine, startRow + in.y - minY, startCol + in.x - minX);
+            }
+        }
+        result.flush(engine);
+        return result;
+    }
+
+    /**
+     * Calcula a primeira linha (ou coluna) do padrão no motor, centralizando-o na janela ou, se não couber
+     * nela, no universo.
+     */
+    private long origin(LifeEngine engine, boolean rows) {
+        boolean fitsWindow = width <= engine.getColumn() && height <= engine.getLine();
+        if (fitsWindow || !engine.isBounded()) {
+            return ((rows ? engine.getLine() : engine.getColumn()) - (rows ? height : width)) / 2;
+        }
+        if (width > engine.getUniverseColumns() || height > engine.getUniverseLines()) {
+            throw new IllegalArgumentException("The pattern (" + width + "x" + height
+                    + ") is larger than the grid size (" + engine.getUniverseColumns() + "x"
+                    + engine.getUniverseLines() + ").");
+        }
+        return ((rows ? engine.getUniverseLines() : engine.getUniverseColumns()) - (rows ? height : width)) / 2;
+    }
+
+    private void set(LifeEngine engine, long x, long y) {
+        boolean inside = engine.isBounded()
+                ? x >= 0 && x < engine.getUniverseLines() && y >= 0 && y < engine.getUniverseColumns()
+                : x >= Integer.MIN_VALUE && x <= Integer.MAX_VALUE && y >= Integer.MIN_VALUE && y <= Integer.MAX_VALUE;
+        if (inside) {
+            batch[batched++] = SparseGrid.pack((int) x, (int) y);
+            cells++;
+            if (batched == BATCH_CELLS) {
+                flush(engine);
+            }
+        } else {
+            skipped++;
+        }
+    }
+
+    /**
+     * Entrega ao motor as células acumuladas. As células vão em lotes de tamanho fixo, então a memória
+     * usada pela carga não depende do tamanho do arquivo.
+     */
+    private void flush(LifeEngine engine) {
+        engine.setAliveAll(batch, batched);
+        batched = 0;
+    }
+
+    /**
+     * Retorna o formato do arquivo carregado.
+     *
+     * @return "RLE" ou "Life 1.06".
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Retorna a largura do padrão, em colunas.
+     *
+     * @return A largura.
+     */
+    public long getWidth() {
+        return width;
+    }
+
+    /**
+     * Retorna a altura do padrão, em linhas.
+     *
+     * @return A altura.
+     */
+    public long getHeight() {
+        return height;
+    }
+
+    /**
+     * Retorna a regra declarada no cabeçalho RLE.
+     *
+     * @return A regra, ou uma string vazia se o arquivo não declarar nenhuma.
+     */
+    public String getRule() {
+        return rule;
+    }
+
+    /**
+     * Retorna o número de células vivas carregadas.
+     *
+     * @return As células carregadas.
+     */
+    public long getCells() {
+        return cells;
+    }
+
+    /**
+     * Retorna o número de células que ficaram fora do universo do motor e foram descartadas.
+     *
+     * @return As células descartadas.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Leitura do arquivo em blocos de bytes, com um byte de antecipação.
+     */
+    private static final class Input implements AutoCloseable {
+        private final InputStream stream;
+        private final byte[] buffer = new byte[BUFFER_BYTES];
+        private int position, limit;
+        private int pushback = -1;
+        private long x, y;
+
+        Input(Path path) throws IOException {
+            this.stream = Files.newInputStream(path);
+        }
+
+        int read() throws IOException {
+            if (pushback >= 0) {
+                int c = pushback;
+                pushback = -1;
+                return c;
+            }
+            if (position == limit) {
+                limit = stream.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        /**
+         * Pula espaços e quebras de linha e retorna o primeiro caractere depois deles.
+         */
+        int skipBlank() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c >= 0 && c <= ' ');
+            return c;
+        }
+
+        /**
+         * Lê o resto da linha atual, guardando no máximo {@code max} caracteres.
+         */
+        String readLine(int max) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = read()) >= 0 && c != '\n') {
+                if (c != '\r' && line.length() < max) {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+
+        /**
+         * Descarta o resto da linha atual.
+         */
+        void skipLine() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c >= 0 && c != '\n');
+        }
+
+        /**
+         * Lê a próxima célula de um arquivo Life 1.06 para {@code x} e {@code y}, pulando os comentários.
+         */
+        boolean nextCell() throws IOException {
+            int c = skipBlank();
+            while (c == '#') {
+                skipLine();
+                c = skipBlank();
+            }
+            if (c < 0) {
+                return false;
+            }
+            pushback = c;
+            x = readNumber();
+            y = readNumber();
+            return true;
+        }
+
+        private long readNumber() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c == ' ' || c == '\t');
+            boolean negative = c == '-';
+            if (negative) {
+                c = read();
+            }
+            if (c < '0' || c > '9') {
+                throw c < 0 ? new EOFException("Truncated Life 1.06 file")
+                        : new IOException("Invalid Life 1.06 coordinate near '" + (char) c + "'");
+            }
+            long value = 0;
+            while (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw new IOException("Life 1.06 coordinate out of range");
+                }
+                c = read();
+            }
+            pushback = c;
+            return negative ? -value : value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+}
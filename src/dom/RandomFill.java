@@ -0,0 +1,104 @@
+package dom;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Gera populações aleatórias reprodutíveis: a mesma semente e a mesma densidade dão sempre a mesma
+ * população, com qualquer número de threads.
+ * <p>
+ * As linhas são divididas em faixas fixas de {@value #BAND_ROWS} linhas, e cada faixa recebe o seu próprio
+ * {@link SplittableRandom}, separado ({@link SplittableRandom#split()}) do gerador da semente na ordem das
+ * faixas. Como a divisão não depende das threads, as faixas podem ser sorteadas em qualquer ordem, em
+ * paralelo ({@link RowBands}), e cada linha é entregue já compactada em palavras de 64 células.
+ * </p>
+ * <p>
+ * A densidade é arredondada para múltiplos de 1/65536 e sorteada 64 células por vez, sem um sorteio por
+ * célula: partindo de uma palavra vazia, cada bit da densidade, do menos para o mais significativo,
+ * combina a palavra com uma palavra aleatória por OR (bit 1) ou por AND (bit 0). Com 50%, isso é só uma
+ * palavra aleatória; densidades com menos bits custam menos palavras.
+ * </p>
+ */
+public final class RandomFill {
+
+    /**
+     * Recebe uma linha sorteada. O vetor é reaproveitado entre as linhas de uma faixa, e faixas diferentes
+     * podem ser entregues ao mesmo tempo por threads diferentes.
+     */
+    @FunctionalInterface
+    public interface RowSink {
+        void row(int line, long[] words);
+    }
+
+    /**
+     * Número de linhas de cada faixa com gerador próprio.
+     */
+    static final int BAND_ROWS = 64;
+
+    private static final int DENSITY_BITS = 16;
+
+    private final long seed;
+    private final int threshold;
+
+    /**
+     * Cria o gerador.
+     *
+     * @param seed    A semente.
+     * @param density A chance de cada célula iniciar viva, de 0 a 1.
+     */
+    public RandomFill(long seed, double density) {
+        this.seed = seed;
+        this.threshold = (int) Math.round(Math.max(0, Math.min(1, density)) * (1 << DENSITY_BITS));
+    }
+
+    /**
+     * Sorteia todas as linhas de uma grade e as entrega a {@code sink}. Os bits além da última coluna são
+     * sempre zero.
+     *
+     * @param line   O número de linhas.
+     * @param column O número de colunas.
+     * @param pool   O pool que sorteia as faixas, ou {@code null} para sortear tudo na thread atual.
+     * @param sink   Quem recebe as linhas.
+     */
+    public void fill(int line, int column, ForkJoinPool pool, RowSink sink) {
+        int bands = (line + BAND_ROWS - 1) / BAND_ROWS;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[bands];
+        for (int b = 0; b < bands; b++) {
+            randoms[b] = root.split();
+        }
+        int words = (column + 63) >>> 6;
+        long lastMask = (column & 63) == 0 ? -1L : (1L << column) - 1;
+        new RowBands(pool, bands, (from, to) -> {
+            long[] row = new long[words];
+            for (int b = from; b < to; b++) {
+                SplittableRandom random = randoms[b];
+                for (int i = b * BAND_ROWS; i < Math.min(line, (b + 1) * BAND_ROWS); i++) {
+                    for (int w = 0; w < words; w++) {
+                        row[w] = nextWord(random);
+                    }
+                    row[words - 1] &= lastMask;
+                    sink.row(i, row);
+                }
+            }
+        }).run();
+    }
+
+    /**
+     * Sorteia 64 células, cada uma viva com a chance da densidade.
+     */
+    private long nextWord(SplittableRandom random) {
+        if (threshold == 0) {
+            return 0L;
+        }
+        if (threshold == 1 << DENSITY_BITS) {
+            return -1L;
+        }
+        long word = 0L;
+        for (int k = Integer.numberOfTrailingZeros(threshold); k < DENSITY_BITS; k++) {
+            long bits = random.nextLong();
+            word = (threshold & (1 << k)) != 0 ? word | bits : word & bits;
+        }
+        return word;
+    }
+}
@@ -0,0 +1,312 @@
+package dom;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lê uma gravação feita por {@link RecordingWriter}, geração por geração ou saltando para qualquer
+ * geração.
+ * <p>
+ * Ao abrir o arquivo, só os cabeçalhos dos registros são lidos, para montar um índice com a posição de
+ * cada geração no arquivo. Para saltar até uma geração, o leitor decodifica o quadro-chave mais próximo
+ * antes dela e aplica as diferenças seguintes; avançar uma geração custa apenas descompactar e aplicar
+ * uma diferença. Um registro incompleto no final do arquivo (uma gravação interrompida) é ignorado.
+ * </p>
+ */
+public final class RecordingReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final int line, column, layout, keyframeInterval;
+    private final String boundary;
+    private final Rule rule;
+    private final long dataOffset;
+    private final Frame frame;
+    private final Inflater inflater = new Inflater();
+    private final ByteBuffer header = ByteBuffer.allocate(RecordingWriter.RECORD_HEADER_BYTES);
+    private ByteBuffer compressed = ByteBuffer.allocate(1 << 16);
+    private byte[] raw = new byte[1 << 16];
+
+    // Índice: posição no arquivo de cada registro e se ele é um quadro-chave
+    private long[] offsets = new long[1024];
+    private boolean[] keyframes = new boolean[1024];
+    private int count;
+    private long firstGeneration;
+    private int position = -1;
+
+    /**
+     * Abre a gravação e monta o índice dos registros.
+     *
+     * @param path O arquivo da gravação.
+     * @throws IOException se o arquivo não puder ser lido ou não for uma gravação válida.
+     */
+    public RecordingReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer fileHeader = ByteBuffer.allocate(RecordingWriter.HEADER_BYTES);
+            fileHeader.limit(2 * Integer.BYTES);
+            readFully(fileHeader, 0);
+            fileHeader.flip();
+            if (fileHeader.getInt() != RecordingWriter.MAGIC) {
+                throw new IOException("Not a Game of Life recording: " + path);
+            }
+            int version = fileHeader.getInt();
+            if (version != RecordingWriter.VERSION) {
+                throw new IOException("Unsupported recording version " + version + ": " + path);
+            }
+            int headerBytes = RecordingWriter.HEADER_BYTES;
+            fileHeader.clear().limit(headerBytes - 2 * Integer.BYTES);
+            readFully(fileHeader, 2 * Integer.BYTES);
+            fileHeader.flip();
+            line = fileHeader.getInt();
+            column = fileHeader.getInt();
+            layout = fileHeader.getInt();
+            boundary = fileHeader.getInt() == 1 ? "torus" : "dead";
+            keyframeInterval = fileHeader.getInt();
+            // A regra vem logo depois do cabeçalho de tamanho fixo
+            ByteBuffer length = ByteBuffer.allocate(Short.BYTES);
+            readFully(length, headerBytes);
+            int size = length.flip().getShort();
+            if (size <= 0 || size > RecordingWriter.MAX_RULE_BYTES) {
+                throw new IOException("Invalid recording rule length " + size + ": " + path);
+            }
+            ByteBuffer notation = ByteBuffer.allocate(size);
+            readFully(notation, headerBytes + Short.BYTES);
+            try {
+                rule = Rule.parse(new String(notation.array(), StandardCharsets.US_ASCII));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid recording rule: " + path, e);
+            }
+            dataOffset = headerBytes + Short.BYTES + size;
+            frame = new Frame(line, column);
+            buildIndex();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void buildIndex() throws IOException {
+        long offset = dataOffset;
+        long size = channel.size();
+        while (offset + RecordingWriter.RECORD_HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, offset);
+            header.flip();
+            byte type = header.get();
+            long generation = header.getLong();
+            header.getInt();
+            int length = header.getInt();
+            long next = offset + RecordingWriter.RECORD_HEADER_BYTES + length;
+            if (length < 0 || next > size) {
+                break;
+            }
+            if (count == 0) {
+                if (type != RecordingWriter.KEYFRAME) {
+                    throw new IOException("Recording does not start with a keyframe");
+                }
+                firstGeneration = generation;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                keyframes = Arrays.copyOf(keyframes, count * 2);
+            }
+            offsets[count] = offset;
+            keyframes[count] = type == RecordingWriter.KEYFRAME;
+            count++;
+            offset = next;
+        }
+        if (count == 0) {
+            throw new IOException("Recording has no generations");
+        }
+    }
+
+    /**
+     * Posiciona o leitor na geração informada, limitada às gerações gravadas.
+     *
+     * @param generation A geração desejada.
+     * @return O frame com a geração, válido até a próxima chamada.
+     * @throws IOException se a leitura falhar.
+     */
+    public Frame seek(long generation) throws IOException {
+        int target = (int) Math.max(0, Math.min(count - 1, generation - firstGeneration));
+        // Volta até o quadro-chave mais próximo, a não ser que a posição atual já esteja no caminho
+        int start = target;
+        while (!keyframes[start]) {
+            start--;
+        }
+        if (position < start || position > target) {
+            decode(start);
+        }
+        while (position < target) {
+            decode(position + 1);
+        }
+        return frame;
+    }
+
+    /**
+     * Avança para a próxima geração gravada.
+     *
+     * @return O frame com a próxima geração, válido até a próxima chamada, ou null se a gravação acabou.
+     * @throws IOException se a leitura falhar.
+     */
+    public Frame next() throws IOException {
+        if (position + 1 >= count) {
+            return null;
+        }
+        decode(position + 1);
+        return frame;
+    }
+
+    private void decode(int index) throws IOException {
+        header.clear();
+        readFully(header, offsets[index]);
+        header.flip();
+        byte type = header.get();
+        long generation = header.getLong();
+        int rawLength = header.getInt();
+        int length = header.getInt();
+        if (compressed.capacity() < length) {
+            compressed = ByteBuffer.allocate(length);
+        }
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        compressed.clear().limit(length);
+        readFully(compressed, offsets[index] + RecordingWriter.RECORD_HEADER_BYTES);
+
+        inflater.reset();
+        inflater.setInput(compressed.array(), 0, length);
+        try {
+            if (inflater.inflate(raw, 0, rawLength) != rawLength) {
+                throw new IOException("Corrupted recording at generation " + generation);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted recording at generation " + generation, e);
+        }
+
+        ByteBuffer data = ByteBuffer.wrap(raw, 0, rawLength);
+        int words = frame.getWords();
+        if (type == RecordingWriter.KEYFRAME) {
+            frame.reset(0, 0);
+            for (int i = 0; i < line; i++) {
+                for (int w = 0; w < words; w++) {
+                    frame.setWord(i, w, data.getLong());
+                }
+            }
+        } else {
+            int changed = data.getInt();
+            for (int k = 0; k < changed; k++) {
+                int word = data.getInt();
+                long diff = data.getLong();
+                int i = word / words, w = word % words;
+                frame.setWord(i, w, frame.getWord(i, w) ^ diff);
+            }
+        }
+        frame.setGeneration(generation);
+        position = index;
+    }
+
+    private void readFully(ByteBuffer target, long offset) throws IOException {
+        while (target.hasRemaining()) {
+            int read = channel.read(target, offset);
+            if (read < 0) {
+                throw new EOFException("Truncated recording");
+            }
+            offset += read;
+        }
+    }
+
+    /**
+     * Retorna a primeira geração gravada.
+     *
+     * @return A primeira geração.
+     */
+    public long getFirstGeneration() {
+        return firstGeneration;
+    }
+
+    /**
+     * Retorna a última geração gravada.
+     *
+     * @return A última geração.
+     */
+    public long getLastGeneration() {
+        return firstGeneration + count - 1;
+    }
+
+    /**
+     * Retorna a geração em que o leitor está, ou -1 antes da primeira leitura.
+     *
+     * @return A geração atual.
+     */
+    public long getGeneration() {
+        return position < 0 ? -1 : firstGeneration + position;
+    }
+
+    /**
+     * Retorna o número de linhas da região gravada.
+     *
+     * @return O número de linhas.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Retorna o número de colunas da região gravada.
+     *
+     * @return O número de colunas.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Retorna o layout de vizinhança da simulação gravada.
+     *
+     * @return O layout (1 a 5).
+     */
+    public int getLayout() {
+        return layout;
+    }
+
+    /**
+     * Retorna a borda da simulação gravada.
+     *
+     * @return {@code "dead"} ou {@code "torus"}.
+     */
+    public String getBoundary() {
+        return boundary;
+    }
+
+    /**
+     * Retorna a regra da simulação gravada.
+     *
+     * @return A regra.
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Retorna a cada quantas gerações há um quadro-chave.
+     *
+     * @return O intervalo entre quadros-chave.
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        inflater.end();
+    }
+}
@@ -0,0 +1,204 @@
+package dom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Grava as gerações de uma simulação em um arquivo compactado, só de acréscimo, para que a execução possa
+ * ser revista depois com {@link RecordingReader} sem simular de novo.
+ * <p>
+ * Cada geração vira um registro com a região da janela do motor ({@code getLine() x getColumn()}, a partir
+ * da origem), no mesmo formato de bits de {@link Frame}. A cada {@code keyframeInterval} gerações o
+ * registro é um quadro-chave com a região inteira; nas demais, é só a diferença para a geração anterior:
+ * as palavras de 64 células que mudaram, com o XOR do valor antigo e do novo. Cada registro é compactado
+ * com {@link Deflater} e acumulado em um buffer gravado no arquivo com {@link FileChannel}.
+ * </p>
+ * <p>
+ * O cabeçalho é gravado assim que o arquivo é criado, e o buffer é esvaziado depois de cada quadro-chave,
+ * quando enche ou quando passa {@value #DRAIN_MILLIS} ms sem ser esvaziado. Como os registros só são
+ * acrescentados, um processo encerrado sem {@link #close()} deixa no arquivo pelo menos todas as gerações
+ * até o último quadro-chave.
+ * </p>
+ * <p>
+ * Formato (big-endian): cabeçalho {@code "GOLR"}, versão, linhas, colunas, layout, borda (0 morta, 1
+ * toro), intervalo entre quadros-chave e a regra (tamanho em 2 bytes e a notação B/S em ASCII); depois,
+ * para cada geração, o tipo do registro, a geração, o tamanho descompactado, o
+ * tamanho compactado e os dados. Um arquivo interrompido no meio continua legível até o último registro
+ * completo.
+ * </p>
+ */
+public final class RecordingWriter implements AutoCloseable {
+    static final int MAGIC = 0x474F4C52; // "GOLR"
+    static final int VERSION = 1;
+    static final int MAX_RULE_BYTES = 64;
+    static final byte KEYFRAME = 0;
+    static final byte DELTA = 1;
+    static final int HEADER_BYTES = 28;
+    static final int RECORD_HEADER_BYTES = 17;
+    private static final int BUFFER_BYTES = 1 << 18;
+    private static final long DRAIN_MILLIS = 500;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final int keyframeInterval;
+    private Frame current, previous;
+    private final ByteBuffer raw;
+    private byte[] compressed;
+    private long records;
+    private long bytes;
+    private long lastDrain;
+
+    /**
+     * Cria o arquivo de gravação, substituindo um arquivo anterior com o mesmo nome.
+     *
+     * @param path             O arquivo de destino.
+     * @param line             Número de linhas da região gravada.
+     * @param column           Número de colunas da região gravada.
+     * @param layout           O layout de vizinhança da simulação, guardado só como informação.
+     * @param torus            Se as bordas opostas da simulação estão ligadas, guardado só como informação.
+     * @param rule             A regra da simulação, guardada para que a gravação não seja confundida com
+     *                         outra regra.
+     * @param keyframeInterval A cada quantas gerações um quadro-chave é gravado.
+     * @throws IOException se o arquivo não puder ser criado.
+     */
+    public RecordingWriter(Path path, int line, int column, int layout, boolean torus, Rule rule,
+            int keyframeInterval) throws IOException {
+        this.keyframeInterval = keyframeInterval;
+        this.current = new Frame(line, column);
+        this.previous = new Frame(line, column);
+        int words = line * current.getWords();
+        // O maior registro é um delta em que todas as palavras mudaram: índice e valor de cada uma
+        this.raw = ByteBuffer.allocate(Integer.BYTES + words * (Integer.BYTES + Long.BYTES));
+        this.compressed = new byte[raw.capacity() + 64];
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(line).putInt(column).putInt(layout).putInt(torus ? 1 : 0)
+                .putInt(keyframeInterval);
+        byte[] notation = rule.toString().getBytes(StandardCharsets.US_ASCII);
+        buffer.putShort((short) notation.length).put(notation);
+        bytes = HEADER_BYTES + Short.BYTES + notation.length;
+        drain();
+    }
+
+    /**
+     * Grava a geração atual do motor. Deve ser chamado pela thread da simulação, uma vez por geração e
+     * sem saltos, a partir da geração inicial.
+     *
+     * @param engine     O motor da simulação.
+     * @param generation A geração atual.
+     * @throws IOException se a gravação falhar.
+     */
+    public void record(LifeEngine engine, long generation) throws IOException {
+        engine.snapshot(current, 0, 0);
+        raw.clear();
+        byte type;
+        if (records % keyframeInterval == 0) {
+            type = KEYFRAME;
+            for (int i = 0; i < current.getLine(); i++) {
+                for (int w = 0; w < current.getWords(); w++) {
+                    raw.putLong(current.getWord(i, w));
+                }
+            }
+        } else {
+            type = DELTA;
+            raw.putInt(0);
+            int changed = 0;
+            for (int i = 0; i < current.getLine(); i++) {
+                for (int w = 0; w < current.getWords(); w++) {
+                    long diff = current.getWord(i, w) ^ previous.getWord(i, w);
+                    if (diff != 0) {
+                        raw.putInt(i * current.getWords() + w).putLong(diff);
+                        changed++;
+                    }
+                }
+            }
+            raw.putInt(0, changed);
+        }
+        write(type, generation);
+
+        Frame swap = previous;
+        previous = current;
+        current = swap;
+        records++;
+        if (type == KEYFRAME || System.nanoTime() - lastDrain >= DRAIN_MILLIS * 1_000_000) {
+            drain();
+        }
+    }
+
+    private void write(byte type, long generation) throws IOException {
+        deflater.reset();
+        deflater.setInput(raw.array(), 0, raw.position());
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        if (buffer.remaining() < RECORD_HEADER_BYTES) {
+            drain();
+        }
+        buffer.put(type).putLong(generation).putInt(raw.position()).putInt(length);
+        for (int offset = 0; offset < length;) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(length - offset, buffer.remaining());
+            buffer.put(compressed, offset, chunk);
+            offset += chunk;
+        }
+        bytes += RECORD_HEADER_BYTES + length;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        lastDrain = System.nanoTime();
+    }
+
+    /**
+     * Retorna o número de gerações gravadas.
+     *
+     * @return As gerações gravadas.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Retorna o tamanho do arquivo, contando o que ainda está no buffer.
+     *
+     * @return O tamanho em bytes.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Grava o que resta no buffer e fecha o arquivo.
+     *
+     * @throws IOException se a gravação falhar.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            channel.force(false);
+        } finally {
+            channel.close();
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package dom;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Divide as linhas de uma grade em faixas contíguas e executa uma etapa da geração sobre elas em um
+ * {@link ForkJoinPool}. As tarefas são criadas uma única vez e reaproveitadas a cada chamada de
+ * {@link #run()}, de modo que o passo paralelo não aloca nada em regime permanente.
+ * <p>
+ * {@link #run()} só retorna quando todas as faixas terminam, funcionando como barreira entre etapas:
+ * enquanto uma etapa executa, nenhuma faixa altera o estado que as faixas vizinhas leem.
+ * </p>
+ */
+public final class RowBands {
+
+    /**
+     * Etapa executada sobre um intervalo de linhas {@code [from, to)}.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void rows(int from, int to);
+    }
+
+    /**
+     * Quantidade de faixas por thread, para equilibrar faixas com custos diferentes.
+     */
+    private static final int BANDS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final Step step;
+    private final int rows;
+    private final Band[] bands;
+    private final RecursiveAction root;
+
+    /**
+     * Cria as faixas para uma grade com o número de linhas informado.
+     *
+     * @param pool O pool que executará as faixas, ou {@code null} para executar tudo na thread atual.
+     * @param rows O número de linhas da grade.
+     * @param step A etapa a ser executada em cada faixa.
+     */
+    public RowBands(ForkJoinPool pool, int rows, Step step) {
+        this.pool = pool;
+        this.step = step;
+        this.rows = rows;
+
+        int count = pool == null ? 1 : Math.max(1, Math.min(rows, pool.getParallelism() * BANDS_PER_THREAD));
+        this.bands = new Band[count];
+        for (int i = 0; i < count; i++) {
+            bands[i] = new Band((int) ((long) rows * i / count), (int) ((long) rows * (i + 1) / count));
+        }
+        this.root = new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                for (Band band : bands) {
+                    band.reinitialize();
+                }
+                invokeAll(bands);
+            }
+        };
+    }
+
+    /**
+     * Executa a etapa em todas as faixas e aguarda o término de todas elas.
+     */
+    public void run() {
+        if (bands.length == 1) {
+            step.rows(0, rows);
+            return;
+        }
+        root.reinitialize();
+        pool.invoke(root);
+    }
+
+    /**
+     * Retorna o número de faixas em que as linhas foram divididas.
+     *
+     * @return O número de faixas.
+     */
+    public int getBandCount() {
+        return bands.length;
+    }
+
+    private final class Band extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+
+        Band(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            step.rows(from, to);
+        }
+    }
+}
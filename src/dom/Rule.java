@@ -0,0 +1,209 @@
+package dom;
+
+/**
+ * Uma regra de autômato do tipo Life na notação B/S: {@code B3/S23} (Conway) faz uma célula morta nascer
+ * com 3 vizinhos vivos e uma célula viva sobreviver com 2 ou 3; {@code B36/S23} é a HighLife e
+ * {@code B2/S} é a Seeds. As contagens vão de 0 a 8 e valem para qualquer layout: com layouts de 4 ou 6
+ * vizinhos, as contagens maiores simplesmente nunca acontecem.
+ * <p>
+ * A regra é compilada uma vez em uma tabela indexada pelo estado da célula e pelo número de vizinhos
+ * ({@link #next(boolean, int)}), sem nenhum desvio por regra ou por contagem. Para os motores em bits, a
+ * mesma tabela vira 18 constantes de 64 bits, e {@link #apply(long, long, long, long, long)} escolhe o
+ * próximo estado de 64 células de uma vez a partir dos planos da contagem, com uma árvore de
+ * multiplexadores bit a bit. A regra de Conway, a mais usada, tem uma forma reduzida à mão com quatro
+ * operações; a escolha depende só da regra, nunca das células, então o desvio é sempre previsto.
+ * </p>
+ */
+public final class Rule {
+    /**
+     * A regra de Conway, padrão de todos os motores.
+     */
+    public static final Rule CONWAY = parse("B3/S23");
+
+    private final int births, survivals;
+    private final boolean conway;
+    private final boolean[] table = new boolean[18];
+    // Por contagem k: o próximo estado de uma célula morta (-1 se nasce) e o XOR com o de uma viva
+    private final long b0, b1, b2, b3, b4, b5, b6, b7, b8;
+    private final long x0, x1, x2, x3, x4, x5, x6, x7, x8;
+
+    private Rule(int births, int survivals) {
+        this.births = births;
+        this.survivals = survivals;
+        this.conway = births == 1 << 3 && survivals == (1 << 2 | 1 << 3);
+        for (int k = 0; k <= 8; k++) {
+            table[k] = (births & (1 << k)) != 0;
+            table[9 + k] = (survivals & (1 << k)) != 0;
+        }
+        b0 = constant(births, 0);
+        b1 = constant(births, 1);
+        b2 = constant(births, 2);
+        b3 = constant(births, 3);
+        b4 = constant(births, 4);
+        b5 = constant(births, 5);
+        b6 = constant(births, 6);
+        b7 = constant(births, 7);
+        b8 = constant(births, 8);
+        x0 = constant(births ^ survivals, 0);
+        x1 = constant(births ^ survivals, 1);
+        x2 = constant(births ^ survivals, 2);
+        x3 = constant(births ^ survivals, 3);
+        x4 = constant(births ^ survivals, 4);
+        x5 = constant(births ^ survivals, 5);
+        x6 = constant(births ^ survivals, 6);
+        x7 = constant(births ^ survivals, 7);
+        x8 = constant(births ^ survivals, 8);
+    }
+
+    /**
+     * Interpreta uma regra em notação B/S, como {@code B36/S23}. Também são aceitos a forma sem barra
+     * ({@code B36S23}), as partes em qualquer ordem, letras minúsculas e a notação antiga S/B só com
+     * números ({@code 23/36}).
+     *
+     * @param notation A regra.
+     * @return A regra compilada.
+     * @throws IllegalArgumentException se a notação não for válida.
+     */
+    public static Rule parse(String notation) {
+        String text = notation.trim().toUpperCase();
+        int births = 0, survivals = 0;
+        boolean hasBirths = false, hasSurvivals = false;
+        if (text.startsWith("/") || (!text.isEmpty() && Character.isDigit(text.charAt(0)))) {
+            // Notação S/B: sobrevivência antes da barra, nascimento depois
+            int slash = text.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Rule without a slash: " + notation);
+            }
+            survivals = digits(text.substring(0, slash), notation);
+            births = digits(text.substring(slash + 1), notation);
+            return new Rule(births, survivals);
+        }
+        int i = 0;
+        while (i < text.length()) {
+            char part = text.charAt(i++);
+            int end = i;
+            while (end < text.length() && Character.isDigit(text.charAt(end))) {
+                end++;
+            }
+            int mask = digits(text.substring(i, end), notation);
+            if (part == 'B' && !hasBirths) {
+                births = mask;
+                hasBirths = true;
+            } else if (part == 'S' && !hasSurvivals) {
+                survivals = mask;
+                hasSurvivals = true;
+            } else {
+                throw new IllegalArgumentException("Invalid rule: " + notation);
+            }
+            i = end;
+            if (i < text.length() && text.charAt(i) == '/') {
+                i++;
+            }
+        }
+        if (!hasBirths || !hasSurvivals) {
+            throw new IllegalArgumentException("Rule needs both B and S parts: " + notation);
+        }
+        return new Rule(births, survivals);
+    }
+
+    /**
+     * Retorna -1 (todos os bits ligados) se o bit {@code k} da máscara estiver ligado, ou 0.
+     */
+    private static long constant(int mask, int k) {
+        return -(long) ((mask >>> k) & 1);
+    }
+
+    private static int digits(String text, String notation) {
+        int mask = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int k = text.charAt(i) - '0';
+            if (k < 0 || k > 8) {
+                throw new IllegalArgumentException("Neighbour counts must be digits from 0 to 8: " + notation);
+            }
+            mask |= 1 << k;
+        }
+        return mask;
+    }
+
+    /**
+     * Retorna o próximo estado de uma célula.
+     *
+     * @param alive     O estado atual da célula.
+     * @param neighbors O número de vizinhos vivos (0 a 8).
+     * @return true se a célula estiver viva na próxima geração.
+     */
+    public boolean next(boolean alive, int neighbors) {
+        return table[(alive ? 9 : 0) + neighbors];
+    }
+
+    /**
+     * Retorna o próximo estado de 64 células a partir do estado atual e dos quatro planos de bits da
+     * contagem de vizinhos ({@code ones + 2 * twos + 4 * fours + 8 * eights}). Como a contagem vai até 8,
+     * {@code eights} só é 1 quando os outros planos são 0.
+     *
+     * @param alive  As células vivas.
+     * @param ones   O bit 0 da contagem de cada célula.
+     * @param twos   O bit 1 da contagem de cada célula.
+     * @param fours  O bit 2 da contagem de cada célula.
+     * @param eights O bit 3 da contagem de cada célula.
+     * @return As células vivas na próxima geração.
+     */
+    public long apply(long alive, long ones, long twos, long fours, long eights) {
+        if (conway) {
+            // A regra padrão reduzida à mão: nasce com 3 vizinhos, sobrevive com 2 ou 3
+            return ~eights & ~fours & twos & (ones | alive);
+        }
+        // Folhas: o próximo estado para cada contagem, já escolhido entre nascer e sobreviver
+        long k0 = b0 ^ (alive & x0), k1 = b1 ^ (alive & x1), k2 = b2 ^ (alive & x2);
+        long k3 = b3 ^ (alive & x3), k4 = b4 ^ (alive & x4), k5 = b5 ^ (alive & x5);
+        long k6 = b6 ^ (alive & x6), k7 = b7 ^ (alive & x7), k8 = b8 ^ (alive & x8);
+        // Multiplexadores: ones escolhe entre contagens vizinhas, depois twos, fours e eights
+        long m01 = k0 ^ (ones & (k0 ^ k1)), m23 = k2 ^ (ones & (k2 ^ k3));
+        long m45 = k4 ^ (ones & (k4 ^ k5)), m67 = k6 ^ (ones & (k6 ^ k7));
+        long m03 = m01 ^ (twos & (m01 ^ m23)), m47 = m45 ^ (twos & (m45 ^ m67));
+        long m07 = m03 ^ (fours & (m03 ^ m47));
+        return m07 ^ (eights & (m07 ^ k8));
+    }
+
+    /**
+     * Indica se células mortas sem nenhum vizinho vivo nascem ({@code B0}). Essas regras acendem o
+     * universo inteiro de uma vez e não podem ser usadas nos motores sem bordas.
+     *
+     * @return true se a regra tiver nascimento com 0 vizinhos.
+     */
+    public boolean isBornAlone() {
+        return (births & 1) != 0;
+    }
+
+    /**
+     * Retorna a regra em notação B/S, como {@code B36/S23}.
+     *
+     * @return A notação da regra.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("B");
+        for (int k = 0; k <= 8; k++) {
+            if ((births & (1 << k)) != 0) {
+                text.append(k);
+            }
+        }
+        text.append("/S");
+        for (int k = 0; k <= 8; k++) {
+            if ((survivals & (1 << k)) != 0) {
+                text.append(k);
+            }
+        }
+        return text.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Rule rule && rule.births == births && rule.survivals == survivals;
+    }
+
+    @Override
+    public int hashCode() {
+        return births * 512 + survivals;
+    }
+}
@@ -0,0 +1,344 @@
+package dom;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Motor de simulação esparso e sem bordas: apenas as coordenadas das células vivas são guardadas, em um
+ * conjunto de {@code long} sem objetos por célula. O universo cresce sem limite e cada geração custa
+ * tempo e memória proporcionais à população, não à área ocupada pelo padrão.
+ * <p>
+ * A cada geração, cada célula viva soma 1 ao contador de cada uma das posições que a têm como vizinha.
+ * Células vivas sobrevivem conforme o seu contador e posições mortas com contador positivo podem nascer.
+ * As dimensões informadas no construtor definem apenas a janela usada para carregar o padrão inicial e
+ * para exibir a grade; as coordenadas válidas vão de {@code -2^31 + 1} a {@code 2^31 - 1}.
+ * </p>
+ */
+public class SparseGrid implements LifeEngine, StateTracking {
+    private final int line, column;
+    private LongHashSet alive = new LongHashSet();
+    private LongHashSet nextAlive = new LongHashSet();
+    private final LongIntMap counts = new LongIntMap();
+    private long births, deaths;
+    private long stateHash;
+    private Rule rule = Rule.CONWAY;
+
+    /**
+     * Constrói um universo vazio, exibido por uma janela com as dimensões especificadas.
+     *
+     * @param line   Número de linhas da janela.
+     * @param column Número de colunas da janela.
+     */
+    public SparseGrid(int line, int column) {
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * Define a regra de nascimento e sobrevivência das próximas gerações.
+     *
+     * @param rule A regra, sem nascimento com 0 vizinhos.
+     * @throws IllegalArgumentException se a regra tiver {@code B0}, que acenderia o universo infinito.
+     */
+    public void setRule(Rule rule) {
+        if (rule.isBornAlone()) {
+            throw new IllegalArgumentException("Rules with B0 need a bounded universe: " + rule);
+        }
+        this.rule = rule;
+    }
+
+    /**
+     * Retorna a regra de nascimento e sobrevivência das próximas gerações.
+     *
+     * @return A regra.
+     */
+    public Rule getRule() {
+        return rule;
+    }
+
+    /**
+     * Inicializa o universo com um padrão fornecido como uma string, centralizado na janela, com as mesmas
+     * regras de {@link Grid#initializeGrid(String)}.
+     *
+     * @param pattern String representando o padrão inicial da grade.
+     */
+    public void initializeGrid(String pattern) {
+        String[] rows = pattern.split("#");
+
+        if (rows.length > line || rows[0].length() > column) {
+            System.out.println("Error: The pattern is larger than the grid size.");
+            return;
+        }
+
+        int startRow = Math.max(0, (line - rows.length) / 2);
+        int startCol = Math.max(0, (column - rows[0].length()) / 2);
+
+        for (int i = 0; i < rows.length; i++) {
+            String row = rows[i];
+            for (int j = 0; j < row.length(); j++) {
+                setAlive(startRow + i, startCol + j, row.charAt(j) == '1');
+            }
+        }
+    }
+
+    /**
+     * Avança o universo uma geração com a regra definida por {@link #setRule(Rule)}, usando o layout de
+     * vizinhança especificado. Só as células vivas e as posições com algum vizinho vivo são avaliadas,
+     * já que sem {@code B0} uma posição sem vizinhos vivos nunca nasce.
+     *
+     * @param layout O tipo de layout de vizinhança (1 a 5).
+     */
+    public void updateGrid(int layout) {
+        NeighborhoodKernel kernel = NeighborhoodKernel.forLayout(layout);
+        int size = kernel.size();
+
+        // Cada célula viva é vizinha das posições que estão no deslocamento oposto
+        counts.clear();
+        long[] cells = alive.table();
+        for (long cell : cells) {
+            if (cell == LongHashSet.EMPTY) {
+                continue;
+            }
+            int x = row(cell);
+            int y = column(cell);
+            for (int k = 0; k < size; k++) {
+                int nx = x - kernel.rowOffset(k);
+                // A linha -2^31 fica fora do universo: a sua chave coincidiria com LongHashSet.EMPTY
+                if (nx != Integer.MIN_VALUE) {
+                    counts.increment(pack(nx, y - kernel.columnOffset(k)));
+                }
+            }
+        }
+
+        nextAlive.clear();
+        // Sobrevivência: as células vivas, com qualquer número de vizinhos
+        for (long cell : cells) {
+            if (cell != LongHashSet.EMPTY) {
+                if (rule.next(true, counts.get(cell))) {
+                    nextAlive.add(cell);
+                } else {
+                    stateHash ^= StateHash.cell(row(cell), column(cell));
+                }
+            }
+        }
+        int survivors = nextAlive.size();
+        // Nascimento: as posições mortas com algum vizinho vivo
+        long[] keys = counts.keyTable();
+        int[] values = counts.valueTable();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != LongHashSet.EMPTY && rule.next(false, values[i]) && !alive.contains(keys[i])) {
+                nextAlive.add(keys[i]);
+                stateHash ^= StateHash.cell(row(keys[i]), column(keys[i]));
+            }
+        }
+
+        deaths += alive.size() - survivors;
+        births += nextAlive.size() - survivors;
+
+        LongHashSet swap = alive;
+        alive = nextAlive;
+        nextAlive = swap;
+    }
+
+    /**
+     * Verifica se a célula na posição especificada está viva.
+     *
+     * @param x A coordenada da linha.
+     * @param y A coordenada da coluna.
+     * @return true se a célula estiver viva, false caso contrário.
+     */
+    public boolean isAlive(int x, int y) {
+        return x != Integer.MIN_VALUE && alive.contains(pack(x, y));
+    }
+
+    /**
+     * Copia a região para o frame. Quando a população é menor que a área da região, percorre as células
+     * vivas em vez das posições da região, mantendo o custo proporcional à população.
+     *
+     * @param frame     O frame a ser preenchido.
+     * @param originRow A linha do universo correspondente à linha 0 do frame.
+     * @param originCol A coluna do universo correspondente à coluna 0 do frame.
+     */
+    public void snapshot(Frame frame, int originRow, int originCol) {
+        if ((long) frame.getLine() * frame.getColumn() <= alive.size()) {
+            LifeEngine.super.snapshot(frame, originRow, originCol);
+            return;
+        }
+        frame.reset(originRow, originCol);
+        for (long cell : alive.table()) {
+            if (cell != LongHashSet.EMPTY) {
+                long i = (long) row(cell) - originRow;
+                long j = (long) column(cell) - originCol;
+                if (i >= 0 && i < frame.getLine() && j >= 0 && j < frame.getColumn()) {
+                    frame.setAlive((int) i, (int) j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Define o estado atual da célula na posição especificada.
+     *
+     * @param x     A coordenada da linha.
+     * @param y     A coordenada da coluna.
+     * @param alive true para viva, false para morta.
+     * @throws IllegalArgumentException se a linha for {@code -2^31}, que fica fora do universo.
+     */
+    public void setAlive(int x, int y, boolean alive) {
+        if (x == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Row " + x + " is outside the sparse universe");
+        }
+        boolean changed = alive ? this.alive.add(pack(x, y)) : this.alive.remove(pack(x, y));
+        if (changed) {
+            stateHash ^= StateHash.cell(x, y);
+        }
+    }
+
+    /**
+     * Retorna o número de células vivas em todo o universo.
+     *
+     * @return A população atual.
+     */
+    public long getPopulation() {
+        return alive.size();
+    }
+
+    /**
+     * Retorna o total de células que nasceram desde a criação do universo.
+     *
+     * @return O total de nascimentos.
+     */
+    public long getBirths() {
+        return births;
+    }
+
+    /**
+     * Retorna o total de células que morreram desde a criação do universo.
+     *
+     * @return O total de mortes.
+     */
+    public long getDeaths() {
+        return deaths;
+    }
+
+    /**
+     * Indica que o universo não tem bordas: qualquer linha a partir de {@code -2^31 + 1} e qualquer coluna
+     * {@code int} são válidas.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean isBounded() {
+        return false;
+    }
+
+    /**
+     * Retorna o hash de estado do universo, atualizado a cada nascimento e morte.
+     *
+     * @return O hash do estado atual.
+     */
+    @Override
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * Retorna as coordenadas de todas as células vivas, compactadas e ordenadas.
+     *
+     * @return Uma cópia do estado atual.
+     */
+    @Override
+    public long[] copyState() {
+        long[] state = new long[alive.size()];
+        int n = 0;
+        for (long cell : alive.table()) {
+            if (cell != LongHashSet.EMPTY) {
+                state[n++] = cell;
+            }
+        }
+        Arrays.sort(state);
+        return state;
+    }
+
+    /**
+     * Entrega as coordenadas de todas as células vivas, na ordem da tabela interna.
+     *
+     * @param sink Quem recebe os lotes.
+     * @throws IOException se {@code sink} falhar.
+     */
+    public void liveCells(CellSink sink) throws IOException {
+        liveCells(alive.table(), sink);
+    }
+
+    /**
+     * Congela a geração atual com uma cópia da tabela interna, sem percorrer as células.
+     *
+     * @return As células da geração atual.
+     */
+    @Override
+    public CellSource freezeCells() {
+        long[] table = alive.table().clone();
+        return sink -> liveCells(table, sink);
+    }
+
+    private static void liveCells(long[] table, CellSink sink) throws IOException {
+        CellBatch batch = new CellBatch(sink);
+        for (long cell : table) {
+            if (cell != LongHashSet.EMPTY) {
+                batch.add(cell);
+            }
+        }
+        batch.flush();
+    }
+
+    /**
+     * Exibe a janela no console, representando as células vivas com "1"
+     * e as células mortas com "0".
+     */
+    public void printGrid() {
+        for (int x = 0; x < line; x++) {
+            for (int y = 0; y < column; y++) {
+                System.out.print(isAlive(x, y) ? "1 " : "0 ");
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Retorna o número de linhas da janela.
+     *
+     * @return O número de linhas.
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Retorna o número de colunas da janela.
+     *
+     * @return O número de colunas.
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Compacta a posição de uma célula em um {@code long}, no formato usado por
+     * {@link LifeEngine#liveCells(CellSink)} e {@link LifeEngine#setAliveAll(long[], int)}.
+     *
+     * @param x A linha da célula.
+     * @param y A coluna da célula.
+     * @return A célula compactada.
+     */
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    static int row(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    static int column(long cell) {
+        return (int) cell;
+    }
+}
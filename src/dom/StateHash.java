@@ -0,0 +1,40 @@
+package dom;
+
+/**
+ * Chaves do hash de estado (estilo Zobrist) usado na detecção de ciclos. O hash de uma geração é o XOR
+ * das chaves das suas células vivas, então pode ser atualizado apenas com as células que mudam: cada
+ * nascimento ou morte inverte a chave da célula.
+ * <p>
+ * As chaves são derivadas das coordenadas por uma função de espalhamento, sem tabela, e por isso servem
+ * também para os universos sem bordas.
+ * </p>
+ */
+final class StateHash {
+
+    private StateHash() {
+    }
+
+    /**
+     * Retorna a chave da célula na posição informada.
+     *
+     * @param x A coordenada da linha.
+     * @param y A coordenada da coluna.
+     * @return A chave da célula, nunca 0 para coordenadas válidas.
+     */
+    static long cell(int x, int y) {
+        // O deslocamento evita que a célula (0, 0) tenha chave 0
+        return LongHashSet.mix(SparseGrid.pack(x, y) ^ Long.MIN_VALUE);
+    }
+
+    /**
+     * Retorna a contribuição de uma palavra de 64 células de um bitboard, para motores que guardam o
+     * estado em palavras. O hash da grade é o XOR das contribuições de todas as palavras.
+     *
+     * @param index A posição da palavra no bitboard.
+     * @param value As 64 células da palavra.
+     * @return A contribuição da palavra, 0 para uma palavra vazia.
+     */
+    static long word(int index, long value) {
+        return value == 0 ? 0 : LongHashSet.mix(value ^ LongHashSet.mix(index + 1L));
+    }
+}
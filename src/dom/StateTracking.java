@@ -0,0 +1,26 @@
+package dom;
+
+/**
+ * Capacidade opcional dos motores que mantêm um hash do estado, usado na detecção de ciclos
+ * ({@link CycleDetector}). Os motores que não a implementam, como os que saltam várias gerações de uma vez,
+ * não podem ter os ciclos detectados; quem precisa do hash verifica a capacidade com {@code instanceof}.
+ */
+public interface StateTracking {
+
+    /**
+     * Retorna um hash do estado atual, atualizado a cada geração apenas com as células que mudaram. Dois
+     * estados iguais do mesmo motor sempre têm o mesmo hash.
+     *
+     * @return O hash do estado atual.
+     */
+    long getStateHash();
+
+    /**
+     * Retorna uma cópia exata do estado atual, usada para confirmar um ciclo. Duas cópias do mesmo motor
+     * são iguais ({@link java.util.Arrays#equals(long[], long[])}) se, e somente se, os estados forem
+     * iguais.
+     *
+     * @return Uma cópia do estado atual.
+     */
+    long[] copyState();
+}
@@ -0,0 +1,105 @@
+package metrics;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de latências em nanossegundos com baldes log-lineares: cada potência de 2 é dividida em 8
+ * baldes, o que dá um erro relativo de no máximo 12,5% em qualquer percentil, de 1 ns até 2^63 ns, com
+ * um vetor de tamanho fixo.
+ * <p>
+ * {@link #record(long)} não aloca nada e custa poucas instruções. Cada histograma deve ter uma única
+ * thread escrevendo; as leituras de outras threads (JMX, log) podem ver um registro pela metade, o que só
+ * afeta aquela amostra.
+ * </p>
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BITS + 1) * SUB_BUCKETS];
+    private volatile long count;
+    private volatile long max;
+
+    /**
+     * Registra uma amostra.
+     *
+     * @param nanos A latência, em nanossegundos. Valores negativos contam como 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        if (value > max) {
+            max = value;
+        }
+        count = count + 1;
+    }
+
+    /**
+     * Retorna o valor abaixo do qual está a fração informada das amostras, arredondado para o limite
+     * superior do balde.
+     *
+     * @param percentile A fração, entre 0 e 1 (0,99 para o p99).
+     * @return A latência em nanossegundos, ou 0 se não houver amostras.
+     */
+    public long percentile(double percentile) {
+        long total = count;
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Retorna a maior amostra registrada.
+     *
+     * @return A latência máxima em nanossegundos.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Retorna o número de amostras registradas.
+     *
+     * @return O número de amostras.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Descarta todas as amostras.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        max = 0;
+        count = 0;
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BITS + 1) << SUB_BITS) | sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket >>> SUB_BITS) + SUB_BITS - 1;
+        long sub = bucket & (SUB_BUCKETS - 1);
+        long lower = (1L << exponent) | (sub << (exponent - SUB_BITS));
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,177 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas da simulação: latência de cada passo e de cada desenho em histogramas, população, nascimentos
+ * e mortes do último passo e frames descartados.
+ * <p>
+ * A thread da simulação chama {@link #recordStep(long, long, long, long, long, long)} e a thread do Swing
+ * chama {@link #recordPaint(long)}; cada uma escreve apenas nos seus próprios campos, sem locks e sem
+ * alocação. As leituras pelo JMX e pela linha de log periódica acontecem em outras threads e podem
+ * misturar valores de passos vizinhos, o que é aceitável para monitoramento.
+ * </p>
+ */
+public final class SimulationMetrics implements SimulationMetricsMBean {
+    private static final String OBJECT_NAME = "gol:type=SimulationMetrics";
+
+    private final LatencyHistogram steps = new LatencyHistogram();
+    private final LatencyHistogram paints = new LatencyHistogram();
+    private volatile long generation;
+    private volatile long population;
+    private volatile long births;
+    private volatile long deaths;
+    private volatile long droppedFrames;
+    private long lastTotalBirths = -1;
+    private long lastTotalDeaths = -1;
+    private ScheduledExecutorService logger;
+
+    /**
+     * Registra um passo da simulação, que pode ter avançado várias gerações.
+     *
+     * @param nanos         A duração do passo, em nanossegundos.
+     * @param generation    A geração alcançada.
+     * @param population    A população depois do passo.
+     * @param totalBirths   O total de nascimentos informado pelo motor, ou -1 se ele não os acompanha.
+     * @param totalDeaths   O total de mortes informado pelo motor, ou -1 se ele não as acompanha.
+     * @param droppedFrames O total de frames descartados até agora.
+     */
+    public void recordStep(long nanos, long generation, long population, long totalBirths, long totalDeaths,
+            long droppedFrames) {
+        steps.record(nanos);
+        this.generation = generation;
+        this.population = population;
+        this.births = totalBirths < 0 || lastTotalBirths < 0 ? -1 : totalBirths - lastTotalBirths;
+        this.deaths = totalDeaths < 0 || lastTotalDeaths < 0 ? -1 : totalDeaths - lastTotalDeaths;
+        this.lastTotalBirths = totalBirths;
+        this.lastTotalDeaths = totalDeaths;
+        this.droppedFrames = droppedFrames;
+    }
+
+    /**
+     * Informa os totais de nascimentos e mortes antes do primeiro passo, para que o primeiro passo já
+     * tenha nascimentos e mortes.
+     *
+     * @param totalBirths O total de nascimentos informado pelo motor.
+     * @param totalDeaths O total de mortes informado pelo motor.
+     */
+    public void start(long totalBirths, long totalDeaths) {
+        this.lastTotalBirths = totalBirths;
+        this.lastTotalDeaths = totalDeaths;
+    }
+
+    /**
+     * Registra a duração de um desenho do painel.
+     *
+     * @param nanos A duração, em nanossegundos.
+     */
+    public void recordPaint(long nanos) {
+        paints.record(nanos);
+    }
+
+    /**
+     * Publica estas métricas no servidor de MBeans da plataforma, para consulta pelo JConsole, VisualVM ou
+     * qualquer cliente JMX.
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Metrics: could not register the JMX MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Imprime uma linha com o resumo das métricas a cada período, em uma thread de fundo.
+     *
+     * @param seconds O período, em segundos.
+     */
+    public void startLog(int seconds) {
+        logger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.scheduleAtFixedRate(() -> System.out.println(summary()), seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Retorna uma linha com o resumo das métricas.
+     *
+     * @return O resumo.
+     */
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "[metrics] gen=%d step p50=%dus p99=%dus max=%dus | paint p50=%dus p99=%dus max=%dus"
+                        + " | population=%d births=%d deaths=%d dropped=%d",
+                generation, getStepP50Micros(), getStepP99Micros(), getStepMaxMicros(), getPaintP50Micros(),
+                getPaintP99Micros(), getPaintMaxMicros(), population, births, deaths, droppedFrames);
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public long getSteps() {
+        return steps.getCount();
+    }
+
+    public long getStepP50Micros() {
+        return steps.percentile(0.50) / 1000;
+    }
+
+    public long getStepP99Micros() {
+        return steps.percentile(0.99) / 1000;
+    }
+
+    public long getStepMaxMicros() {
+        return steps.getMax() / 1000;
+    }
+
+    public long getPaints() {
+        return paints.getCount();
+    }
+
+    public long getPaintP50Micros() {
+        return paints.percentile(0.50) / 1000;
+    }
+
+    public long getPaintP99Micros() {
+        return paints.percentile(0.99) / 1000;
+    }
+
+    public long getPaintMaxMicros() {
+        return paints.getMax() / 1000;
+    }
+
+    public long getPopulation() {
+        return population;
+    }
+
+    public long getBirths() {
+        return births;
+    }
+
+    public long getDeaths() {
+        return deaths;
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Descarta as amostras dos histogramas. Como as amostras são escritas por outras threads, uma amostra
+     * registrada durante a limpeza pode se perder.
+     */
+    public void reset() {
+        steps.reset();
+        paints.reset();
+    }
+}
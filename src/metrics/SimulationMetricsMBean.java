@@ -0,0 +1,36 @@
+package metrics;
+
+/**
+ * Interface JMX das métricas da simulação, publicada como {@code gol:type=SimulationMetrics}. As
+ * latências são informadas em microssegundos.
+ */
+public interface SimulationMetricsMBean {
+
+    long getGeneration();
+
+    long getSteps();
+
+    long getStepP50Micros();
+
+    long getStepP99Micros();
+
+    long getStepMaxMicros();
+
+    long getPaints();
+
+    long getPaintP50Micros();
+
+    long getPaintP99Micros();
+
+    long getPaintMaxMicros();
+
+    long getPopulation();
+
+    long getBirths();
+
+    long getDeaths();
+
+    long getDroppedFrames();
+
+    void reset();
+}
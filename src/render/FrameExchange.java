@@ -0,0 +1,89 @@
+package render;
+
+import dom.Frame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Troca de frames sem locks entre a thread da simulação (produtora) e a thread de eventos do Swing
+ * (consumidora), com buffer triplo.
+ * <p>
+ * Três frames circulam entre os dois lados: a produtora escreve sempre no seu frame de trás, a
+ * consumidora desenha sempre o seu frame da frente, e o terceiro fica no meio. Publicar e adquirir são
+ * uma única troca atômica com o frame do meio, então nenhum dos lados espera pelo outro e a consumidora
+ * sempre recebe a geração completa mais recente. Gerações publicadas e nunca desenhadas são contadas como
+ * frames descartados.
+ * </p>
+ */
+public final class FrameExchange {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final Frame[] frames;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+    private volatile long dropped;
+
+    /**
+     * Cria a troca com três frames vazios das dimensões informadas.
+     *
+     * @param line   Número de linhas de cada frame.
+     * @param column Número de colunas de cada frame.
+     */
+    public FrameExchange(int line, int column) {
+        this.frames = new Frame[] { new Frame(line, column), new Frame(line, column), new Frame(line, column) };
+    }
+
+    /**
+     * Retorna o frame que a produtora deve preencher. Só deve ser chamado pela thread da simulação.
+     *
+     * @return O frame de trás.
+     */
+    public Frame back() {
+        return frames[back];
+    }
+
+    /**
+     * Publica o frame de trás como a geração mais recente e recebe outro frame para a próxima escrita.
+     * Só deve ser chamado pela thread da simulação.
+     */
+    public void publish() {
+        int previous = middle.getAndSet(back | FRESH);
+        if ((previous & FRESH) != 0) {
+            dropped++;
+        }
+        back = previous & INDEX_MASK;
+    }
+
+    /**
+     * Retorna o frame completo mais recente. Se nada novo foi publicado desde a última chamada, retorna o
+     * mesmo frame. Só deve ser chamado pela thread que desenha.
+     *
+     * @return O frame a ser desenhado.
+     */
+    public Frame latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return frames[front];
+    }
+
+    /**
+     * Retorna quantas gerações publicadas foram substituídas antes de serem desenhadas. Pode ser chamado
+     * de qualquer thread.
+     *
+     * @return O número de frames descartados.
+     */
+    public long getDroppedFrames() {
+        return dropped;
+    }
+
+    public int getLine() {
+        return frames[0].getLine();
+    }
+
+    public int getColumn() {
+        return frames[0].getColumn();
+    }
+}
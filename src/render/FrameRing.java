@@ -0,0 +1,165 @@
+package render;
+
+import dom.Frame;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fila circular limitada de frames entre uma única thread produtora (a simulação, que calcula gerações à
+ * frente) e uma única consumidora (que as exibe no ritmo configurado).
+ * <p>
+ * Os frames são alocados uma vez e reaproveitados: a produtora fotografa a geração no próximo frame livre
+ * ({@link #claim()}) e o entrega ({@link #commit()}); a consumidora lê o mais antigo ({@link #peek()}) e
+ * o devolve ({@link #release()}). Os dois lados só escrevem o seu próprio contador, então a fila não usa
+ * locks. Com a fila cheia, a produtora dorme até a consumidora liberar um frame, o que limita a
+ * antecipação a {@link #capacity()} frames; com ela vazia, a consumidora pode esperar por um frame novo
+ * ({@link #await(long)}).
+ * </p>
+ */
+public final class FrameRing {
+    private final Frame[] frames;
+    // Posições absolutas: a produtora só escreve tail, a consumidora só escreve head
+    private volatile long head;
+    private volatile long tail;
+    private volatile boolean finished;
+    private volatile boolean cancelled;
+    private volatile Thread waitingProducer;
+    private volatile Thread waitingConsumer;
+
+    /**
+     * Cria a fila com frames vazios das dimensões informadas.
+     *
+     * @param capacity Quantos frames a produtora pode calcular à frente (1 ou mais).
+     * @param line     Número de linhas de cada frame.
+     * @param column   Número de colunas de cada frame.
+     */
+    public FrameRing(int capacity, int line, int column) {
+        this.frames = new Frame[capacity];
+        for (int i = 0; i < capacity; i++) {
+            frames[i] = new Frame(line, column);
+        }
+    }
+
+    /**
+     * Retorna o próximo frame livre, esperando enquanto a fila estiver cheia. Só deve ser chamado pela
+     * thread produtora.
+     *
+     * @return O frame a ser preenchido, ou {@code null} se a fila foi cancelada ({@link #cancel()}).
+     * @throws InterruptedException se a thread for interrompida enquanto espera.
+     */
+    public Frame claim() throws InterruptedException {
+        long position = tail;
+        while (position - head == frames.length) {
+            if (cancelled) {
+                return null;
+            }
+            waitingProducer = Thread.currentThread();
+            // Confere de novo depois de se anunciar, para não perder um release() ou cancel() concorrente
+            if (position - head == frames.length && !cancelled) {
+                LockSupport.park(this);
+            }
+            waitingProducer = null;
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return frames[(int) (position % frames.length)];
+    }
+
+    /**
+     * Entrega à consumidora o frame obtido com {@link #claim()}. Só deve ser chamado pela thread produtora.
+     */
+    public void commit() {
+        tail = tail + 1;
+        wake(waitingConsumer);
+    }
+
+    /**
+     * Avisa que a produtora não vai entregar mais frames. Só deve ser chamado pela thread produtora.
+     */
+    public void finish() {
+        finished = true;
+        wake(waitingConsumer);
+    }
+
+    /**
+     * Libera a produtora de uma espera em {@link #claim()}, agora e nas próximas chamadas com a fila cheia,
+     * quando ninguém mais vai consumir os frames. Pode ser chamado por qualquer thread.
+     */
+    public void cancel() {
+        cancelled = true;
+        wake(waitingProducer);
+    }
+
+    /**
+     * Retorna o frame mais antigo da fila, sem removê-lo. Só deve ser chamado pela thread consumidora.
+     *
+     * @return O frame, ou {@code null} se a fila estiver vazia.
+     */
+    public Frame peek() {
+        long position = head;
+        return position == tail ? null : frames[(int) (position % frames.length)];
+    }
+
+    /**
+     * Espera até que haja um frame na fila, até o tempo informado. Só deve ser chamado pela thread
+     * consumidora.
+     *
+     * @param nanos O tempo máximo de espera, em nanossegundos.
+     * @return O frame mais antigo, ou {@code null} se nenhum chegou a tempo.
+     */
+    public Frame await(long nanos) {
+        Frame frame = peek();
+        if (frame == null && !finished) {
+            waitingConsumer = Thread.currentThread();
+            if (head == tail && !finished) {
+                LockSupport.parkNanos(this, nanos);
+            }
+            waitingConsumer = null;
+            frame = peek();
+        }
+        return frame;
+    }
+
+    /**
+     * Devolve o frame mais antigo para a produtora. Só deve ser chamado pela thread consumidora, depois de
+     * {@link #peek()} ter retornado um frame.
+     */
+    public void release() {
+        head = head + 1;
+        wake(waitingProducer);
+    }
+
+    /**
+     * Indica se a produtora terminou e todos os frames já foram consumidos.
+     *
+     * @return true se não há mais nada a exibir.
+     */
+    public boolean isDrained() {
+        return finished && head == tail;
+    }
+
+    /**
+     * Retorna quantos frames estão prontos na fila.
+     *
+     * @return O número de frames calculados à frente.
+     */
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    /**
+     * Retorna quantos frames a fila comporta.
+     *
+     * @return A capacidade da fila.
+     */
+    public int capacity() {
+        return frames.length;
+    }
+
+    private static void wake(Thread thread) {
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -1,9 +1,19 @@
 package render;
 
-import dom.Grid;
+import dom.Frame;
+import metrics.SimulationMetrics;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Renderiza a grade do jogo Game of Life utilizando a biblioteca Swing para
@@ -19,39 +29,370 @@ import java.awt.*;
  * cada geração as células são desenhadas conforme sua condição (viva ou morta)
  * em uma interface gráfica simples.
  * </p>
+ * <p>
+ * Há dois modos de desenho. O modo de células desenha um retângulo por célula.
+ * O modo raster escreve a cor de cada pixel diretamente no {@code int[]} de um
+ * {@link BufferedImage} do tamanho do painel e o desenha com uma única chamada
+ * {@code drawImage}, de modo que o custo do frame não depende do número de
+ * células vivas. As linhas da grade, opcionais, são uma camada pré-renderizada
+ * desenhada por cima.
+ * </p>
+ * <p>
+ * O painel é uma janela de visualização sobre o frame, com no máximo 1000x800
+ * pixels: arrastar com o mouse move a janela, a roda do mouse (ou as teclas
+ * {@code +} e {@code -}) aproxima e afasta em torno do cursor, e {@code 0}
+ * volta a enquadrar a grade inteira. Abaixo de um pixel por célula, cada pixel
+ * cobre um bloco de 2^n x 2^n células e é pintado com a densidade de células
+ * vivas do bloco, tirada de uma pirâmide de contagens: o nível de 8x8 células
+ * vem das contagens de cada bloco de alteração, e cada nível acima soma quatro
+ * blocos do anterior. A pirâmide só é recalculada nos blocos que mudaram, então
+ * o custo do desenho é limitado pelos pixels da tela, e não pelo tamanho da
+ * grade.
+ * </p>
+ * <p>
+ * A cada frame novo, o painel compara os bits do frame com os do último frame
+ * exibido, palavra por palavra, e marca os blocos de 8x64 células que mudaram.
+ * Os blocos são agrupados em poucos retângulos e só essas áreas são
+ * redesenhadas com {@code repaint(x, y, w, h)}; em tabuleiros quase estáveis, o
+ * custo de desenho fica próximo de zero.
+ * </p>
  */
 public class SwingRenderer extends JPanel {
-    private Grid grid;
+    private static final int ALIVE_RGB = 0x00FF00;
+    private static final int DEAD_RGB = 0xFFFFFF;
+    private static final int MAX_WIDTH = 1000;
+    private static final int MAX_HEIGHT = 800;
+    private static final int MAX_CELL_SIZE = 64;
+    /**
+     * Nível da pirâmide de densidade calculado direto dos bits: blocos de 8x8
+     * células, oito por bloco de alteração. Os níveis abaixo dele são contados
+     * direto dos bits na hora do desenho.
+     */
+    private static final int BASE_LEVEL = 3;
+    /**
+     * Blocos de alteração têm 8 linhas por uma palavra (64 colunas).
+     */
+    private static final int TILE_ROWS = 8;
+    /**
+     * Acima deste número de retângulos, redesenha a área que envolve todos eles.
+     */
+    private static final int MAX_RECTS = 64;
+
+    private final FrameExchange frames;
+    private final boolean raster;
+    private final boolean gridlines;
+    private final int[] palette = new int[256];
+    private BufferedImage gridOverlay;
+
+    // Janela de visualização, acessada apenas pela thread do Swing. Com level > 0,
+    // cada pixel cobre 2^level x 2^level células e cellSize é 1.
     private int cellSize;
+    private int level;
+    private int maxLevel;
+    private int viewRow, viewCol;
+    private int dragX, dragY, dragRow, dragCol;
+    private int viewWidth, viewHeight;
+    private BufferedImage view;
+    private int[] viewPixels;
+    private boolean viewStale = true;
+    // Pirâmide de densidade: density[l] conta as células vivas de cada bloco de 2^l x 2^l
+    private int[][] density;
+    private int[] densityRows, densityColumns;
+    private final KeyAdapter zoomKeys = new KeyAdapter() {
+        @Override
+        public void keyTyped(KeyEvent e) {
+            switch (e.getKeyChar()) {
+                case '+', '=' -> zoom(1, getWidth() / 2, getHeight() / 2);
+                case '-' -> zoom(-1, getWidth() / 2, getHeight() / 2);
+                case '0' -> {
+                    fit(getWidth(), getHeight());
+                    viewChanged();
+                }
+                default -> {
+                }
+            }
+        }
+    };
+
+    // Estado exibido, acessado apenas pela thread do Swing
+    private final int words;
+    private long[] painted;
+    private Frame shown;
+    private long shownGeneration;
+    private int shownRow, shownCol;
+    private final boolean[] dirtyTiles;
+    private final int[] rectX0, rectX1, rectY0, rectY1;
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final Runnable refreshTask = this::refresh;
+    private SimulationMetrics metrics;
+    private volatile int originRow;
+    private volatile int originCol;
 
     /**
-     * Constrói um objeto SwingRenderer para a grade fornecida, configurando o
-     * painel com o tamanho apropriado
-     * com base no número de linhas e colunas da grade e uma resolução máxima de
-     * tela.
+     * Constrói um objeto SwingRenderer que desenha os frames publicados pela
+     * simulação, configurando o painel com o tamanho apropriado com base no
+     * número de linhas e colunas dos frames e uma resolução máxima de tela.
+     * <p>
+     * O painel nunca lê o motor de simulação diretamente: ele sempre desenha o
+     * frame completo mais recente da troca, de modo que uma geração nunca aparece
+     * pela metade e a simulação nunca espera pelo desenho.
+     * </p>
      *
-     * @param grid A grade que será renderizada neste painel.
+     * @param frames A troca de frames alimentada pela thread da simulação.
      */
-    public SwingRenderer(Grid grid) {
-        this.grid = grid;
+    public SwingRenderer(FrameExchange frames) {
+        this(frames, false, true);
+    }
+
+    /**
+     * Constrói um objeto SwingRenderer escolhendo o modo de desenho.
+     *
+     * @param frames    A troca de frames alimentada pela thread da simulação.
+     * @param raster    true para desenhar a grade como uma única imagem, false para
+     *                  desenhar um retângulo por célula.
+     * @param gridlines true para desenhar as linhas da grade quando as células
+     *                  forem grandes o suficiente.
+     */
+    public SwingRenderer(FrameExchange frames, boolean raster, boolean gridlines) {
+        this.frames = frames;
+        this.raster = raster;
+        this.gridlines = gridlines;
+        this.words = (frames.getColumn() + 63) >>> 6;
+        this.dirtyTiles = new boolean[((frames.getLine() + TILE_ROWS - 1) / TILE_ROWS) * words];
+        this.rectX0 = new int[MAX_RECTS];
+        this.rectX1 = new int[MAX_RECTS];
+        this.rectY0 = new int[MAX_RECTS];
+        this.rectY1 = new int[MAX_RECTS];
         calculateCellSize();
-        setPreferredSize(new Dimension(grid.getColumn() * cellSize, grid.getLine() * cellSize));
+        createDensityPyramid();
+        palette[0] = DEAD_RGB;
+        for (int k = 1; k < palette.length; k++) {
+            // Do verde claro (poucas células vivas no bloco) ao verde puro (bloco cheio)
+            int light = 191 - (k - 1) * 191 / (palette.length - 2);
+            palette[k] = ALIVE_RGB | light << 16 | light;
+        }
+        if (level == 0) {
+            setPreferredSize(new Dimension(frames.getColumn() * cellSize, frames.getLine() * cellSize));
+        } else {
+            setPreferredSize(new Dimension(blocks(frames.getColumn(), level), blocks(frames.getLine(), level)));
+        }
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+                dragY = e.getY();
+                dragRow = viewRow;
+                dragCol = viewCol;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                viewRow = dragRow - ((e.getY() - dragY) << level) / cellSize;
+                viewCol = dragCol - ((e.getX() - dragX) << level) / cellSize;
+                viewChanged();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(e.getWheelRotation() < 0 ? 1 : -1, e.getX(), e.getY());
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
     }
 
+    /**
+     * Escolhe o maior tamanho de célula com que a grade inteira cabe em 1000x800
+     * pixels. Se nem um pixel por célula couber, começa no nível de densidade em
+     * que a grade cabe, que também é o maior afastamento permitido.
+     */
     private void calculateCellSize() {
-        int maxW = 1000;
-        int maxH = 800;
-        int cols = grid.getColumn();
-        int rows = grid.getLine();
+        maxLevel = 0;
+        while (blocks(frames.getColumn(), maxLevel) > MAX_WIDTH || blocks(frames.getLine(), maxLevel) > MAX_HEIGHT) {
+            maxLevel++;
+        }
+        fit(MAX_WIDTH, MAX_HEIGHT);
+    }
+
+    /**
+     * Enquadra a grade inteira em uma área de {@code width} x {@code height}
+     * pixels, a partir do canto superior esquerdo.
+     */
+    private void fit(int width, int height) {
+        int cellW = Math.max(width, 1) / frames.getColumn();
+        int cellH = Math.max(height, 1) / frames.getLine();
+        cellSize = Math.max(1, Math.min(MAX_CELL_SIZE, Math.min(cellW, cellH)));
+        level = 0;
+        while (level < maxLevel
+                && (blocks(frames.getColumn(), level) > width || blocks(frames.getLine(), level) > height)) {
+            level++;
+        }
+        viewRow = 0;
+        viewCol = 0;
+        gridOverlay = null;
+    }
+
+    /**
+     * Retorna quantos blocos de 2^level células cobrem {@code cells} células.
+     */
+    private static int blocks(int cells, int level) {
+        return ((cells - 1) >> level) + 1;
+    }
+
+    /**
+     * Cria a pirâmide de densidade, se a grade só couber na tela em algum nível a
+     * partir de {@link #BASE_LEVEL}. O nível base tem um bloco por byte de cada
+     * bloco de alteração; cada nível acima tem metade das linhas e das colunas,
+     * arredondadas para cima.
+     */
+    private void createDensityPyramid() {
+        if (maxLevel < BASE_LEVEL) {
+            return;
+        }
+        density = new int[maxLevel + 1][];
+        densityRows = new int[maxLevel + 1];
+        densityColumns = new int[maxLevel + 1];
+        densityRows[BASE_LEVEL] = dirtyTiles.length / words;
+        densityColumns[BASE_LEVEL] = words << (6 - BASE_LEVEL);
+        for (int l = BASE_LEVEL; l <= maxLevel; l++) {
+            if (l > BASE_LEVEL) {
+                densityRows[l] = (densityRows[l - 1] + 1) >> 1;
+                densityColumns[l] = (densityColumns[l - 1] + 1) >> 1;
+            }
+            density[l] = new int[densityRows[l] * densityColumns[l]];
+        }
+    }
 
-        int cellW = maxW / cols;
-        int cellH = maxH / rows;
+    /**
+     * Começa a atualizar a tela na taxa informada, com um {@link Timer} do Swing
+     * que busca o frame mais recente a cada quadro. A taxa da tela fica
+     * independente da simulação: se várias gerações forem publicadas entre dois
+     * quadros, só a última é desenhada.
+     *
+     * @param fps Os quadros por segundo.
+     */
+    public void start(int fps) {
+        Timer timer = new Timer(Math.max(1, 1000 / fps), e -> refresh());
+        timer.setCoalesce(true);
+        timer.start();
+    }
+
+    /**
+     * Passa a registrar a duração de cada desenho nas métricas informadas.
+     *
+     * @param metrics As métricas da simulação, ou {@code null} para não registrar.
+     */
+    public void setMetrics(SimulationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Move a janela de visualização sobre o universo. Em motores sem bordas, como
+     * o esparso e o HashLife, isso permite acompanhar padrões que saem da área
+     * inicial; em grades limitadas, as posições fora da grade aparecem mortas.
+     * A nova região aparece nos frames que a simulação calcular depois do
+     * movimento: os frames já calculados à frente continuam sendo exibidos com a
+     * origem anterior e, com o jogo pausado, a geração atual continua na tela.
+     *
+     * @param rows    Quantas linhas deslocar (negativo para cima).
+     * @param columns Quantas colunas deslocar (negativo para a esquerda).
+     */
+    public void pan(int rows, int columns) {
+        originRow += rows;
+        originCol += columns;
+    }
 
-        this.cellSize = Math.min(cellW, cellH);
-        // Ensure minimum size for visibility
-        if (this.cellSize < 2) {
-            this.cellSize = 2;
+    /**
+     * Retorna a linha do universo exibida no topo do painel.
+     *
+     * @return A linha de origem da janela de visualização.
+     */
+    public int getOriginRow() {
+        return originRow;
+    }
+
+    /**
+     * Retorna a coluna do universo exibida à esquerda do painel.
+     *
+     * @return A coluna de origem da janela de visualização.
+     */
+    public int getOriginCol() {
+        return originCol;
+    }
+
+    /**
+     * Liga as teclas de zoom à janela que contém o painel: {@code +} (ou
+     * {@code =}) e {@code -} aproximam e afastam em torno do centro, e {@code 0}
+     * enquadra a grade inteira. As outras teclas continuam com os executores.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        Window window = SwingUtilities.getWindowAncestor(this);
+        if (window != null) {
+            window.addKeyListener(zoomKeys);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        Window window = SwingUtilities.getWindowAncestor(this);
+        if (window != null) {
+            window.removeKeyListener(zoomKeys);
+        }
+        super.removeNotify();
+    }
+
+    /**
+     * Aproxima ({@code steps > 0}) ou afasta a visualização um passo, mantendo
+     * parada a célula sob o ponto {@code (x, y)} do painel. Aproximar dobra o
+     * tamanho da célula, até 64 pixels; afastar divide o tamanho por dois até um
+     * pixel e, a partir daí, junta blocos de 2x2 em um pixel, até a grade inteira
+     * caber no painel de 1000x800.
+     */
+    private void zoom(int steps, int x, int y) {
+        int anchorRow = viewRow + (y << level) / cellSize;
+        int anchorCol = viewCol + (x << level) / cellSize;
+        if (steps > 0) {
+            if (level > 0) {
+                level--;
+            } else if (cellSize < MAX_CELL_SIZE) {
+                cellSize *= 2;
+            } else {
+                return;
+            }
+        } else if (cellSize > 1) {
+            cellSize /= 2;
+        } else if (level < maxLevel) {
+            level++;
+        } else {
+            return;
         }
+        viewRow = anchorRow - (y << level) / cellSize;
+        viewCol = anchorCol - (x << level) / cellSize;
+        gridOverlay = null;
+        viewChanged();
+    }
+
+    /**
+     * Mantém a janela dentro da grade e pede o redesenho do painel inteiro.
+     */
+    private void viewChanged() {
+        clampView();
+        viewStale = true;
+        repaint();
+    }
+
+    /**
+     * Limita a origem da janela à grade e a alinha aos blocos do nível atual.
+     */
+    private void clampView() {
+        int visibleRows = (Math.max(getHeight(), 1) << level) / cellSize;
+        int visibleCols = (Math.max(getWidth(), 1) << level) / cellSize;
+        viewRow = Math.max(0, Math.min(viewRow, frames.getLine() - visibleRows)) >> level << level;
+        viewCol = Math.max(0, Math.min(viewCol, frames.getColumn() - visibleCols)) >> level << level;
     }
 
     /**
@@ -64,43 +405,355 @@ public class SwingRenderer extends JPanel {
      * <p>
      * Este método é invocado automaticamente pelo Swing sempre que é necessário
      * atualizar a exibição
-     * da interface gráfica. Ele itera por todas as células da grade e desenha um
-     * quadrado correspondente a cada
-     * célula com a cor apropriada.
+     * da interface gráfica. Ele desenha apenas as células que cruzam a área de
+     * recorte ({@code clip}) do contexto gráfico, com a cor apropriada.
      * </p>
      *
      * @param g O contexto gráfico utilizado para desenhar os componentes na tela.
      */
     @Override
     protected void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        paintFrame(g);
+        if (metrics != null) {
+            metrics.recordPaint(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Desenha a parte visível da cópia exibida do frame: pela imagem da janela no
+     * modo raster e nos níveis de densidade, ou célula por célula.
+     */
+    private void paintFrame(Graphics g) {
         super.paintComponent(g);
+        if (painted == null) {
+            refresh();
+            if (painted == null) {
+                return;
+            }
+        }
+        if (getWidth() != viewWidth || getHeight() != viewHeight) {
+            viewWidth = getWidth();
+            viewHeight = getHeight();
+            clampView();
+            viewStale = true;
+            gridOverlay = null;
+        }
+        // Extensão da grade na tela, a partir da origem da janela
+        int gridWidth = Math.min(viewWidth, blocks(frames.getColumn() - viewCol, level) * cellSize);
+        int gridHeight = Math.min(viewHeight, blocks(frames.getLine() - viewRow, level) * cellSize);
 
-        for (int i = 0; i < grid.getLine(); i++) {
-            for (int j = 0; j < grid.getColumn(); j++) {
-                Color cellColor = grid.getCell(i, j).isAlive() ? Color.GREEN : Color.WHITE;
+        if (raster || level > 0) {
+            if (view == null || view.getWidth() != viewWidth || view.getHeight() != viewHeight) {
+                view = new BufferedImage(Math.max(viewWidth, 1), Math.max(viewHeight, 1), BufferedImage.TYPE_INT_RGB);
+                viewPixels = ((DataBufferInt) view.getRaster().getDataBuffer()).getData();
+                viewStale = true;
+            }
+            if (viewStale) {
+                renderView(0, 0, view.getWidth(), view.getHeight());
+                viewStale = false;
+            }
+            g.drawImage(view, 0, 0, null);
+            if (level == 0 && gridlines && cellSize > 5) {
+                if (gridOverlay == null) {
+                    gridOverlay = createGridOverlay(viewWidth + 1, viewHeight + 1);
+                }
+                Graphics clipped = g.create();
+                clipped.clipRect(0, 0, gridWidth + 1, gridHeight + 1);
+                clipped.drawImage(gridOverlay, 0, 0, null);
+                clipped.dispose();
+            }
+            return;
+        }
+
+        Rectangle clip = g.getClipBounds();
+        int firstRow = viewRow, lastRow = viewRow + gridHeight / cellSize;
+        int firstCol = viewCol, lastCol = viewCol + gridWidth / cellSize;
+        if (clip != null) {
+            firstRow = Math.max(firstRow, viewRow + clip.y / cellSize - 1);
+            lastRow = Math.min(lastRow, viewRow + (clip.y + clip.height) / cellSize);
+            firstCol = Math.max(firstCol, viewCol + clip.x / cellSize - 1);
+            lastCol = Math.min(lastCol, viewCol + (clip.x + clip.width) / cellSize);
+        }
+        lastRow = Math.min(lastRow, frames.getLine() - 1);
+        lastCol = Math.min(lastCol, frames.getColumn() - 1);
+
+        for (int i = firstRow; i <= lastRow; i++) {
+            for (int j = firstCol; j <= lastCol; j++) {
+                boolean alive = (painted[i * words + (j >>> 6)] & (1L << j)) != 0;
+                Color cellColor = alive ? Color.GREEN : Color.WHITE;
                 g.setColor(cellColor);
-                g.fillRect(j * cellSize, i * cellSize, cellSize, cellSize);
+                int x = (j - viewCol) * cellSize;
+                int y = (i - viewRow) * cellSize;
+                g.fillRect(x, y, cellSize, cellSize);
                 g.setColor(Color.BLACK);
                 // Only draw border if cell size is large enough to be useful
-                if (cellSize > 5) {
-                    g.drawRect(j * cellSize, i * cellSize, cellSize, cellSize);
+                if (gridlines && cellSize > 5) {
+                    g.drawRect(x, y, cellSize, cellSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pinta os pixels {@code [x0, x1) x [y0, y1)} da imagem da janela. No nível 0,
+     * cada pixel tem a cor da célula sob ele; nos níveis acima, a cor da
+     * densidade do bloco de 2^level x 2^level células, contada direto dos bits
+     * nos níveis 1 e 2 e tirada da pirâmide a partir do nível 3. Pixels fora da
+     * grade ficam com a cor de fundo do painel.
+     */
+    private void renderView(int x0, int y0, int x1, int y1) {
+        int rows = frames.getLine();
+        int columns = frames.getColumn();
+        int width = view.getWidth();
+        int outside = getBackground().getRGB() & 0xFFFFFF;
+        int[] blockCounts = level >= BASE_LEVEL ? density[level] : null;
+        int blockMask = (1 << (1 << level)) - 1;
+        for (int y = y0; y < y1; y++) {
+            int row = level == 0 ? viewRow + y / cellSize : viewRow + (y << level);
+            int offset = y * width;
+            if (row >= rows) {
+                Arrays.fill(viewPixels, offset + x0, offset + x1, outside);
+                continue;
+            }
+            int lastRow = Math.min(rows, row + (1 << level));
+            for (int x = x0; x < x1; x++) {
+                int col = level == 0 ? viewCol + x / cellSize : viewCol + (x << level);
+                if (col >= columns) {
+                    Arrays.fill(viewPixels, offset + x, offset + x1, outside);
+                    break;
+                }
+                int count;
+                if (level == 0) {
+                    count = (int) (painted[row * words + (col >>> 6)] >>> col) & 1;
+                } else if (blockCounts != null) {
+                    count = blockCounts[(row >> level) * densityColumns[level] + (col >> level)];
+                } else {
+                    // O bloco começa em uma coluna múltipla de 2^level e não atravessa palavras
+                    count = 0;
+                    for (int i = row; i < lastRow; i++) {
+                        count += Integer.bitCount((int) (painted[i * words + (col >>> 6)] >>> col) & blockMask);
+                    }
+                }
+                viewPixels[offset + x] = count == 0 ? DEAD_RGB : palette[1 + ((count * 254) >> (2 * level))];
+            }
+        }
+    }
+
+    /**
+     * Busca o frame mais recente e, se ele for novo, descobre quais blocos mudaram
+     * em relação ao que está na tela e atualiza a cópia exibida e, se houver, a
+     * pirâmide de densidade apenas nesses blocos. Os blocos alterados são unidos
+     * em retângulos, e cada um tem os pixels da imagem da janela refeitos por
+     * {@code renderView} (no modo raster ou em um nível de densidade) e o
+     * redesenho pedido só na sua área; com a origem mudada, a imagem inteira é
+     * refeita no próximo desenho. Executa sempre na thread do Swing (visível no
+     * pacote para os benchmarks, que desenham fora da tela).
+     */
+    void refresh() {
+        refreshPending.set(false);
+        Frame frame = frames.latest();
+        if (frame == shown && frame.getGeneration() == shownGeneration
+                && frame.getOriginRow() == shownRow && frame.getOriginCol() == shownCol) {
+            return;
+        }
+
+        boolean full = painted == null || frame.getOriginRow() != shownRow || frame.getOriginCol() != shownCol;
+        if (painted == null) {
+            painted = new long[frame.getLine() * words];
+        }
+        shown = frame;
+        shownGeneration = frame.getGeneration();
+        shownRow = frame.getOriginRow();
+        shownCol = frame.getOriginCol();
+
+        int lines = frame.getLine();
+        int tileRows = (lines + TILE_ROWS - 1) / TILE_ROWS;
+        boolean anyDirty = false;
+        for (int tr = 0; tr < tileRows; tr++) {
+            int firstRow = tr * TILE_ROWS;
+            int lastRow = Math.min(lines, firstRow + TILE_ROWS);
+            for (int w = 0; w < words; w++) {
+                boolean dirty = full;
+                for (int i = firstRow; i < lastRow; i++) {
+                    long word = frame.getWord(i, w);
+                    if (word != painted[i * words + w]) {
+                        painted[i * words + w] = word;
+                        dirty = true;
+                    }
+                }
+                dirtyTiles[tr * words + w] = dirty;
+                if (dirty) {
+                    anyDirty = true;
+                    if (density != null) {
+                        updateDensity(tr, w, firstRow, lastRow);
+                    }
                 }
             }
         }
+
+        if (full) {
+            viewStale = true;
+            repaint();
+        } else if (anyDirty) {
+            repaintDirtyTiles(tileRows);
+        }
     }
 
     /**
-     * Atualiza a exibição da grade chamando o método {@code repaint}, que força a
-     * renderização da grade
-     * atualizada na tela.
+     * Recalcula as contagens do nível base da pirâmide de densidade para um bloco
+     * de alteração (oito blocos de 8x8 células, um por byte da palavra) e soma de
+     * novo, em cada nível acima, os blocos que cobrem esses oito.
+     */
+    private void updateDensity(int tileRow, int w, int firstRow, int lastRow) {
+        int[] base = density[BASE_LEVEL];
+        int start = tileRow * densityColumns[BASE_LEVEL] + (w << 3);
+        for (int b = 0; b < 8; b++) {
+            int count = 0;
+            for (int i = firstRow; i < lastRow; i++) {
+                count += Long.bitCount((painted[i * words + w] >>> (b << 3)) & 0xFF);
+            }
+            base[start + b] = count;
+        }
+
+        int row = tileRow, col0 = w << 3, col1 = col0 + 8;
+        for (int l = BASE_LEVEL + 1; l <= maxLevel; l++) {
+            int[] below = density[l - 1];
+            int belowRows = densityRows[l - 1], belowColumns = densityColumns[l - 1];
+            row >>= 1;
+            col0 >>= 1;
+            col1 = (col1 + 1) >> 1;
+            for (int c = col0; c < col1; c++) {
+                int r2 = row << 1, c2 = c << 1;
+                int sum = below[r2 * belowColumns + c2];
+                if (c2 + 1 < belowColumns) {
+                    sum += below[r2 * belowColumns + c2 + 1];
+                }
+                if (r2 + 1 < belowRows) {
+                    sum += below[(r2 + 1) * belowColumns + c2];
+                    if (c2 + 1 < belowColumns) {
+                        sum += below[(r2 + 1) * belowColumns + c2 + 1];
+                    }
+                }
+                density[l][row * densityColumns[l] + c] = sum;
+            }
+        }
+    }
+
+    /**
+     * Agrupa os blocos alterados em retângulos, unindo blocos vizinhos na mesma
+     * faixa e faixas consecutivas com a mesma extensão, e pede o redesenho de
+     * cada retângulo. Se houver retângulos demais, redesenha a área que envolve
+     * todos eles.
+     */
+    private void repaintDirtyTiles(int tileRows) {
+        int count = 0;
+        boolean overflow = false;
+        int minX = Integer.MAX_VALUE, maxX = 0, minY = Integer.MAX_VALUE, maxY = 0;
+
+        for (int tr = 0; tr < tileRows; tr++) {
+            int w = 0;
+            while (w < words) {
+                if (!dirtyTiles[tr * words + w]) {
+                    w++;
+                    continue;
+                }
+                int start = w;
+                while (w < words && dirtyTiles[tr * words + w]) {
+                    w++;
+                }
+                minX = Math.min(minX, start);
+                maxX = Math.max(maxX, w);
+                minY = Math.min(minY, tr);
+                maxY = Math.max(maxY, tr + 1);
+
+                int merged = -1;
+                for (int k = 0; k < count; k++) {
+                    if (rectX0[k] == start && rectX1[k] == w && rectY1[k] == tr) {
+                        merged = k;
+                        break;
+                    }
+                }
+                if (merged >= 0) {
+                    rectY1[merged] = tr + 1;
+                } else if (count < MAX_RECTS) {
+                    rectX0[count] = start;
+                    rectX1[count] = w;
+                    rectY0[count] = tr;
+                    rectY1[count] = tr + 1;
+                    count++;
+                } else {
+                    overflow = true;
+                }
+            }
+        }
+
+        if (overflow) {
+            repaintTiles(minX, maxX, minY, maxY);
+            return;
+        }
+        for (int k = 0; k < count; k++) {
+            repaintTiles(rectX0[k], rectX1[k], rectY0[k], rectY1[k]);
+        }
+    }
+
+    /**
+     * Leva um retângulo de blocos de alteração para a tela, atualiza os pixels
+     * da imagem da janela nessa área (só a parte visível) e pede o redesenho.
+     */
+    private void repaintTiles(int word0, int word1, int tileRow0, int tileRow1) {
+        int round = (1 << level) - 1;
+        int x0 = Math.max(0, ((word0 << 6) - viewCol) * cellSize >> level);
+        int y0 = Math.max(0, (tileRow0 * TILE_ROWS - viewRow) * cellSize >> level);
+        int x1 = Math.min(getWidth(), ((Math.min(frames.getColumn(), word1 << 6) - viewCol) * cellSize + round) >> level);
+        int y1 = Math.min(getHeight(), ((Math.min(frames.getLine(), tileRow1 * TILE_ROWS) - viewRow) * cellSize + round) >> level);
+        if (x0 >= x1 || y0 >= y1) {
+            return;
+        }
+        if ((raster || level > 0) && view != null && !viewStale) {
+            renderView(x0, y0, Math.min(x1, view.getWidth()), Math.min(y1, view.getHeight()));
+        }
+        // +1 para incluir a linha da grade na borda direita/inferior
+        repaint(x0, y0, x1 - x0 + 1, y1 - y0 + 1);
+    }
+
+    /**
+     * Pré-renderiza as linhas da grade, uma a cada célula, em uma imagem
+     * transparente do tamanho do painel.
+     *
+     * @param width  A largura da imagem.
+     * @param height A altura da imagem.
+     * @return A imagem com as linhas da grade.
+     */
+    private BufferedImage createGridOverlay(int width, int height) {
+        BufferedImage overlay = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = overlay.createGraphics();
+        g.setColor(Color.BLACK);
+        for (int y = 0; y < height; y += cellSize) {
+            g.drawLine(0, y, width, y);
+        }
+        for (int x = 0; x < width; x += cellSize) {
+            g.drawLine(x, 0, x, height);
+        }
+        g.dispose();
+        return overlay;
+    }
+
+    /**
+     * Avisa o painel de que um novo frame foi publicado. Pode ser chamado de
+     * qualquer thread: a comparação com o frame exibido e os pedidos de
+     * {@code repaint} acontecem na thread do Swing, e avisos repetidos antes
+     * dela rodar são agrupados em um só.
      *
      * <p>
      * Este método deve ser invocado sempre que houver uma mudança no estado da
      * grade (por exemplo, uma nova
-     * geração foi gerada), forçando a atualização visual da interface gráfica.
+     * geração foi gerada), forçando a atualização visual das áreas alteradas.
      * </p>
      */
     public void update() {
-        repaint();
+        if (refreshPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(refreshTask);
+        }
     }
 }
@@ -0,0 +1,264 @@
+package util;
+
+import config.GameOfLifeConfig;
+import dom.CycleDetector;
+import dom.LifeEngine;
+import dom.StateTracking;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A classe {@code BatchRunner} executa, em um único processo e sem interface gráfica, muitas simulações
+ * independentes de populações aleatórias: uma para cada combinação de tamanho, layout, número de gerações
+ * e semente da varredura configurada ({@code sizes}, {@code layouts}, {@code gens} e {@code seeds}).
+ * <p>
+ * As simulações são tarefas de um pool com {@code t} threads, cada uma com o seu próprio motor de uma
+ * thread; no máximo {@code 2t} tarefas existem ao mesmo tempo, então a memória não cresce com o tamanho da
+ * varredura. Cada simulação procura estados estáveis e osciladores ({@link CycleDetector}) e, ao
+ * confirmar um ciclo, salta direto para a fase final, sem calcular as gerações restantes.
+ * </p>
+ * <p>
+ * Cada simulação gera uma linha CSV (no arquivo {@code csv}, se informado), com a população final, a
+ * primeira geração do ciclo ({@link CycleDetector#getOnset()}) e a velocidade; no final, um resumo por
+ * tamanho, layout e número de gerações é impresso em CSV no console. Se alguma simulação ou a gravação do
+ * CSV falhar, a varredura é interrompida e o resumo não é impresso.
+ * </p>
+ */
+public class BatchRunner {
+    private static final int DEFAULT_MAX_PERIOD = 60;
+    private static final String RUN_HEADER = "run,width,height,layout,seed,generations,final_population,"
+            + "stabilized_at,period,simulated_generations,seconds,generations_per_second,cell_updates_per_second";
+
+    private final GameOfLifeConfig config;
+
+    /**
+     * Construtor que recebe a configuração do jogo para inicializar o {@code BatchRunner}.
+     *
+     * @param config a configuração do jogo {@code GameOfLifeConfig}.
+     */
+    public BatchRunner(GameOfLifeConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Executa todas as simulações da varredura e imprime o resumo.
+     *
+     * @return true se todas as simulações terminaram, false se a varredura foi interrompida por um erro.
+     */
+    public boolean run() {
+        int[] widths = config.getSweepWidths();
+        int[] heights = config.getSweepHeights();
+        long[] layouts = config.getSweepLayouts();
+        long[] generations = config.getSweepGenerations();
+        long[] seeds = config.getSweepSeeds();
+        for (long g : generations) {
+            if (g <= 0) {
+                System.err.println("Error: batch mode needs a finite number of generations, please pass g > 0 or gens.");
+                return false;
+            }
+        }
+        long total = (long) widths.length * layouts.length * generations.length * seeds.length;
+        int threads = config.getThreads();
+        System.out.println("Batch: " + total + " simulation(s) on " + threads + " thread(s), engine "
+                + config.getEngine() + ", rule " + config.getRule() + ", density " + config.getDensity());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CompletionService<Result> completion = new ExecutorCompletionService<>(executor);
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        boolean failed = true;
+
+        try (Writer csv = config.getCsvPath().isEmpty() ? null
+                : Files.newBufferedWriter(Path.of(config.getCsvPath()))) {
+            if (csv != null) {
+                csv.write(RUN_HEADER);
+                csv.write('\n');
+            }
+            int run = 0, pending = 0;
+            for (int s = 0; s < widths.length; s++) {
+                for (long layout : layouts) {
+                    for (long g : generations) {
+                        for (long seed : seeds) {
+                            if (pending == 2 * threads) {
+                                collect(completion.take(), csv, summaries);
+                                pending--;
+                            }
+                            completion.submit(new Simulation(run++, widths[s], heights[s], (int) layout, seed, g));
+                            pending++;
+                        }
+                    }
+                }
+            }
+            for (; pending > 0; pending--) {
+                collect(completion.take(), csv, summaries);
+            }
+            failed = false;
+        } catch (IOException e) {
+            System.err.println("Error: writing the csv file " + config.getCsvPath() + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error: a simulation failed: " + e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failed) {
+            System.err.println("Batch stopped before finishing all " + total + " simulation(s), no summary printed.");
+            return false;
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println();
+        System.out.println("width,height,layout,generations,runs,mean_final_population,stabilized_runs,"
+                + "mean_stabilized_at,mean_generations_per_second,mean_cell_updates_per_second");
+        for (Summary summary : summaries.values()) {
+            System.out.println(summary.toCsv());
+        }
+        System.out.println(String.format(Locale.ROOT, "Finished %d simulation(s) in %.2f s (%.1f runs/s)", total,
+                seconds, total / seconds));
+        return true;
+    }
+
+    private void collect(Future<Result> future, Writer csv, Map<String, Summary> summaries)
+            throws InterruptedException, ExecutionException, IOException {
+        Result result = future.get();
+        if (csv != null) {
+            csv.write(result.toCsv());
+            csv.write('\n');
+        }
+        summaries.computeIfAbsent(result.width + "," + result.height + "," + result.layout + "," + result.generations,
+                key -> new Summary(key)).add(result);
+    }
+
+    /**
+     * Uma simulação da varredura.
+     */
+    private final class Simulation implements Callable<Result> {
+        private final int run, width, height, layout;
+        private final long seed, generations;
+
+        Simulation(int run, int width, int height, int layout, long seed, long generations) {
+            this.run = run;
+            this.width = width;
+            this.height = height;
+            this.layout = layout;
+            this.seed = seed;
+            this.generations = generations;
+        }
+
+        @Override
+        public Result call() {
+            LifeEngine engine = EngineFactory.createEmpty(config, height, width);
+            engine.generateRandomPopulation(seed, config.getDensity());
+            int maxPeriod = config.getCyclePeriod() > 0 ? config.getCyclePeriod() : DEFAULT_MAX_PERIOD;
+            CycleDetector detector = engine instanceof StateTracking tracked ? new CycleDetector(tracked, maxPeriod)
+                    : null;
+
+            long begin = System.nanoTime();
+            long generation = 0;
+            if (detector == null) {
+                engine.advance(layout, generations);
+                generation = generations;
+            } else {
+                // A população inicial também conta, para que um estado já estável comece na geração 0
+                detector.record(generation);
+                while (generation < generations) {
+                    engine.updateGrid(layout);
+                    generation++;
+                    if (detector.record(generation)) {
+                        // O estado se repete a cada período: só falta alcançar a fase da última geração
+                        long remaining = (generations - generation) % detector.getPeriod();
+                        engine.advance(layout, remaining);
+                        generation += remaining;
+                        break;
+                    }
+                }
+            }
+            double seconds = Math.max(System.nanoTime() - begin, 1) / 1e9;
+            boolean stabilized = detector != null && detector.getPeriod() > 0;
+            return new Result(run, width, height, layout, seed, generations, engine.getPopulation(),
+                    stabilized ? detector.getOnset() : -1, stabilized ? detector.getPeriod() : 0, generation,
+                    seconds);
+        }
+    }
+
+    /**
+     * O resultado de uma simulação.
+     */
+    private static final class Result {
+        final int run, width, height, layout;
+        final long seed, generations, population, stabilizedAt;
+        final int period;
+        final long simulated;
+        final double seconds;
+
+        Result(int run, int width, int height, int layout, long seed, long generations, long population,
+                long stabilizedAt, int period, long simulated, double seconds) {
+            this.run = run;
+            this.width = width;
+            this.height = height;
+            this.layout = layout;
+            this.seed = seed;
+            this.generations = generations;
+            this.population = population;
+            this.stabilizedAt = stabilizedAt;
+            this.period = period;
+            this.simulated = simulated;
+            this.seconds = seconds;
+        }
+
+        double generationsPerSecond() {
+            return simulated / seconds;
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%.6f,%.1f,%.1f", run, width, height,
+                    layout, seed, generations, population, stabilizedAt, period, simulated, seconds,
+                    generationsPerSecond(), generationsPerSecond() * width * height);
+        }
+    }
+
+    /**
+     * Os totais de um grupo de simulações com o mesmo tamanho, layout e número de gerações.
+     */
+    private static final class Summary {
+        private final String key;
+        private long runs, population, stabilized, stabilizedAt;
+        private double generationsPerSecond;
+        private double cellUpdatesPerSecond;
+
+        Summary(String key) {
+            this.key = key;
+        }
+
+        void add(Result result) {
+            runs++;
+            population += result.population;
+            if (result.stabilizedAt >= 0) {
+                stabilized++;
+                stabilizedAt += result.stabilizedAt;
+            }
+            generationsPerSecond += result.generationsPerSecond();
+            cellUpdatesPerSecond += result.generationsPerSecond() * result.width * result.height;
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%.1f,%d,%s,%.1f,%.1f", key, runs, (double) population / runs,
+                    stabilized, stabilized > 0 ? String.format(Locale.ROOT, "%.1f", (double) stabilizedAt / stabilized)
+                            : "", generationsPerSecond / runs, cellUpdatesPerSecond / runs);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package util;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -72,6 +73,22 @@ public class Check {
         return validateRange(valor, 10, 2000);
     }
 
+    /**
+     * Verifica se o valor fornecido representa uma densidade válida, uma fração
+     * entre 0 (exclusivo) e 1 (inclusivo), como "0.3".
+     *
+     * @param valor a string representando a densidade
+     * @return a densidade se for válida, caso contrário, retorna -1
+     */
+    public double density(String valor) {
+        try {
+            double density = Double.parseDouble(valor);
+            return density > 0 && density <= 1 ? density : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     /**
      * Verifica se o valor fornecido é maior ou igual a 0.
      *
@@ -99,22 +116,67 @@ public class Check {
             return false;
         }
 
-        String[] sections = p.split("#");
-
-        for (String section : sections) {
-            if (section.length() > maxColumns) {
+        // Percorre a string uma vez, medindo cada linha até o próximo '#'
+        int length = 0;
+        for (int i = 0; i < p.length(); i++) {
+            char c = p.charAt(i);
+            if (c == '#') {
+                length = 0;
+            } else if ((c != '0' && c != '1') || ++length > maxColumns) {
                 return false;
             }
-            for (char c : section.toCharArray()) {
-                if (c != '0' && c != '1') {
-                    return false;
-                }
-            }
         }
 
         return true;
     }
 
+    /**
+     * Verifica se o valor fornecido é uma das opções aceitas, ignorando
+     * maiúsculas e minúsculas.
+     *
+     * @param valor   a string a ser verificada
+     * @param options as opções aceitas
+     * @return a opção correspondente, ou {@code null} se o valor não for aceito
+     */
+    public String validateOption(String valor, String... options) {
+        for (String option : options) {
+            if (option.equalsIgnoreCase(valor)) {
+                return option;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lê uma lista de números separados por vírgula, aceitando também intervalos
+     * no formato {@code início-fim} (ex.: "1,3,5" ou "1-100").
+     *
+     * @param valor a string a ser verificada
+     * @param min   valor mínimo aceitável
+     * @param max   valor máximo aceitável
+     * @return os números da lista, na ordem informada, ou {@code null} se algum
+     *         valor for inválido ou a lista tiver mais de 1.000.000 de valores
+     */
+    public long[] validateList(String valor, long min, long max) {
+        List<Long> values = new ArrayList<>();
+        for (String item : valor.split(",")) {
+            String[] range = item.trim().split("(?<=\\d)-", 2);
+            try {
+                long first = Long.parseLong(range[0].trim());
+                long last = range.length == 2 ? Long.parseLong(range[1].trim()) : first;
+                if (first < min || last > max || first > last || values.size() + (last - first) >= 1_000_000) {
+                    return null;
+                }
+                for (long v = first; v <= last; v++) {
+                    values.add(v);
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+
     public boolean isEndOfList(int index, List<?> list) {
         return index >= list.size();
     }
@@ -0,0 +1,96 @@
+package util;
+
+import dom.Checkpoint;
+import dom.LifeEngine;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A classe {@code CheckpointWriter} grava checkpoints da simulação ({@link Checkpoint}) sem parar a
+ * simulação: a thread da simulação só congela as células ({@link LifeEngine#freezeCells()}), e a
+ * codificação, a gravação, a sincronização com o disco e a troca do arquivo são feitas em uma thread
+ * própria. Se a gravação anterior ainda não terminou, o novo checkpoint é ignorado em vez de acumular
+ * cópias.
+ */
+public class CheckpointWriter implements AutoCloseable {
+    private final Path path;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> pending;
+
+    /**
+     * Cria o gravador para o arquivo informado.
+     *
+     * @param path o arquivo onde os checkpoints são gravados; cada gravação substitui a anterior.
+     */
+    public CheckpointWriter(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Congela o estado atual do motor e agenda a sua gravação. Deve ser chamado pela thread da simulação,
+     * entre duas gerações.
+     *
+     * @param engine     o motor da simulação.
+     * @param layout     o layout de vizinhança em uso.
+     * @param generation a geração atual.
+     * @return true se o checkpoint foi agendado, false se a gravação anterior ainda estava em andamento.
+     */
+    public boolean save(LifeEngine engine, int layout, long generation) {
+        if (pending != null && !pending.isDone()) {
+            return false;
+        }
+        long start = System.nanoTime();
+        Checkpoint checkpoint = Checkpoint.capture(engine, layout, generation, path);
+        pending = executor.submit(() -> {
+            try {
+                long bytes = checkpoint.commit();
+                System.out.println("Checkpoint saved: generation " + checkpoint.getGeneration() + ", "
+                        + checkpoint.getPopulation() + " cells, " + bytes + " bytes in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms (" + path + ")");
+            } catch (IOException e) {
+                System.err.println("Error: saving the checkpoint to " + path + ": " + e.getMessage());
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Espera a gravação em andamento, se houver, terminar.
+     */
+    public void flush() {
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error: saving the checkpoint to " + path + ": " + e.getCause());
+        }
+    }
+
+    /**
+     * Espera a gravação em andamento terminar e encerra a thread de gravação.
+     */
+    @Override
+    public void close() {
+        flush();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package util;
+
+import config.GameOfLifeConfig;
+import dom.BitGrid;
+import dom.Grid;
+import dom.HashLife;
+import dom.LifeEngine;
+import dom.MappedGrid;
+import dom.PatternLoader;
+import dom.SparseGrid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * A classe {@code EngineFactory} cria o motor de simulação escolhido na configuração e já o deixa com a
+ * população inicial carregada, seja ela aleatória ou a partir de um padrão.
+ */
+public class EngineFactory {
+
+    private EngineFactory() {
+    }
+
+    /**
+     * Cria o motor de simulação indicado por {@link GameOfLifeConfig#getEngine()} com as dimensões da
+     * configuração e inicializa a sua população, a partir do checkpoint
+     * ({@link GameOfLifeConfig#getCheckpoint()}), se houver, de um arquivo de padrão ou do padrão inicial.
+     *
+     * @param config a configuração do jogo.
+     * @return o motor pronto para a primeira geração, ou {@code null} se o arquivo de padrão não pôde ser
+     *         carregado.
+     */
+    public static LifeEngine create(GameOfLifeConfig config) {
+        LifeEngine engine = createEmpty(config, config.getHeight(), config.getWidth());
+        engine.setParallelism(config.getThreads());
+
+        if (config.getCheckpoint() != null) {
+            long dropped;
+            try {
+                dropped = config.getCheckpoint().restore(engine);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not restore the checkpoint", e);
+            }
+            if (dropped > 0) {
+                System.err.println("Warning: " + dropped + " cell(s) of the checkpoint are outside the "
+                        + config.getEngine() + " engine and were dropped.");
+            }
+        } else if (!config.getPatternFile().isEmpty()) {
+            if (!loadPattern(engine, Path.of(config.getPatternFile()))) {
+                return null;
+            }
+        } else if (config.getPopulation().equalsIgnoreCase("rnd")) {
+            engine.generateRandomPopulation(config.getSeed(), config.getDensity());
+        } else if (!config.getPopulation().isEmpty()) {
+            engine.initializeGrid(config.getPopulation());
+        }
+        return engine;
+    }
+
+    /**
+     * Cria um motor vazio do tipo indicado por {@link GameOfLifeConfig#getEngine()}, com a borda e a regra
+     * da configuração e as dimensões informadas em vez das da configuração.
+     *
+     * @param config a configuração do jogo.
+     * @param height o número de linhas da grade.
+     * @param width  o número de colunas da grade.
+     * @return o motor, sem nenhuma célula viva.
+     */
+    public static LifeEngine createEmpty(GameOfLifeConfig config, int height, int width) {
+        boolean torus = config.getBoundary().equals("torus");
+        LifeEngine engine = switch (config.getEngine()) {
+            case "bits" -> new BitGrid(height, width, torus);
+            case "vector" -> createVector(height, width, torus);
+            case "hashlife" -> new HashLife(height, width, config.getMemoryLimit());
+            case "sparse" -> new SparseGrid(height, width);
+            case "mapped" -> new MappedGrid(height, width, Math.max(height, config.getUniverseHeight()),
+                    Math.max(width, config.getUniverseWidth()), config.getMemoryLimit());
+            default -> new Grid(height, width, torus);
+        };
+        engine.setRule(config.getRule());
+        return engine;
+    }
+
+    /**
+     * Cria o motor vetorial ({@code dom.VectorGrid}) por reflexão, para que as outras classes não dependam
+     * do módulo {@code jdk.incubator.vector}. A classe só existe nos builds com o perfil {@code vector}. Se
+     * ela não foi compilada ou se o módulo não foi habilitado, avisa uma vez e cria o motor escalar em bits,
+     * que calcula o mesmo resultado.
+     */
+    private static LifeEngine createVector(int height, int width, boolean torus) {
+        Constructor<?> constructor = VectorEngine.CONSTRUCTOR;
+        if (constructor == null) {
+            return new BitGrid(height, width, torus);
+        }
+        try {
+            return (LifeEngine) constructor.newInstance(height, width, torus);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Procura o motor vetorial na primeira vez que ele é pedido.
+     */
+    private static final class VectorEngine {
+        static final Constructor<?> CONSTRUCTOR = find();
+
+        private static Constructor<?> find() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                System.err.println("Warning: the vector engine needs the JDK Vector API, please run java with "
+                        + "--add-modules jdk.incubator.vector. Using the scalar bits engine.");
+                return null;
+            }
+            try {
+                return Class.forName("dom.VectorGrid").getConstructor(int.class, int.class, boolean.class);
+            } catch (ClassNotFoundException e) {
+                System.err.println("Warning: the vector engine is not part of this build, please compile it with "
+                        + "mvn -P vector. Using the scalar bits engine.");
+                return null;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("Warning: the vector engine is not available (" + e
+                        + "). Using the scalar bits engine.");
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Carrega o padrão de um arquivo RLE ou Life 1.06 no motor e informa o tempo de carga e a memória
+     * usada depois dela.
+     *
+     * @param engine o motor a ser preenchido.
+     * @param path   o arquivo do padrão.
+     * @return false se o arquivo não pôde ser lido ou se o padrão não cabe no motor.
+     */
+    private static boolean loadPattern(LifeEngine engine, Path path) {
+        Runtime runtime = Runtime.getRuntime();
+        long start = System.nanoTime();
+        try {
+            PatternLoader pattern = PatternLoader.load(path, engine);
+            double millis = (System.nanoTime() - start) / 1e6;
+            long usedMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+            System.out.println(String.format(Locale.ROOT,
+                    "Pattern loaded: %d cells (%dx%d, %s) in %.1f ms, heap used %d MB of %d MB",
+                    pattern.getCells(), pattern.getWidth(), pattern.getHeight(), pattern.getFormat(), millis,
+                    usedMb, runtime.maxMemory() >> 20));
+            if (pattern.getSkipped() > 0) {
+                System.err.println("Warning: " + pattern.getSkipped()
+                        + " cell(s) of the pattern are outside the grid and were dropped.");
+            }
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error: loading the pattern " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package util;
 
 import config.GameOfLifeConfig;
-import dom.Grid;
+import dom.CycleDetector;
+import dom.Frame;
+import dom.LifeEngine;
+import dom.StateTracking;
+import metrics.SimulationMetrics;
+import render.FrameExchange;
+import render.FrameRing;
 import render.SwingRenderer;
 
 import javax.swing.*;
+import java.nio.file.Path;
+import java.util.Locale;
 
 /**
  * A classe {@code GameOfLifeRunner} é responsável por executar a simulação do
@@ -16,6 +24,11 @@ import javax.swing.*;
  * interface gráfica para refletir as mudanças no estado do jogo.
  */
 public class GameOfLifeRunner {
+    /**
+     * Maior memória ocupada pelos frames calculados à frente.
+     */
+    private static final long MAX_LOOK_AHEAD_BYTES = 64L << 20;
+
     private GameOfLifeConfig config;
     private volatile boolean isPaused = false; // Flag to control pause state
 
@@ -43,87 +56,388 @@ public class GameOfLifeRunner {
      * <li>Configura a interface gráfica com o Swing e exibe a janela.</li>
      * <li>Renderiza a primeira geração e aguarda o tempo configurado para a próxima
      * geração.</li>
-     * <li>Executa um loop para processar as gerações, atualizando a renderização a
-     * cada ciclo.</li>
+     * <li>Inicia a thread da simulação, que calcula as gerações à frente e
+     * fotografa os passos exibidos em uma fila limitada ({@link FrameRing}),
+     * parando quando a fila enche.</li>
+     * <li>Consome a fila em uma taxa fixa ({@link GenerationClock}), publicando
+     * cada frame para a tela. A pausa só interrompe o consumo: os frames já
+     * calculados continuam na fila. A tela é atualizada na sua própria taxa, e a
+     * taxa alcançada e o tamanho da fila são informados a cada segundo.</li>
      * </ul>
      * </p>
      */
     public void run() {
         if (config.getWidth() > 0 && config.getHeight() > 0 && config.getLayout() > 0 && config.getGenerations() >= 0) {
-            Grid grid = new Grid(config.getHeight(), config.getWidth());
-            if (config.getPopulation().equalsIgnoreCase("rnd")) {
-                grid.generateRandomPopulation();
-            } else {
-                grid.initializeGrid(config.getPopulation());
+            LifeEngine grid = EngineFactory.create(config);
+            if (grid == null) {
+                return;
             }
 
             // Configura a interface gráfica com o Swing
             JFrame frame = new JFrame("Game of Life");
-            SwingRenderer renderer = new SwingRenderer(grid);
+            FrameExchange frames = new FrameExchange(grid.getLine(), grid.getColumn());
+            SwingRenderer renderer = new SwingRenderer(frames, config.getRenderer().equals("raster"),
+                    config.isGridlines());
             frame.add(renderer);
+
+            // Métricas opcionais: JMX e, se pedido, uma linha de log periódica
+            SimulationMetrics metrics = null;
+            if (config.isMetrics() || config.getMetricsInterval() > 0) {
+                metrics = new SimulationMetrics();
+                metrics.register();
+                if (config.getMetricsInterval() > 0) {
+                    metrics.startLog(config.getMetricsInterval());
+                }
+                metrics.start(grid.getBirths(), grid.getDeaths());
+                renderer.setMetrics(metrics);
+            }
             frame.pack();
             frame.setLocationRelativeTo(null);
             frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
-            // Add KeyListener for Pause (Spacebar)
+            // Add KeyListener for Pause (Spacebar) and viewport panning (arrow keys)
+            int panStep = Math.max(1, Math.min(grid.getLine(), grid.getColumn()) / 10);
             frame.addKeyListener(new java.awt.event.KeyAdapter() {
                 @Override
                 public void keyPressed(java.awt.event.KeyEvent e) {
-                    if (e.getKeyCode() == java.awt.event.KeyEvent.VK_SPACE) {
-                        isPaused = !isPaused;
-                        System.out.println(isPaused ? "Game Paused" : "Game Resumed");
+                    switch (e.getKeyCode()) {
+                        case java.awt.event.KeyEvent.VK_SPACE -> {
+                            isPaused = !isPaused;
+                            System.out.println(isPaused ? "Game Paused" : "Game Resumed");
+                        }
+                        case java.awt.event.KeyEvent.VK_UP -> renderer.pan(-panStep, 0);
+                        case java.awt.event.KeyEvent.VK_DOWN -> renderer.pan(panStep, 0);
+                        case java.awt.event.KeyEvent.VK_LEFT -> renderer.pan(0, -panStep);
+                        case java.awt.event.KeyEvent.VK_RIGHT -> renderer.pan(0, panStep);
+                        default -> {
+                        }
                     }
                 }
             });
 
+            // Detecção opcional de estados estáveis e osciladores
+            CycleDetector detector = null;
+            if (config.getCyclePeriod() > 0) {
+                if (grid instanceof StateTracking tracked) {
+                    detector = new CycleDetector(tracked, config.getCyclePeriod());
+                } else {
+                    System.err.println("Cycle detection is not supported by the " + config.getEngine() + " engine.");
+                }
+            }
+
+            // Checkpoints opcionais, gravados em segundo plano
+            CheckpointWriter checkpoints = config.getSavePath().isEmpty() ? null
+                    : new CheckpointWriter(Path.of(config.getSavePath()));
+
+            // Gravação opcional de cada geração, para revisão posterior
+            GenerationRecorder recorder = GenerationRecorder.open(config, grid);
+
             frame.setVisible(true);
+            renderer.start(config.getFps());
+
+            // Atualiza a renderização da primeira geração (a do checkpoint, se a execução foi restaurada)
+            long firstGen = config.getStartGeneration();
+            publish(grid, frames, renderer, firstGen);
+            if (recorder != null) {
+                recorder.record(grid, firstGen);
+            }
+            if (detector != null) {
+                detector.record(firstGen);
+            }
 
-            // Atualiza a renderização da primeira geração
-            renderer.update();
+            // Relógio de taxa fixa: cada passo avança config.getInterval() gerações. Com a taxa limitada, só
+            // um passo a cada frameSteps é fotografado, o bastante para a tela exibir um quadro novo
+            double rate = config.getGenerationsPerSecond();
+            long periodNanos = rate > 0 ? Math.round(config.getInterval() * 1e9 / rate) : 0;
+            long framePeriodNanos = 1_000_000_000L / config.getFps();
+            int frameSteps = periodNanos > 0 ? (int) Math.max(1, framePeriodNanos / periodNanos) : 1;
+            GenerationClock clock = new GenerationClock(periodNanos * frameSteps);
+
+            // A simulação calcula os frames à frente em outra thread, até encher a fila
+            FrameRing ring = new FrameRing(lookAheadFrames(grid), grid.getLine(), grid.getColumn());
+            Simulation simulation = new Simulation(grid, ring, renderer, frames, detector, recorder, checkpoints,
+                    metrics, firstGen, frameSteps, periodNanos > 0 ? 0 : framePeriodNanos);
+            Thread worker = new Thread(simulation, "simulation");
+            worker.setDaemon(true);
+            worker.start();
+            if (checkpoints != null) {
+                // Fechar a janela encerra a JVM sem esperar a simulação: o gancho a interrompe e espera o
+                // checkpoint final, gravado no fim da thread
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> simulation.stop(worker), "simulation-stop"));
+            }
 
             // Adiciona um pequeno delay para exibir a geração inicial
-            waitForNextGeneration(config.getSpeed());
+            clock.awaitNext();
 
-            // Processa as gerações
-            int maxGenerations = config.getGenerations();
-            int currentGen = 0;
-
-            while (maxGenerations == 0 || currentGen < maxGenerations) {
-                if (!isPaused) {
-                    System.out.println("Generation " + currentGen + ":");
-                    grid.updateGrid(config.getLayout());
-                    renderer.update(); // Atualiza a visualização a cada geração
-                    currentGen++;
-                } else {
+            // Exibe as gerações calculadas, na taxa configurada
+            long currentGen = firstGen;
+            boolean wasPaused = false;
+            long startTime = System.nanoTime();
+            long rateWindowStart = startTime;
+            long rateWindowGen = firstGen;
+
+            while (true) {
+                // Os frames antecipados são exibidos mesmo depois de a janela de visualização ser movida, com a
+                // origem em que foram calculados; a nova região aparece quando chegam os frames calculados depois
+                if (isPaused) {
+                    // Pausado, a geração atual continua na tela: nenhum frame da fila é consumido
+                    wasPaused = true;
                     // Small delay to prevent CPU spinning while paused
                     try {
                         Thread.sleep(100);
                     } catch (InterruptedException e) {
                     }
+                    continue;
+                }
+                if (wasPaused) {
+                    clock.reset();
+                    rateWindowStart = System.nanoTime();
+                    rateWindowGen = currentGen;
+                    wasPaused = false;
                 }
-                waitForNextGeneration(config.getSpeed());
+                Frame next = ring.peek();
+                if (next == null) {
+                    // A simulação está atrasada em relação à tela, ou terminou
+                    if (ring.isDrained()) {
+                        break;
+                    }
+                    ring.await(100_000_000L);
+                    continue;
+                }
+                currentGen = show(next, frames);
+                ring.release();
+
+                long now = System.nanoTime();
+                if (now - rateWindowStart >= 1_000_000_000L) {
+                    reportRate(frame, currentGen - rateWindowGen, now - rateWindowStart, rate, ring);
+                    rateWindowStart = now;
+                    rateWindowGen = currentGen;
+                }
+                clock.awaitNext();
+            }
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            System.out.println(String.format(Locale.ROOT, "Finished %d generations in %.2f s (%.1f gen/s)",
+                    currentGen - firstGen, seconds, (currentGen - firstGen) / seconds));
         } else {
             System.out.println("Error: initializing the grid. Check/Passing the corrects parameters.");
         }
     }
 
     /**
-     * Aguarda a quantidade de tempo especificada pela velocidade entre as gerações.
-     * Este método usa o valor de velocidade (em milissegundos) para determinar
-     * quanto tempo a execução deve
-     * aguardar antes de avançar para a próxima geração. Se a velocidade for zero ou
-     * negativa, não há espera
-     * entre as gerações.
+     * Fotografa a região visível da grade no frame de trás e publica-o como a
+     * geração mais recente; o painel o busca no próximo quadro. A simulação
+     * nunca espera pelo desenho: se o painel ainda não desenhou o frame anterior,
+     * ele simplesmente é substituído.
      *
-     * @param speed a velocidade (em milissegundos) de espera entre cada geração.
+     * @param grid       o motor de simulação.
+     * @param frames     a troca de frames compartilhada com o painel.
+     * @param renderer   o painel que exibe os frames.
+     * @param generation o número da geração fotografada.
      */
-    private void waitForNextGeneration(int speed) {
-        if (speed > 0) {
+    private void publish(LifeEngine grid, FrameExchange frames, SwingRenderer renderer, long generation) {
+        Frame back = frames.back();
+        grid.snapshot(back, renderer.getOriginRow(), renderer.getOriginCol());
+        back.setGeneration(generation);
+        frames.publish();
+    }
+
+    /**
+     * Copia um frame calculado à frente para o frame de trás da troca e publica-o
+     * para o painel.
+     *
+     * @param next   o frame da fila de antecipação.
+     * @param frames a troca de frames compartilhada com o painel.
+     * @return o número da geração publicada.
+     */
+    private long show(Frame next, FrameExchange frames) {
+        System.out.println("Generation " + next.getGeneration() + ":");
+        frames.back().copyFrom(next);
+        frames.publish();
+        return next.getGeneration();
+    }
+
+    /**
+     * Retorna quantos frames a simulação pode calcular à frente: o valor de
+     * {@code ahead}, limitado para que a fila não ocupe mais que
+     * {@link #MAX_LOOK_AHEAD_BYTES}.
+     */
+    private int lookAheadFrames(LifeEngine grid) {
+        long frameBytes = (long) grid.getLine() * ((grid.getColumn() + 63) >>> 6) * Long.BYTES;
+        int frames = (int) Math.max(1, Math.min(config.getLookAhead(), MAX_LOOK_AHEAD_BYTES / frameBytes));
+        if (frames < config.getLookAhead()) {
+            System.out.println("Look-ahead limited to " + frames + " frame(s) of " + grid.getColumn() + "x"
+                    + grid.getLine() + " (" + (MAX_LOOK_AHEAD_BYTES >> 20) + " MB)");
+        }
+        return frames;
+    }
+
+    /**
+     * Informa o ciclo confirmado pelo detector.
+     *
+     * @param detector   o detector que confirmou o ciclo.
+     * @param generation a geração em que o ciclo foi confirmado.
+     */
+    private void reportCycle(CycleDetector detector, long generation) {
+        int period = detector.getPeriod();
+        System.out.println("Cycle detected: " + (period == 1 ? "still life" : "oscillator with period " + period)
+                + " from generation " + detector.getOnset() + " (confirmed at generation " + generation + ")");
+    }
+
+    /**
+     * Informa a taxa exibida na última janela de medição e quantos frames estão
+     * calculados à frente, no console e no título da janela.
+     *
+     * @param frame       a janela do jogo.
+     * @param generations as gerações exibidas na janela de medição.
+     * @param nanos       a duração da janela de medição, em nanossegundos.
+     * @param target      a taxa alvo, ou 0 se ilimitada.
+     * @param ring        a fila de frames calculados à frente.
+     */
+    private void reportRate(JFrame frame, long generations, long nanos, double target, FrameRing ring) {
+        double achieved = generations * 1e9 / nanos;
+        String text = (target > 0
+                ? String.format(Locale.ROOT, "%.1f gen/s (target %.1f)", achieved, target)
+                : String.format(Locale.ROOT, "%.1f gen/s (unlimited)", achieved))
+                + ", look-ahead " + ring.size() + "/" + ring.capacity();
+        System.out.println("Rate: " + text);
+        SwingUtilities.invokeLater(() -> frame.setTitle("Game of Life - " + text));
+    }
+
+    /**
+     * A thread da simulação: avança o motor, grava as gerações e os checkpoints
+     * e fotografa os passos exibidos na fila de antecipação, esperando sempre que
+     * a fila estiver cheia. O motor só é acessado por esta thread depois que ela
+     * começa. Ao terminar, normalmente ou por {@link #stop(Thread)}, grava o
+     * checkpoint final.
+     */
+    private final class Simulation implements Runnable {
+        private final LifeEngine grid;
+        private final FrameRing ring;
+        private final SwingRenderer renderer;
+        private final FrameExchange frames;
+        private final CycleDetector detector;
+        private final GenerationRecorder recorder;
+        private final CheckpointWriter checkpoints;
+        private final SimulationMetrics metrics;
+        private final long firstGen;
+        private final int frameSteps;
+        private final long snapshotPeriodNanos;
+        private volatile boolean stopped;
+
+        Simulation(LifeEngine grid, FrameRing ring, SwingRenderer renderer, FrameExchange frames,
+                CycleDetector detector, GenerationRecorder recorder, CheckpointWriter checkpoints,
+                SimulationMetrics metrics, long firstGen, int frameSteps, long snapshotPeriodNanos) {
+            this.grid = grid;
+            this.ring = ring;
+            this.renderer = renderer;
+            this.frames = frames;
+            this.detector = detector;
+            this.recorder = recorder;
+            this.checkpoints = checkpoints;
+            this.metrics = metrics;
+            this.firstGen = firstGen;
+            this.frameSteps = frameSteps;
+            this.snapshotPeriodNanos = snapshotPeriodNanos;
+        }
+
+        @Override
+        public void run() {
+            int maxGenerations = config.getGenerations();
+            long saveInterval = config.getSaveInterval();
+            long currentGen = firstGen;
+            long nextSave = saveInterval > 0 ? (firstGen / saveInterval + 1) * saveInterval : Long.MAX_VALUE;
+            int steps = 0;
+            long lastSnapshot = System.nanoTime();
+            try {
+                while (!stopped && (maxGenerations == 0 || currentGen < maxGenerations)) {
+                    // Avança até a próxima geração exibida (a cada config.getInterval() gerações)
+                    long step = config.getInterval();
+                    if (maxGenerations != 0) {
+                        step = Math.min(step, maxGenerations - currentGen);
+                    }
+                    long start = System.nanoTime();
+                    boolean cycleStop = false;
+                    if (detector == null && recorder == null) {
+                        grid.advance(config.getLayout(), step);
+                        currentGen += step;
+                    } else {
+                        // Uma geração por vez, para que nenhum hash nem geração gravada fique de fora
+                        for (long k = 0; k < step; k++) {
+                            grid.updateGrid(config.getLayout());
+                            currentGen++;
+                            if (recorder != null) {
+                                recorder.record(grid, currentGen);
+                            }
+                            if (detector != null && detector.record(currentGen)) {
+                                reportCycle(detector, currentGen);
+                                if (config.isCycleStop()) {
+                                    cycleStop = true;
+                                    break;
+                                }
+                            }
+                        }
+                    }
+                    long now = System.nanoTime();
+                    if (metrics != null) {
+                        metrics.recordStep(now - start, currentGen, grid.getPopulation(), grid.getBirths(),
+                                grid.getDeaths(), frames.getDroppedFrames());
+                    }
+
+                    // Só fotografa os passos que a tela vai exibir; com a fila cheia, espera a tela consumir
+                    boolean last = cycleStop || (maxGenerations != 0 && currentGen >= maxGenerations);
+                    if ((++steps >= frameSteps && now - lastSnapshot >= snapshotPeriodNanos) || last) {
+                        Frame back = ring.claim();
+                        if (back == null) {
+                            break;
+                        }
+                        grid.snapshot(back, renderer.getOriginRow(), renderer.getOriginCol());
+                        back.setGeneration(currentGen);
+                        ring.commit();
+                        steps = 0;
+                        lastSnapshot = now;
+                    }
+                    if (checkpoints != null && currentGen >= nextSave) {
+                        checkpoints.save(grid, config.getLayout(), currentGen);
+                        nextSave = (currentGen / saveInterval + 1) * saveInterval;
+                    }
+                    if (cycleStop) {
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (recorder != null) {
+                    recorder.close();
+                }
+                if (checkpoints != null) {
+                    // O checkpoint final sempre é gravado, mesmo que uma gravação periódica estivesse em andamento
+                    checkpoints.flush();
+                    checkpoints.save(grid, config.getLayout(), currentGen);
+                    checkpoints.close();
+                }
+                ring.finish();
+            }
+        }
+
+        /**
+         * Para a simulação depois do passo em andamento e espera ela terminar, incluindo o checkpoint
+         * final. Usado pelo gancho de encerramento da JVM.
+         *
+         * @param worker a thread da simulação.
+         */
+        void stop(Thread worker) {
+            stopped = true;
+            // Sem interromper a thread: uma interrupção fecharia o canal do checkpoint final
+            ring.cancel();
             try {
-                Thread.sleep(speed);
+                worker.join();
             } catch (InterruptedException e) {
-                System.err.println("The execution was stopped: " + e.getMessage());
                 Thread.currentThread().interrupt();
             }
         }
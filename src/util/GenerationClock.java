@@ -0,0 +1,60 @@
+package util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Relógio de taxa fixa para a simulação. Cada passo tem um prazo calculado a partir do início do relógio
+ * ({@code início + n * período}), e não a partir do fim do passo anterior, de modo que o tempo gasto
+ * calculando e desenhando não se acumula e a taxa média não deriva.
+ * <p>
+ * Se a simulação atrasar (um passo mais lento que o período), os passos seguintes rodam sem espera até
+ * recuperar o atraso, limitado a {@link #MAX_LAG_NANOS}; atrasos maiores são descartados em vez de
+ * provocar uma rajada de passos. Com taxa ilimitada, {@link #awaitNext()} retorna imediatamente.
+ * </p>
+ */
+public class GenerationClock {
+    /**
+     * Maior atraso que o relógio tenta recuperar.
+     */
+    private static final long MAX_LAG_NANOS = 250_000_000L;
+
+    private final long periodNanos;
+    private long deadline;
+
+    /**
+     * Cria um relógio com o período informado.
+     *
+     * @param periodNanos A duração de cada passo, em nanossegundos, ou 0 para não esperar.
+     */
+    public GenerationClock(long periodNanos) {
+        this.periodNanos = periodNanos;
+        reset();
+    }
+
+    /**
+     * Reinicia a contagem a partir de agora, por exemplo ao sair da pausa.
+     */
+    public void reset() {
+        deadline = System.nanoTime() + periodNanos;
+    }
+
+    /**
+     * Espera até o prazo do próximo passo e avança o prazo em um período.
+     */
+    public void awaitNext() {
+        if (periodNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - deadline > MAX_LAG_NANOS) {
+            deadline = now;
+        }
+        while ((now = System.nanoTime()) < deadline) {
+            LockSupport.parkNanos(deadline - now);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+        deadline += periodNanos;
+    }
+}
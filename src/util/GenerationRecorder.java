@@ -0,0 +1,98 @@
+package util;
+
+import config.GameOfLifeConfig;
+import dom.LifeEngine;
+import dom.RecordingWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A classe {@code GenerationRecorder} liga a gravação das gerações ({@link RecordingWriter}) aos
+ * executores da simulação: abre o arquivo configurado em {@code record}, grava cada geração e informa o
+ * tamanho final da gravação. Se a gravação falhar, o erro é informado uma vez e a simulação continua sem
+ * gravar.
+ * <p>
+ * A gravação também é fechada por um gancho de encerramento da JVM, para que o fim do arquivo não se perca
+ * quando o processo termina sem passar pelo executor, como ao fechar a janela.
+ * </p>
+ */
+public class GenerationRecorder {
+    private final Path path;
+    private final Thread shutdownHook = new Thread(this::close, "recording-close");
+    private RecordingWriter writer;
+
+    private GenerationRecorder(Path path, RecordingWriter writer) {
+        this.path = path;
+        this.writer = writer;
+    }
+
+    /**
+     * Abre a gravação configurada, se houver.
+     *
+     * @param config a configuração do jogo.
+     * @param engine o motor cuja janela será gravada.
+     * @return o gravador, ou null se a gravação não foi pedida ou o arquivo não pôde ser criado.
+     */
+    public static GenerationRecorder open(GameOfLifeConfig config, LifeEngine engine) {
+        if (config.getRecordPath().isEmpty()) {
+            return null;
+        }
+        Path path = Path.of(config.getRecordPath());
+        try {
+            GenerationRecorder recorder = new GenerationRecorder(path, new RecordingWriter(path, engine.getLine(),
+                    engine.getColumn(), config.getLayout(), engine.isTorus(), engine.getRule(),
+                    config.getKeyframeInterval()));
+            Runtime.getRuntime().addShutdownHook(recorder.shutdownHook);
+            return recorder;
+        } catch (IOException e) {
+            System.err.println("Error: creating the recording " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Grava a geração atual do motor. Deve ser chamado uma vez por geração, sem saltos.
+     *
+     * @param engine     o motor da simulação.
+     * @param generation a geração atual.
+     */
+    public synchronized void record(LifeEngine engine, long generation) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.record(engine, generation);
+        } catch (IOException e) {
+            System.err.println("Error: writing the recording " + path + ", recording stopped: " + e.getMessage());
+            close();
+        }
+    }
+
+    /**
+     * Fecha a gravação e informa o seu tamanho. Pode ser chamado por qualquer thread; as chamadas depois
+     * da primeira não fazem nada.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        RecordingWriter closing = writer;
+        writer = null;
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // A JVM já está encerrando e o gancho vai encontrar a gravação fechada
+            }
+        }
+        try {
+            closing.close();
+            long records = closing.getRecords();
+            System.out.println("Recording saved: " + records + " generation(s), " + closing.getBytes() + " bytes ("
+                    + (records > 0 ? closing.getBytes() / records : 0) + " bytes/generation) to " + path);
+        } catch (IOException e) {
+            System.err.println("Error: closing the recording " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package util;
+
+import config.GameOfLifeConfig;
+import dom.LifeEngine;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * A classe {@code HeadlessRunner} executa a simulação sem interface gráfica, para medir a velocidade
+ * bruta dos motores e rodar em servidores sem tela. Ela nunca carrega classes do AWT ou do Swing, não
+ * espera entre as gerações e não imprime nada por geração: avança as {@code g} gerações configuradas o
+ * mais rápido possível e, no final, informa o tempo total, as gerações por segundo, as atualizações de
+ * células por segundo e a população final, em texto ou em JSON.
+ */
+public class HeadlessRunner {
+    private final GameOfLifeConfig config;
+
+    /**
+     * Construtor que recebe a configuração do jogo para inicializar o {@code HeadlessRunner}.
+     *
+     * @param config a configuração do jogo {@code GameOfLifeConfig}.
+     */
+    public HeadlessRunner(GameOfLifeConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Cria o motor, avança todas as gerações de uma vez com {@link LifeEngine#advance(int, long)} e
+     * imprime o relatório. O tempo de criação e de carga da população inicial não entra na medição. Com um arquivo de
+     * checkpoint configurado, os checkpoints periódicos são gravados em segundo plano durante a medição, e o
+     * final, depois dela. Com uma gravação configurada, as gerações são calculadas uma a uma e a gravação
+     * entra na medição.
+     */
+    public void run() {
+        if (config.getWidth() <= 0 || config.getHeight() <= 0 || config.getLayout() <= 0) {
+            System.out.println("Error: initializing the grid. Check/Passing the corrects parameters.");
+            return;
+        }
+        if (config.getGenerations() <= 0) {
+            System.err.println("Error: headless mode needs a finite number of generations, please pass g > 0.");
+            return;
+        }
+
+        long firstGen = config.getStartGeneration();
+        long generations = config.getGenerations() - firstGen;
+        if (generations <= 0) {
+            System.err.println("Error: the checkpoint is already at generation " + firstGen + ", please pass g > "
+                    + firstGen + ".");
+            return;
+        }
+        LifeEngine grid = EngineFactory.create(config);
+        if (grid == null) {
+            return;
+        }
+        CheckpointWriter checkpoints = config.getSavePath().isEmpty() ? null
+                : new CheckpointWriter(Path.of(config.getSavePath()));
+
+        GenerationRecorder recorder = GenerationRecorder.open(config, grid);
+
+        long start = System.nanoTime();
+        if (recorder != null) {
+            // Gravando, avança uma geração por vez, com os checkpoints nos múltiplos do intervalo
+            recorder.record(grid, firstGen);
+            int saveInterval = checkpoints != null ? config.getSaveInterval() : 0;
+            for (long currentGen = firstGen + 1; currentGen <= config.getGenerations(); currentGen++) {
+                grid.updateGrid(config.getLayout());
+                recorder.record(grid, currentGen);
+                if (saveInterval > 0 && currentGen % saveInterval == 0 && currentGen < config.getGenerations()) {
+                    checkpoints.save(grid, config.getLayout(), currentGen);
+                }
+            }
+        } else if (checkpoints != null && config.getSaveInterval() > 0) {
+            // Avança até cada múltiplo do intervalo e agenda o checkpoint sem esperar a gravação
+            long currentGen = firstGen;
+            long lastGen = config.getGenerations();
+            while (currentGen < lastGen) {
+                long next = Math.min(lastGen, (currentGen / config.getSaveInterval() + 1) * config.getSaveInterval());
+                grid.advance(config.getLayout(), next - currentGen);
+                currentGen = next;
+                if (currentGen < lastGen) {
+                    checkpoints.save(grid, config.getLayout(), currentGen);
+                }
+            }
+        } else {
+            grid.advance(config.getLayout(), generations);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (recorder != null) {
+            recorder.close();
+        }
+        if (checkpoints != null) {
+            checkpoints.flush();
+            checkpoints.save(grid, config.getLayout(), config.getGenerations());
+            checkpoints.close();
+        }
+
+        double seconds = Math.max(elapsed, 1) / 1e9;
+        double generationsPerSecond = generations / seconds;
+        // Para os motores sem bordas, a área considerada é a da janela (w x h)
+        double area = (double) grid.getUniverseLines() * grid.getUniverseColumns();
+        double cellUpdatesPerSecond = generationsPerSecond * area;
+
+        if (config.getOutput().equals("json")) {
+            System.out.println(String.format(Locale.ROOT,
+                    "{\"engine\":\"%s\",\"rule\":\"%s\",\"boundary\":\"%s\",\"width\":%d,\"height\":%d,"
+                            + "\"layout\":%d,\"threads\":%d,\"startGeneration\":%d,\"generations\":%d,\"seconds\":%.6f,"
+                            + "\"generationsPerSecond\":%.3f,\"cellUpdatesPerSecond\":%.1f,\"population\":%d}",
+                    config.getEngine(), config.getRule(), config.getBoundary(), grid.getColumn(), grid.getLine(),
+                    config.getLayout(), config.getThreads(), firstGen, generations, seconds, generationsPerSecond,
+                    cellUpdatesPerSecond, grid.getPopulation()));
+        } else {
+            System.out.println("Engine: " + config.getEngine() + " (" + grid.getColumn() + "x" + grid.getLine()
+                    + ", layout " + config.getLayout() + ", rule " + config.getRule() + ", " + config.getBoundary()
+                    + " edges, "
+                    + config.getThreads() + " thread(s))");
+            System.out.println("Generations: " + generations
+                    + (firstGen > 0 ? " (from generation " + firstGen + ")" : ""));
+            System.out.println(String.format(Locale.ROOT, "Wall time: %.3f s", seconds));
+            System.out.println(String.format(Locale.ROOT, "Generations/sec: %.1f", generationsPerSecond));
+            System.out.println(String.format(Locale.ROOT, "Cell updates/sec: %.3e", cellUpdatesPerSecond));
+            System.out.println("Final population: " + grid.getPopulation());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package util;
+
+import config.GameOfLifeConfig;
+import dom.Frame;
+import dom.RecordingReader;
+import render.FrameExchange;
+import render.SwingRenderer;
+
+import javax.swing.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * A classe {@code ReplayRunner} revê uma gravação feita com {@code record} ({@link RecordingReader}) sem
+ * simular nada: cada geração é só descompactada e aplicada sobre a anterior, o que é muito mais rápido
+ * que calculá-la. As gerações são exibidas pelo mesmo {@link SwingRenderer} da simulação, na taxa de
+ * {@code gps} (ou {@code s}), a partir da geração {@code from}.
+ * <p>
+ * Controles: espaço pausa e continua; as setas para a esquerda e para a direita voltam e avançam uma
+ * geração; Page Up e Page Down voltam e avançam um intervalo de quadros-chave; Home e End vão para a
+ * primeira e para a última geração. Saltos para trás partem do quadro-chave mais próximo.
+ * </p>
+ * <p>
+ * Com {@code mode=headless}, a gravação é lida do início ao fim o mais rápido possível, sem janela, e a
+ * velocidade da leitura é informada.
+ * </p>
+ */
+public class ReplayRunner {
+    private static final long NO_SEEK = Long.MIN_VALUE;
+
+    private final GameOfLifeConfig config;
+    private volatile boolean isPaused = false;
+    private volatile long seekTarget = NO_SEEK;
+    private volatile long shownGeneration;
+
+    /**
+     * Construtor que recebe a configuração do jogo para inicializar o {@code ReplayRunner}.
+     *
+     * @param config a configuração do jogo {@code GameOfLifeConfig}.
+     */
+    public ReplayRunner(GameOfLifeConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Abre a gravação e a exibe, ou a lê sem janela no modo headless.
+     */
+    public void run() {
+        Path path = Path.of(config.getReplayPath());
+        try (RecordingReader reader = new RecordingReader(path)) {
+            System.out.println("Recording: " + reader.getColumn() + "x" + reader.getLine() + ", layout "
+                    + reader.getLayout() + ", " + reader.getBoundary() + " edges"
+                    + ", rule " + reader.getRule()
+                    + ", generations " + reader.getFirstGeneration() + " to " + reader.getLastGeneration()
+                    + ", keyframe every " + reader.getKeyframeInterval() + " generation(s)");
+            if (config.getMode().equals("headless")) {
+                runHeadless(reader);
+            } else {
+                runWindow(reader);
+            }
+        } catch (IOException e) {
+            System.err.println("Error: reading the recording " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lê a gravação do início (ou de {@code from}) ao fim e informa a velocidade da leitura.
+     */
+    private void runHeadless(RecordingReader reader) throws IOException {
+        long start = System.nanoTime();
+        Frame frame = reader.seek(startGeneration(reader));
+        long seekNanos = System.nanoTime() - start;
+        long first = frame.getGeneration();
+        long population = frame.getPopulation();
+        while ((frame = reader.next()) != null) {
+            population = frame.getPopulation();
+        }
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        long generations = reader.getGeneration() - first;
+        System.out.println(String.format(Locale.ROOT,
+                "Replayed %d generations in %.3f s (%.1f gen/s, seek to generation %d in %.2f ms)",
+                generations, seconds, generations / seconds, first, seekNanos / 1e6));
+        System.out.println("Final population: " + population);
+    }
+
+    /**
+     * Exibe a gravação em uma janela, respondendo aos controles de pausa e de salto.
+     */
+    private void runWindow(RecordingReader reader) throws IOException {
+        JFrame window = new JFrame("Game of Life - replay");
+        FrameExchange frames = new FrameExchange(reader.getLine(), reader.getColumn());
+        SwingRenderer renderer = new SwingRenderer(frames, config.getRenderer().equals("raster"),
+                config.isGridlines());
+        window.add(renderer);
+        window.pack();
+        window.setLocationRelativeTo(null);
+        window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+
+        long page = reader.getKeyframeInterval();
+        window.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_SPACE -> {
+                        isPaused = !isPaused;
+                        System.out.println(isPaused ? "Replay Paused" : "Replay Resumed");
+                    }
+                    case KeyEvent.VK_LEFT -> requestSeek(-1, reader);
+                    case KeyEvent.VK_RIGHT -> requestSeek(1, reader);
+                    case KeyEvent.VK_PAGE_UP -> requestSeek(-page, reader);
+                    case KeyEvent.VK_PAGE_DOWN -> requestSeek(page, reader);
+                    case KeyEvent.VK_HOME -> seekTarget = reader.getFirstGeneration();
+                    case KeyEvent.VK_END -> seekTarget = reader.getLastGeneration();
+                    default -> {
+                    }
+                }
+            }
+        });
+        window.setVisible(true);
+        renderer.start(config.getFps());
+
+        Frame frame = reader.seek(startGeneration(reader));
+        publish(frames, frame, window);
+
+        double rate = config.getGenerationsPerSecond();
+        GenerationClock clock = new GenerationClock(rate > 0 ? Math.round(1e9 / rate) : 0);
+        long framePeriodNanos = 1_000_000_000L / config.getFps();
+        long lastPublish = System.nanoTime();
+        boolean finished = false;
+
+        while (true) {
+            long target = seekTarget;
+            if (target != NO_SEEK) {
+                seekTarget = NO_SEEK;
+                frame = reader.seek(target);
+                publish(frames, frame, window);
+                lastPublish = System.nanoTime();
+                finished = false;
+                clock.reset();
+                continue;
+            }
+            if (isPaused || finished) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                clock.reset();
+                continue;
+            }
+            Frame next = reader.next();
+            if (next == null) {
+                finished = true;
+                publish(frames, frame, window);
+                System.out.println("End of recording at generation " + frame.getGeneration());
+                continue;
+            }
+            frame = next;
+            shownGeneration = frame.getGeneration();
+            long now = System.nanoTime();
+            if (now - lastPublish >= framePeriodNanos) {
+                publish(frames, frame, window);
+                lastPublish = now;
+            }
+            clock.awaitNext();
+        }
+    }
+
+    /**
+     * Pede um salto relativo à geração atual; com a reprodução em andamento, ela é pausada para que o
+     * salto possa ser visto.
+     */
+    private void requestSeek(long delta, RecordingReader reader) {
+        isPaused = true;
+        long target = seekTarget;
+        long base = target != NO_SEEK ? target : shownGeneration;
+        seekTarget = Math.max(reader.getFirstGeneration(), Math.min(reader.getLastGeneration(), base + delta));
+    }
+
+    private long startGeneration(RecordingReader reader) {
+        return config.getReplayFrom() >= 0 ? config.getReplayFrom() : reader.getFirstGeneration();
+    }
+
+    /**
+     * Copia a geração lida para o frame de trás e publica-o para o painel.
+     */
+    private void publish(FrameExchange frames, Frame frame, JFrame window) {
+        frames.back().copyFrom(frame);
+        frames.publish();
+        long generation = frame.getGeneration();
+        shownGeneration = generation;
+        SwingUtilities.invokeLater(() -> window.setTitle("Game of Life - replay, generation " + generation));
+    }
+}
@@ -0,0 +1,116 @@
+package dom;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Confere que os motores com bordas fixas calculam as mesmas gerações: a partir da mesma população
+ * aleatória ({@link RandomFill}), {@link Grid}, {@link BitGrid}, {@code VectorGrid} e {@link MappedGrid}
+ * avançam juntos e as suas fotografias são comparadas palavra por palavra, em todos os layouts, com a regra
+ * de Conway e com outra regra, com bordas mortas e em toro ({@link MappedGrid} só tem bordas mortas).
+ * <p>
+ * O {@code VectorGrid} só entra quando foi compilado (perfil {@code vector}) e o módulo
+ * {@code jdk.incubator.vector} está habilitado.
+ * </p>
+ */
+class EngineEquivalenceTest {
+    // Colunas que não são múltiplas de 64, para exercitar a última palavra de cada linha
+    private static final int LINES = 70;
+    private static final int COLUMNS = 130;
+    private static final int GENERATIONS = 40;
+    private static final long SEED = 42;
+    private static final double DENSITY = 0.35;
+    private static final Rule[] RULES = { Rule.CONWAY, Rule.parse("B36/S23") };
+
+    @Test
+    void deadEdgeEnginesMatchGrid() {
+        for (Rule rule : RULES) {
+            for (int layout = 1; layout <= 5; layout++) {
+                List<LifeEngine> engines = new ArrayList<>();
+                engines.add(new Grid(LINES, COLUMNS, false));
+                engines.add(new BitGrid(LINES, COLUMNS, false));
+                LifeEngine vector = vectorGrid(false);
+                if (vector != null) {
+                    engines.add(vector);
+                }
+                engines.add(new MappedGrid(LINES, COLUMNS, LINES, COLUMNS, 16));
+                assertLockstep(engines, rule, layout, "dead");
+            }
+        }
+    }
+
+    @Test
+    void torusEnginesMatchGrid() {
+        for (Rule rule : RULES) {
+            for (int layout = 1; layout <= 5; layout++) {
+                List<LifeEngine> engines = new ArrayList<>();
+                engines.add(new Grid(LINES, COLUMNS, true));
+                engines.add(new BitGrid(LINES, COLUMNS, true));
+                LifeEngine vector = vectorGrid(true);
+                if (vector != null) {
+                    engines.add(vector);
+                }
+                assertLockstep(engines, rule, layout, "torus");
+            }
+        }
+    }
+
+    /**
+     * Avança os motores juntos e compara cada geração com a do primeiro ({@link Grid}, a referência).
+     */
+    private static void assertLockstep(List<LifeEngine> engines, Rule rule, int layout, String boundary) {
+        for (LifeEngine engine : engines) {
+            engine.setRule(rule);
+            engine.generateRandomPopulation(SEED, DENSITY);
+        }
+        Frame expected = new Frame(LINES, COLUMNS);
+        Frame actual = new Frame(LINES, COLUMNS);
+        for (int generation = 0; generation <= GENERATIONS; generation++) {
+            engines.get(0).snapshot(expected, 0, 0);
+            for (int k = 1; k < engines.size(); k++) {
+                LifeEngine engine = engines.get(k);
+                engine.snapshot(actual, 0, 0);
+                String where = engine.getClass().getSimpleName() + ", rule " + rule + ", layout " + layout + ", "
+                        + boundary + ", generation " + generation;
+                assertSameCells(expected, actual, where);
+                assertEquals(expected.getPopulation(), engine.getPopulation(), where);
+            }
+            for (LifeEngine engine : engines) {
+                engine.updateGrid(layout);
+            }
+        }
+    }
+
+    private static void assertSameCells(Frame expected, Frame actual, String where) {
+        for (int i = 0; i < LINES; i++) {
+            for (int w = 0; w < expected.getWords(); w++) {
+                assertEquals(expected.getWord(i, w), actual.getWord(i, w), where + ", row " + i + ", word " + w);
+            }
+        }
+    }
+
+    /**
+     * Cria o motor vetorial por reflexão, já que ele fica fora do build padrão.
+     *
+     * @return O motor, ou null se ele não foi compilado ou se o módulo da Vector API não está habilitado.
+     */
+    private static LifeEngine vectorGrid(boolean torus) {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = Class.forName("dom.VectorGrid")
+                    .getConstructor(int.class, int.class, boolean.class);
+            return (LifeEngine) constructor.newInstance(LINES, COLUMNS, torus);
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
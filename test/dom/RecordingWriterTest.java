@@ -0,0 +1,78 @@
+package dom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confere que uma gravação interrompida sem {@link RecordingWriter#close()}, como a de um processo
+ * encerrado à força, continua legível.
+ */
+class RecordingWriterTest {
+    private static final int LINES = 40;
+    private static final int COLUMNS = 70;
+    private static final int KEYFRAME_INTERVAL = 8;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void headerIsWrittenWhenTheFileIsCreated() throws IOException {
+        Path path = dir.resolve("empty.golr");
+        try (RecordingWriter writer = new RecordingWriter(path, LINES, COLUMNS, 3, false, Rule.CONWAY,
+                KEYFRAME_INTERVAL)) {
+            assertEquals(RecordingWriter.HEADER_BYTES + Short.BYTES + Rule.CONWAY.toString().length(),
+                    Files.size(path));
+        }
+    }
+
+    @Test
+    void recordsUpToTheLastKeyframeSurviveWithoutClose() throws IOException {
+        Path path = dir.resolve("killed.golr");
+        BitGrid engine = new BitGrid(LINES, COLUMNS);
+        engine.generateRandomPopulation(42, 0.35);
+        RecordingWriter writer = new RecordingWriter(path, LINES, COLUMNS, 3, false, Rule.CONWAY,
+                KEYFRAME_INTERVAL);
+        int generations = 3 * KEYFRAME_INTERVAL + 1;
+        for (int generation = 0; generation < generations; generation++) {
+            writer.record(engine, generation);
+            engine.updateGrid(3);
+        }
+
+        // Lê o arquivo sem fechar o gravador: só conta o que ele já entregou ao sistema
+        BitGrid replay = new BitGrid(LINES, COLUMNS);
+        replay.generateRandomPopulation(42, 0.35);
+        Frame expected = new Frame(LINES, COLUMNS);
+        try (RecordingReader reader = new RecordingReader(path)) {
+            assertEquals(Rule.CONWAY, reader.getRule());
+            assertEquals(0, reader.getFirstGeneration());
+            assertEquals(generations - 1, reader.getLastGeneration());
+            for (int generation = 0; generation < generations; generation++) {
+                Frame frame = generation == 0 ? reader.seek(0) : reader.next();
+                assertNotNull(frame);
+                replay.snapshot(expected, 0, 0);
+                assertSameCells(expected, frame, generation);
+                replay.updateGrid(3);
+            }
+        } finally {
+            writer.close();
+        }
+        assertTrue(Files.size(path) > RecordingWriter.HEADER_BYTES);
+    }
+
+    private static void assertSameCells(Frame expected, Frame actual, int generation) {
+        for (int i = 0; i < LINES; i++) {
+            for (int w = 0; w < expected.getWords(); w++) {
+                assertEquals(expected.getWord(i, w), actual.getWord(i, w),
+                        "generation " + generation + ", row " + i + ", word " + w);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package bench;
+
+import dom.LifeEngine;
+import dom.Rule;
+import dom.VectorGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara uma geração do motor vetorial ({@code vector}) com a dos motores escalares ({@code bits} e
+ * {@code grid}) por tamanho, layout e regra. O fork recebe {@code --add-modules jdk.incubator.vector}.
+ * Só é compilado com os perfis {@code benchmark} e {@code vector} juntos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class VectorBenchmark {
+    @Param({ "grid", "bits", "vector" })
+    public String engine;
+
+    @Param({ "100", "500", "2000" })
+    public int size;
+
+    @Param({ "1", "3" })
+    public int layout;
+
+    @Param({ "B3/S23", "B36/S23" })
+    public String rule;
+
+    private LifeEngine grid;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if (engine.equals("vector")) {
+            grid = new VectorGrid(size, size);
+            Populations.fill(grid, "rnd");
+        } else {
+            grid = Populations.create(engine, size, "rnd");
+        }
+        grid.setRule(Rule.parse(rule));
+    }
+
+    @Benchmark
+    public LifeEngine updateGrid() {
+        grid.updateGrid(layout);
+        return grid;
+    }
+}
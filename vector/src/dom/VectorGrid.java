@@ -0,0 +1,202 @@
+package dom;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Motor de simulação em bits que calcula várias palavras de uma linha por vez com a Vector API do JDK
+ * ({@code jdk.incubator.vector}).
+ * <p>
+ * A grade, as bordas fantasmas, os blocos de atividade e o toro são os mesmos de {@link BitGrid}; muda só
+ * o passo de uma linha. Cada vetor carrega {@code LANES} palavras consecutivas (8 com AVX-512, 4 com
+ * AVX2), e os oito planos deslocados, o somador carry-save e a regra são avaliados com as mesmas
+ * operações bit a bit, agora para {@code 64 * LANES} células por instrução. Um grupo de palavras é
+ * pulado só se todas estiverem em blocos inativos; calcular uma palavra inativa não muda o resultado, já
+ * que a vizinhança dela não mudou. As palavras que sobram no fim da linha usam o passo escalar.
+ * </p>
+ * <p>
+ * A classe fica fora de {@code src/}, em {@code vector/src/}, e só é compilada com o perfil Maven
+ * {@code vector}, para que o build padrão não dependa de um módulo incubado. O módulo
+ * {@code jdk.incubator.vector} também precisa ser habilitado com {@code --add-modules} ao executar; sem
+ * ele, ou sem esta classe, a fábrica de motores usa {@link BitGrid} no lugar.
+ * </p>
+ */
+public class VectorGrid extends BitGrid {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    // Constantes da regra por contagem k, como em Rule: o estado de uma célula morta e o XOR com o de uma viva
+    private final long[] born = new long[9];
+    private final long[] flip = new long[9];
+    private boolean conway = true;
+
+    /**
+     * Construtor que inicializa a grade vazia com bordas mortas.
+     *
+     * @param line   Número de linhas da grade.
+     * @param column Número de colunas da grade.
+     */
+    public VectorGrid(int line, int column) {
+        this(line, column, false);
+    }
+
+    /**
+     * Construtor que inicializa a grade vazia.
+     *
+     * @param line   Número de linhas da grade.
+     * @param column Número de colunas da grade.
+     * @param torus  true para ligar as bordas opostas (toro), false para bordas mortas.
+     */
+    public VectorGrid(int line, int column, boolean torus) {
+        super(line, column, torus);
+        setRule(Rule.CONWAY);
+    }
+
+    /**
+     * Define a regra de nascimento e sobrevivência das próximas gerações.
+     *
+     * @param rule A regra.
+     */
+    @Override
+    public void setRule(Rule rule) {
+        super.setRule(rule);
+        conway = rule.equals(Rule.CONWAY);
+        for (int k = 0; k <= 8; k++) {
+            born[k] = rule.next(false, k) ? -1L : 0L;
+            flip[k] = rule.next(false, k) != rule.next(true, k) ? -1L : 0L;
+        }
+    }
+
+    @Override
+    void stepRow(int r) {
+        final boolean[] run = active;
+        int tileBase = (r >>> TILE_SHIFT) * words;
+        int base = (r + 1) * stride + 1;
+        long births = 0, deaths = 0;
+        int tc = 0;
+        for (; tc + LANES <= words; tc += LANES) {
+            if (anyActive(run, tileBase + tc)) {
+                long changes = stepChunk(base + tc, tc, tileBase + tc);
+                births += changes & 0xffffffffL;
+                deaths += changes >>> 32;
+            }
+        }
+        tileRowBirths[r >>> TILE_SHIFT] += births;
+        tileRowDeaths[r >>> TILE_SHIFT] += deaths;
+        if (tc < words) {
+            stepWords(r, tc, words);
+        }
+    }
+
+    /**
+     * Calcula as {@code LANES} palavras que começam na posição {@code i} de {@code current}, escreve o
+     * resultado em {@code next} e marca as palavras alteradas.
+     *
+     * @return Os nascimentos nos 32 bits baixos e as mortes nos 32 bits altos.
+     */
+    private long stepChunk(int i, int tc, int tile) {
+        final long[] cur = current;
+        int up = i - stride;
+        int down = i + stride;
+        LongVector a = LongVector.fromArray(SPECIES, cur, up);
+        LongVector b = LongVector.fromArray(SPECIES, cur, i);
+        LongVector c = LongVector.fromArray(SPECIES, cur, down);
+
+        LongVector nw = shiftIn(a, LongVector.fromArray(SPECIES, cur, up - 1)).and(masks[0]);
+        LongVector n = a.and(masks[1]);
+        LongVector ne = shiftOut(a, LongVector.fromArray(SPECIES, cur, up + 1)).and(masks[2]);
+        LongVector w = shiftIn(b, LongVector.fromArray(SPECIES, cur, i - 1)).and(masks[3]);
+        LongVector e = shiftOut(b, LongVector.fromArray(SPECIES, cur, i + 1)).and(masks[4]);
+        LongVector sw = shiftIn(c, LongVector.fromArray(SPECIES, cur, down - 1)).and(masks[5]);
+        LongVector s = c.and(masks[6]);
+        LongVector se = shiftOut(c, LongVector.fromArray(SPECIES, cur, down + 1)).and(masks[7]);
+
+        // Soma dos oito planos com somadores completos (carry-save), como em BitGrid
+        LongVector nwn = nw.lanewise(VectorOperators.XOR, n);
+        LongVector s1 = nwn.lanewise(VectorOperators.XOR, ne);
+        LongVector c1 = nw.and(n).or(ne.and(nwn));
+        LongVector we = w.lanewise(VectorOperators.XOR, e);
+        LongVector s2 = we.lanewise(VectorOperators.XOR, sw);
+        LongVector c2 = w.and(e).or(sw.and(we));
+        LongVector s3 = s.lanewise(VectorOperators.XOR, se);
+        LongVector c3 = s.and(se);
+        LongVector s12 = s1.lanewise(VectorOperators.XOR, s2);
+        LongVector c4 = s1.and(s2).or(s3.and(s12));
+        LongVector c12 = c1.lanewise(VectorOperators.XOR, c2);
+        LongVector t = c12.lanewise(VectorOperators.XOR, c3);
+        LongVector c5 = c1.and(c2).or(c3.and(c12));
+        LongVector c6 = t.and(c4);
+
+        LongVector ones = s12.lanewise(VectorOperators.XOR, s3);
+        LongVector twos = t.lanewise(VectorOperators.XOR, c4);
+        LongVector fours = c5.lanewise(VectorOperators.XOR, c6);
+        LongVector eights = c5.and(c6);
+
+        LongVector columnMask = LongVector.fromArray(SPECIES, wordMask, tc);
+        // A regra avaliada como em Rule#apply, com o mesmo atalho para a regra de Conway. A árvore fica neste
+        // método: em um método à parte, grande demais para o inlining do JIT, os vetores viram objetos.
+        LongVector result;
+        if (conway) {
+            result = twos.and(ones.or(b)).and(fours.or(eights).not());
+        } else {
+            // Folhas: o próximo estado para cada contagem, já escolhido entre nascer e sobreviver
+            LongVector k0 = b.and(flip[0]).lanewise(VectorOperators.XOR, born[0]);
+            LongVector k1 = b.and(flip[1]).lanewise(VectorOperators.XOR, born[1]);
+            LongVector k2 = b.and(flip[2]).lanewise(VectorOperators.XOR, born[2]);
+            LongVector k3 = b.and(flip[3]).lanewise(VectorOperators.XOR, born[3]);
+            LongVector k4 = b.and(flip[4]).lanewise(VectorOperators.XOR, born[4]);
+            LongVector k5 = b.and(flip[5]).lanewise(VectorOperators.XOR, born[5]);
+            LongVector k6 = b.and(flip[6]).lanewise(VectorOperators.XOR, born[6]);
+            LongVector k7 = b.and(flip[7]).lanewise(VectorOperators.XOR, born[7]);
+            LongVector k8 = b.and(flip[8]).lanewise(VectorOperators.XOR, born[8]);
+            // Multiplexadores: ones escolhe entre contagens vizinhas, depois twos, fours e eights
+            LongVector m01 = k0.lanewise(VectorOperators.XOR, ones.and(k0.lanewise(VectorOperators.XOR, k1)));
+            LongVector m23 = k2.lanewise(VectorOperators.XOR, ones.and(k2.lanewise(VectorOperators.XOR, k3)));
+            LongVector m45 = k4.lanewise(VectorOperators.XOR, ones.and(k4.lanewise(VectorOperators.XOR, k5)));
+            LongVector m67 = k6.lanewise(VectorOperators.XOR, ones.and(k6.lanewise(VectorOperators.XOR, k7)));
+            LongVector m03 = m01.lanewise(VectorOperators.XOR, twos.and(m01.lanewise(VectorOperators.XOR, m23)));
+            LongVector m47 = m45.lanewise(VectorOperators.XOR, twos.and(m45.lanewise(VectorOperators.XOR, m67)));
+            LongVector m07 = m03.lanewise(VectorOperators.XOR, fours.and(m03.lanewise(VectorOperators.XOR, m47)));
+            result = m07.lanewise(VectorOperators.XOR, eights.and(m07.lanewise(VectorOperators.XOR, k8)));
+        }
+        result = result.and(columnMask);
+        result.intoArray(next, i);
+        // No toro, o primeiro bit livre de b guarda a coluna 0; a máscara o descarta
+        LongVector diff = result.lanewise(VectorOperators.XOR, b.and(columnMask));
+        LongVector.fromArray(SPECIES, changedNext, tile).or(diff).intoArray(changedNext, tile);
+
+        // O JDK 17 não tem contagem de bits vetorial: as contagens são feitas palavra a palavra
+        long births = 0, deaths = 0;
+        for (int k = 0; k < LANES; k++) {
+            long was = cur[i + k] & wordMask[tc + k];
+            long change = next[i + k] ^ was;
+            births += Long.bitCount(change & ~was);
+            deaths += Long.bitCount(change & was);
+        }
+        return births | deaths << 32;
+    }
+
+    private static boolean anyActive(boolean[] run, int from) {
+        for (int k = 0; k < LANES; k++) {
+            if (run[from + k]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Desloca as palavras um bit para a coluna seguinte, trazendo o último bit da palavra anterior.
+     */
+    private static LongVector shiftIn(LongVector words, LongVector previous) {
+        return words.lanewise(VectorOperators.LSHL, 1).or(previous.lanewise(VectorOperators.LSHR, 63));
+    }
+
+    /**
+     * Desloca as palavras um bit para a coluna anterior, trazendo o primeiro bit da palavra seguinte.
+     */
+    private static LongVector shiftOut(LongVector words, LongVector following) {
+        return words.lanewise(VectorOperators.LSHR, 1).or(following.lanewise(VectorOperators.LSHL, 63));
+    }
+}